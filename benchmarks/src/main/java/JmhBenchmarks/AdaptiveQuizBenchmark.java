@@ -0,0 +1,81 @@
+package JmhBenchmarks;
+
+import Factory.QuestionFactory;
+import Implementations.QuizImpl;
+import Implementations.WeightedSampler;
+import Interfaces.Question;
+import Interfaces.QuizGenerator;
+import Interfaces.Student;
+import Model.QuizSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adaptive quiz generation on a pool of one million questions.
+ * <p>
+ * Compares {@code QuizSystem.generateAdaptiveQuiz} for a student who missed 100 questions against uniform
+ * {@code generateQuiz}, and measures rebuilding the weighted sampler over the whole pool, which the system does in
+ * the background once per refresh interval. The warmup iterations absorb the initial sampler build.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdaptiveQuizBenchmark {
+    private static final int POOL_SIZE = 1_000_000;
+    private static final int QUIZ_SIZE = 20;
+
+    private QuizSystem quizSystem;
+    private Student student;
+    private double[] weights;
+
+    @Setup
+    public void setUp() {
+        List<Question> pool = new ArrayList<>(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            pool.add(QuestionFactory.createQuestion("free", "Question " + i, List.of("Answer " + i)));
+        }
+        quizSystem = new QuizSystem(pool);
+        student = BenchmarkData.students(1)[0];
+        for (int attempt = 0; attempt < 2; attempt++) {
+            List<Question> missed = pool.subList(attempt * 50, attempt * 50 + 50);
+            quizSystem.takeQuiz(student, QuizImpl.createQuiz(missed), Collections.nCopies(missed.size(), "wrong"));
+        }
+        weights = new double[POOL_SIZE];
+        Arrays.fill(weights, 0.5);
+    }
+
+    @Benchmark
+    public QuizGenerator generateQuiz() {
+        return quizSystem.generateQuiz(QUIZ_SIZE);
+    }
+
+    @Benchmark
+    public QuizGenerator generateAdaptiveQuiz() {
+        return quizSystem.generateAdaptiveQuiz(student, QUIZ_SIZE);
+    }
+
+    @Benchmark
+    public WeightedSampler samplerRebuild() {
+        return new WeightedSampler(weights);
+    }
+}
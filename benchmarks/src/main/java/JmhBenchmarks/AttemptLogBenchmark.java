@@ -0,0 +1,118 @@
+package JmhBenchmarks;
+
+import Interfaces.QuizGenerator;
+import Interfaces.Student;
+import Model.AttemptLog;
+import Model.QuizSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures concurrent {@code QuizSystem.takeQuiz} throughput without an attempt log and with a log at each
+ * {@code AttemptLog.Durability} setting, in submissions per second.
+ * <p>
+ * Each invocation submits the same quizzes from many threads to a new {@code QuizSystem} writing to a new log in
+ * the temporary directory, so the synced settings measure the storage behind that directory. With group commit,
+ * the submissions waiting on one sync are written by the next, so throughput should grow with the number of
+ * threads while one sync per submission caps {@code SYNC_EACH}.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttemptLogBenchmark {
+    private static final int THREADS = 32;
+    private static final int STUDENTS_PER_THREAD = 50;
+
+    @Param({"none", "BUFFERED", "GROUP_COMMIT", "SYNC_EACH"})
+    public String log;
+
+    private final List<List<Student>> studentsByThread = new ArrayList<>();
+    private QuizGenerator quiz;
+    private List<String> answers;
+    private ExecutorService executor;
+    private QuizSystem quizSystem;
+    private Path logFile;
+
+    @Setup
+    public void setUp() {
+        Student[] students = BenchmarkData.students(THREADS * STUDENTS_PER_THREAD);
+        for (int t = 0; t < THREADS; t++) {
+            studentsByThread.add(Arrays.asList(students).subList(t * STUDENTS_PER_THREAD, (t + 1) * STUDENTS_PER_THREAD));
+        }
+        quiz = new QuizSystem().generateQuiz(5);
+        answers = List.of("Paris", "Berlin", "Tokyo", "New Delhi", "Canberra");
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @Setup(Level.Invocation)
+    public void openSystem() throws IOException {
+        quizSystem = new QuizSystem();
+        if (!log.equals("none")) {
+            logFile = Files.createTempFile("attempt-benchmark", ".log");
+            quizSystem.openAttemptLog(logFile, AttemptLog.Durability.valueOf(log));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * THREADS * STUDENTS_PER_THREAD)
+    public int takeQuiz() throws InterruptedException, ExecutionException {
+        List<Future<?>> futures = new ArrayList<>();
+        for (List<Student> students : studentsByThread) {
+            futures.add(executor.submit(() -> {
+                for (int attempt = 0; attempt < 2; attempt++) {
+                    for (Student student : students) {
+                        quizSystem.takeQuiz(student, quiz, answers);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return quizSystem.getQuizAttempts(studentsByThread.get(0).get(0));
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeSystem() throws IOException {
+        quizSystem.close();
+        if (logFile != null) {
+            Files.delete(logFile);
+            logFile = null;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+}
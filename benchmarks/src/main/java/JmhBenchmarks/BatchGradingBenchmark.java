@@ -0,0 +1,57 @@
+package JmhBenchmarks;
+
+import Interfaces.QuizSubmission;
+import Interfaces.QuizSubmissionResult;
+import Model.QuizSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code QuizSystem.takeQuizBatch} with a sequential {@code takeQuiz} loop, in submissions per second.
+ * <p>
+ * Each invocation grades the same answer sheets, two per student, on a new {@code QuizSystem}. The batch is graded
+ * on the common fork-join pool, so the speed-up depends on the number of available cores.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchGradingBenchmark {
+    private static final int STUDENTS = 20_000;
+
+    private List<QuizSubmission> submissions;
+
+    @Setup
+    public void setUp() {
+        submissions = BenchmarkData.submissions(STUDENTS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * STUDENTS)
+    public QuizSystem sequential() {
+        return BenchmarkData.gradeSequentially(submissions);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * STUDENTS)
+    public List<QuizSubmissionResult> batch() {
+        return new QuizSystem().takeQuizBatch(submissions);
+    }
+}
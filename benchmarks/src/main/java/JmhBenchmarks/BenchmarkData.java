@@ -0,0 +1,158 @@
+package JmhBenchmarks;
+
+import Factory.QuestionFactory;
+import Factory.StudentFactory;
+import Interfaces.Question;
+import Interfaces.QuizSubmission;
+import Interfaces.Student;
+import Model.QuizSystem;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+/**
+ * Builds the synthetic question pools, students and submissions shared by the benchmarks. Even-numbered questions
+ * are free-response, odd-numbered questions are multiple-choice with three correct options.
+ *
+ * @author Your Name
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a question pool of the given size.
+     *
+     * @param size the number of questions.
+     * @return a {@code List} of synthetic questions.
+     */
+    static List<Question> questionPool(int size) {
+        List<Question> pool = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pool.add(i % 2 == 0
+                    ? QuestionFactory.createQuestion("free", "Question " + i, List.of("Answer " + i))
+                    : QuestionFactory.createQuestion("multiple", "Question " + i, List.of("a" + i, "b" + i, "c" + i)));
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the correct submission for each of the given questions.
+     *
+     * @param questions the questions to answer.
+     * @return a {@code List} of correct answers, parallel to the questions.
+     */
+    static List<String> correctAnswers(List<Question> questions) {
+        List<String> answers = new ArrayList<>(questions.size());
+        for (Question question : questions) {
+            answers.add(String.join(", ", question.getCorrectAnswers()));
+        }
+        return answers;
+    }
+
+    /**
+     * Returns a submission answering every one of the given questions incorrectly.
+     *
+     * @param questions the questions to answer.
+     * @return a {@code List} of wrong answers, parallel to the questions.
+     */
+    static List<String> wrongAnswers(List<Question> questions) {
+        List<String> answers = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            answers.add("wrong");
+        }
+        return answers;
+    }
+
+    /**
+     * Creates the given number of distinct students.
+     *
+     * @param count the number of students.
+     * @return an array of students.
+     */
+    static Student[] students(int count) {
+        Student[] students = new Student[count];
+        for (int i = 0; i < count; i++) {
+            students[i] = StudentFactory.createStudent("Student" + i, "Benchmark", new GregorianCalendar(2000, 1, 1).getTime());
+        }
+        return students;
+    }
+
+    /**
+     * Creates two submissions for each of the given number of students, each answering a five-question quiz drawn
+     * from the pre-defined questions of {@code QuizSystem} with the same answers.
+     *
+     * @param studentCount the number of students.
+     * @return a {@code List} of submissions, a student's two submissions next to each other.
+     */
+    static List<QuizSubmission> submissions(int studentCount) {
+        QuizSystem template = new QuizSystem();
+        List<String> answers = List.of("Paris", "Berlin", "Tokyo", "New Delhi", "Canberra");
+        List<QuizSubmission> submissions = new ArrayList<>(2 * studentCount);
+        for (Student student : students(studentCount)) {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                submissions.add(new QuizSubmission(student, template.generateQuiz(5), answers));
+            }
+        }
+        return submissions;
+    }
+
+    /**
+     * Grades the submissions one at a time with {@code takeQuiz} on a new {@code QuizSystem}.
+     *
+     * @param submissions the submissions to grade.
+     * @return the system the submissions were graded on.
+     */
+    static QuizSystem gradeSequentially(List<QuizSubmission> submissions) {
+        QuizSystem quizSystem = new QuizSystem();
+        for (QuizSubmission submission : submissions) {
+            quizSystem.takeQuiz(submission.getStudent(), submission.getQuiz(), submission.getAnswers());
+        }
+        return quizSystem;
+    }
+
+    /**
+     * Returns the heap in use after a full collection, to measure the heap a data structure retains.
+     *
+     * @return the used heap in bytes.
+     */
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Collects garbage and resets the peak usage of every heap memory pool, so that {@link #peakHeap()} reports
+     * the peak of what runs next.
+     */
+    static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Returns the sum of the peak usages of the heap memory pools since {@link #resetPeakHeap()}. The pools do not
+     * all peak at the same moment, so this is an upper bound on the heap in use at any one time.
+     *
+     * @return the peak heap in bytes.
+     */
+    static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
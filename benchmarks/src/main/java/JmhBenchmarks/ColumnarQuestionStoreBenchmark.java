@@ -0,0 +1,96 @@
+package JmhBenchmarks;
+
+import Factory.QuestionFactory;
+import Implementations.ColumnarQuestionStore;
+import Interfaces.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a pool of two million question objects with the same questions in a {@code ColumnarQuestionStore}.
+ * <p>
+ * Half of the questions are free-response and half multiple-choice with three options; answers repeat across
+ * questions the way real banks repeat them. {@code gradingScan} checks one submission against every question in
+ * pool order and is reported per question. The heap the pool retains after a full collection is printed per
+ * question when the pool is built; the columnar store creates its question views on demand and does not keep them.
+ * The pool needs a heap of a few gigabytes, e.g. {@code -jvmArgsAppend -Xmx4g}.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarQuestionStoreBenchmark {
+    private static final int QUESTIONS = 2_000_000;
+    private static final int DISTINCT_ANSWERS = 5_000;
+
+    @Param({"objects", "columnar"})
+    public String representation;
+
+    private List<Question> pool;
+
+    @Setup
+    public void setUp() {
+        long before = BenchmarkData.usedHeap();
+        if (representation.equals("objects")) {
+            pool = new ArrayList<>(QUESTIONS);
+            for (int i = 0; i < QUESTIONS; i++) {
+                pool.add(QuestionFactory.createQuestion(type(i), text(i), answers(i)));
+            }
+        } else {
+            ColumnarQuestionStore.Builder builder = new ColumnarQuestionStore.Builder();
+            for (int i = 0; i < QUESTIONS; i++) {
+                builder.add(type(i), text(i), answers(i));
+            }
+            pool = builder.build();
+        }
+        System.out.printf("%n%s: %.1f bytes/question retained%n", representation,
+                (double) (BenchmarkData.usedHeap() - before) / QUESTIONS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUESTIONS)
+    public int gradingScan() {
+        int correct = 0;
+        for (int i = 0; i < QUESTIONS; i++) {
+            if (pool.get(i).isAnswerCorrectOrNot("answer 17, answer 18")) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    private static String type(int i) {
+        return i % 2 == 0 ? "free" : "multiple";
+    }
+
+    private static String text(int i) {
+        return "Which answer belongs to question number " + i + "?";
+    }
+
+    private static List<String> answers(int i) {
+        if (i % 2 == 0) {
+            return List.of("Answer " + i % DISTINCT_ANSWERS);
+        }
+        return List.of("Answer " + i % DISTINCT_ANSWERS, "Answer " + (i + 1) % DISTINCT_ANSWERS,
+                "Answer " + (i + 2) % DISTINCT_ANSWERS);
+    }
+}
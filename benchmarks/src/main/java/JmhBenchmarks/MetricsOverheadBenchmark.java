@@ -0,0 +1,57 @@
+package JmhBenchmarks;
+
+import Interfaces.QuizSubmission;
+import Model.QuizSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the grading overhead of the operation metrics, in submissions per second.
+ * <p>
+ * The same submissions, two per student, are graded by a sequential {@code takeQuiz} loop on new
+ * {@code QuizSystem} instances created with the {@code quiz.metrics} system property set to {@code metrics}. With
+ * metrics on, every quiz and every answer check is timed. The flight recorder events are present in both runs but
+ * no recording is active.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+    private static final int STUDENTS = 20_000;
+
+    @Param({"false", "true"})
+    public String metrics;
+
+    private List<QuizSubmission> submissions;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("quiz.metrics", metrics);
+        submissions = BenchmarkData.submissions(STUDENTS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * STUDENTS)
+    public QuizSystem sequential() {
+        return BenchmarkData.gradeSequentially(submissions);
+    }
+}
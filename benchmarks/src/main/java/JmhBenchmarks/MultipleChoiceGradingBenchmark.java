@@ -0,0 +1,113 @@
+package JmhBenchmarks;
+
+import Implementations.MultipleChoiceQuestion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares multiple-choice grading with set equality and with option masks, per check.
+ * <p>
+ * Questions offer five options of which two or three are correct, and are graded against a mix of correct answers,
+ * answers naming a wrong option and answers naming too few options. Four ways of grading are measured: the original
+ * approach of splitting the submission and comparing sets of strings, grading a submission string with the
+ * compiled option mask, parsing a submission into its mask, and checking an already parsed mask.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultipleChoiceGradingBenchmark {
+    private static final List<String> OPTIONS = List.of("Mercury", "Venus", "Earth", "Mars", "Jupiter");
+    private static final List<Set<String>> CORRECT = List.of(Set.of("Mercury", "Venus"),
+            Set.of("Earth", "Mars", "Jupiter"), Set.of("Venus", "Earth", "Mars"), Set.of("Mercury", "Jupiter"));
+    private static final String[] ANSWERS = {"venus, Mercury", "Earth,Mars, Jupiter", "mars, earth, venus",
+            "Mercury, Mars", "Jupiter , mercury", "Earth, Mars", "venus,earth,mars,jupiter", "Mercury,venus,"};
+    private static final int CHECKS = 32;
+
+    private final MultipleChoiceQuestion[] questions = new MultipleChoiceQuestion[CHECKS];
+    private final List<Set<String>> correctSets = new ArrayList<>(CHECKS);
+    private final String[] answers = new String[CHECKS];
+    private final long[] selections = new long[CHECKS];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < CHECKS; i++) {
+            Set<String> correct = CORRECT.get(i % CORRECT.size());
+            questions[i] = new MultipleChoiceQuestion("Which planets?", OPTIONS, correct);
+            correctSets.add(correct.stream().map(String::toLowerCase).collect(Collectors.toSet()));
+            answers[i] = ANSWERS[i / CORRECT.size()];
+            selections[i] = questions[i].parseSelection(answers[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public int setEquality() {
+        int correct = 0;
+        for (int i = 0; i < CHECKS; i++) {
+            Set<String> given = Arrays.stream(answers[i].split(","))
+                    .map(String::trim)
+                    .map(String::toLowerCase)
+                    .collect(Collectors.toSet());
+            if (correctSets.get(i).equals(given)) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public int optionMask() {
+        int correct = 0;
+        for (int i = 0; i < CHECKS; i++) {
+            if (questions[i].isAnswerCorrectOrNot(answers[i])) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public long parseOnly() {
+        long hash = 0;
+        for (int i = 0; i < CHECKS; i++) {
+            hash += questions[i].parseSelection(answers[i]);
+        }
+        return hash;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public int parsedMask() {
+        int correct = 0;
+        for (int i = 0; i < CHECKS; i++) {
+            if (questions[i].isSelectionCorrect(selections[i])) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+}
@@ -0,0 +1,99 @@
+package JmhBenchmarks;
+
+import Factory.QuestionBankLoader;
+import Interfaces.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a large synthetic question bank with {@code QuestionBankLoader}.
+ * <p>
+ * A bank of {@code questionCount} questions, half free-response and half multiple-choice, is written to the
+ * temporary directory once and then loaded in single shots, either into question objects with {@code load} or into
+ * a {@code ColumnarQuestionStore} with {@code loadColumnar}. After every load, the peak heap used during the load
+ * and the heap the loaded questions retain after a full collection are printed, both above the heap in use before
+ * the load. The bank needs a heap of a few gigabytes, e.g. {@code -jvmArgsAppend -Xmx4g}.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QuestionBankLoadBenchmark {
+
+    @Param({"2000000"})
+    public int questionCount;
+
+    @Param({"objects", "columnar"})
+    public String representation;
+
+    private Path bank;
+    private List<Question> loaded;
+    private long heapBefore;
+
+    @Setup
+    public void setUp() throws IOException {
+        bank = Files.createTempFile("synthetic-bank", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(bank, StandardCharsets.UTF_8)) {
+            writer.write("# type,question,answers\n");
+            for (int i = 0; i < questionCount; i++) {
+                if (i % 2 == 0) {
+                    writer.write("free,What is the capital of region " + i + "?,City " + (i % 500) + "\n");
+                } else {
+                    writer.write("multiple,\"Which options apply to case " + i + ", exactly?\",true,option " + (i % 7)
+                            + ",option " + (i % 11 + 7) + "\n");
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetHeap() {
+        loaded = null;
+        BenchmarkData.resetPeakHeap();
+        heapBefore = BenchmarkData.usedHeap();
+    }
+
+    @Benchmark
+    public List<Question> load() throws IOException {
+        loaded = representation.equals("objects") ? QuestionBankLoader.load(bank) : QuestionBankLoader.loadColumnar(bank);
+        return loaded;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printHeap() {
+        long peak = BenchmarkData.peakHeap() - heapBefore;
+        long retained = BenchmarkData.usedHeap() - heapBefore;
+        System.out.printf("%n%s: %.1f MB peak heap, %.1f MB retained, %d questions%n", representation,
+                peak / 1048576.0, retained / 1048576.0, loaded.size());
+        loaded = null;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(bank);
+    }
+}
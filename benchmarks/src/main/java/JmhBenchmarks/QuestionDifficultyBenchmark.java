@@ -0,0 +1,63 @@
+package JmhBenchmarks;
+
+import Interfaces.QuizSubmission;
+import Interfaces.QuizSubmissionResult;
+import Model.QuizSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the grading overhead of the per-question difficulty counters, in submissions per second.
+ * <p>
+ * The same submissions, two per student, are graded on new {@code QuizSystem} instances created with the
+ * {@code quiz.difficulty} system property set to {@code counters}, both by a sequential {@code takeQuiz} loop and
+ * by {@code takeQuizBatch} on the common fork-join pool.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionDifficultyBenchmark {
+    private static final int STUDENTS = 20_000;
+
+    @Param({"false", "true"})
+    public String counters;
+
+    private List<QuizSubmission> submissions;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("quiz.difficulty", counters);
+        submissions = BenchmarkData.submissions(STUDENTS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * STUDENTS)
+    public QuizSystem sequential() {
+        return BenchmarkData.gradeSequentially(submissions);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * STUDENTS)
+    public List<QuizSubmissionResult> batch() {
+        return new QuizSystem().takeQuizBatch(submissions);
+    }
+}
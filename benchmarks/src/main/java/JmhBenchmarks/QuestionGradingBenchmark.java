@@ -0,0 +1,70 @@
+package JmhBenchmarks;
+
+import Factory.QuestionFactory;
+import Interfaces.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code Question.isAnswerCorrectOrNot} for both question types with correct, wrong and
+ * comma-separated submissions.
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionGradingBenchmark {
+
+    @Param({"correct", "wrong", "padded"})
+    public String submission;
+
+    private Question freeResponse;
+    private Question multipleChoice;
+    private String freeResponseAnswer;
+    private String multipleChoiceAnswer;
+
+    @Setup
+    public void setUp() {
+        freeResponse = QuestionFactory.createQuestion("free", "What is the capital of Australia?", List.of("Canberra"));
+        multipleChoice = QuestionFactory.createQuestion("multiple", "Which are continents?", List.of("Asia", "Europe", "Africa"));
+        switch (submission) {
+            case "correct":
+                freeResponseAnswer = "Canberra";
+                multipleChoiceAnswer = "Asia, Europe, Africa";
+                break;
+            case "wrong":
+                freeResponseAnswer = "Sydney";
+                multipleChoiceAnswer = "Asia, Europe, Antarctica";
+                break;
+            default:
+                freeResponseAnswer = "  CANBERRA , canberra ,";
+                multipleChoiceAnswer = "  africa ,ASIA,  Europe , asia ";
+        }
+    }
+
+    @Benchmark
+    public boolean freeResponse() {
+        return freeResponse.isAnswerCorrectOrNot(freeResponseAnswer);
+    }
+
+    @Benchmark
+    public boolean multipleChoice() {
+        return multipleChoice.isAnswerCorrectOrNot(multipleChoiceAnswer);
+    }
+}
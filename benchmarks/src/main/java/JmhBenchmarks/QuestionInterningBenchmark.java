@@ -0,0 +1,96 @@
+package JmhBenchmarks;
+
+import Factory.QuestionBankLoader;
+import Interfaces.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a realistic merged question bank, to compare runs with and without the question and answer
+ * interning of {@code QuestionFactory}.
+ * <p>
+ * The bank merges three courses that each draw 200,000 questions from a shared catalogue of 300,000, so many
+ * questions repeat; answer keys are repetitive (true/false, country names, small option sets). The heap the loaded
+ * bank retains after a full collection and its number of distinct question instances are printed before the
+ * measurement. Run it twice, once as is and once with
+ * {@code -jvmArgsAppend "-Dquiz.intern.questions=0 -Dquiz.intern.answers=0"}, and compare.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QuestionInterningBenchmark {
+    private static final int COURSES = 3;
+    private static final int QUESTIONS_PER_COURSE = 200_000;
+    private static final int CATALOGUE_SIZE = 300_000;
+    private static final int COUNTRIES = 195;
+
+    private Path bank;
+
+    @Setup
+    public void setUp() throws IOException {
+        bank = Files.createTempFile("merged-bank", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(bank, StandardCharsets.UTF_8)) {
+            for (int course = 0; course < COURSES; course++) {
+                int offset = course * (CATALOGUE_SIZE - QUESTIONS_PER_COURSE) / (COURSES - 1);
+                for (int i = 0; i < QUESTIONS_PER_COURSE; i++) {
+                    writer.write(catalogueQuestion(offset + i));
+                }
+            }
+        }
+
+        long before = BenchmarkData.usedHeap();
+        List<Question> questions = QuestionBankLoader.load(bank);
+        long retained = BenchmarkData.usedHeap() - before;
+        Set<Question> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(questions);
+        System.out.printf("%n%,d questions, %,d distinct instances, %,d bytes/question retained%n",
+                questions.size(), distinct.size(), retained / questions.size());
+    }
+
+    @Benchmark
+    public List<Question> load() throws IOException {
+        return QuestionBankLoader.load(bank);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(bank);
+    }
+
+    private static String catalogueQuestion(int id) {
+        switch (id % 3) {
+            case 0:
+                return "free,Is statement " + id + " true?," + (id % 2 == 0 ? "true" : "false") + "\n";
+            case 1:
+                return "free,Which country is described by clue " + id + "?,Country " + (id % COUNTRIES) + "\n";
+            default:
+                return "multiple,Which options apply to scenario " + id + "?,option a,option " + (char) ('b' + id % 4) + "\n";
+        }
+    }
+}
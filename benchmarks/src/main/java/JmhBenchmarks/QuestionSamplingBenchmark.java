@@ -0,0 +1,87 @@
+package JmhBenchmarks;
+
+import Factory.QuestionFactory;
+import Implementations.QuestionSampler;
+import Implementations.QuizImpl;
+import Interfaces.Question;
+import Interfaces.QuizGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures drawing quizzes of a growing share of the pool with {@code QuestionSampler} and
+ * {@code QuizImpl.createQuiz}, against the rejection sampling that was used before {@code QuestionSampler}.
+ * <p>
+ * {@code quizFraction} is the quiz size as a share of the pool. The time per quiz of the sampler grows linearly
+ * with the quiz size, while rejection sampling degrades quadratically; with larger pools, given with
+ * {@code -p poolSize}, the rejection runs for large fractions take very long.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionSamplingBenchmark {
+
+    @Param({"10000"})
+    public int poolSize;
+
+    @Param({"0.001", "0.01", "0.1", "0.5", "0.9", "1.0"})
+    public double quizFraction;
+
+    private List<Question> pool;
+    private int quizSize;
+
+    @Setup
+    public void setUp() {
+        pool = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            pool.add(QuestionFactory.createQuestion("free", "Question " + i, List.of("Answer " + i)));
+        }
+        quizSize = (int) (poolSize * quizFraction);
+    }
+
+    @Benchmark
+    public List<Question> sampler() {
+        return QuestionSampler.sample(pool, quizSize);
+    }
+
+    @Benchmark
+    public QuizGenerator createQuiz() {
+        return QuizImpl.createQuiz(pool, quizSize);
+    }
+
+    /**
+     * Selects questions the way {@code QuizImpl.createQuiz} did before {@code QuestionSampler}.
+     */
+    @Benchmark
+    public List<Question> rejection() {
+        List<Question> selected = new ArrayList<>();
+        Random random = new Random();
+        while (selected.size() < quizSize) {
+            Question question = pool.get(random.nextInt(pool.size()));
+            if (!selected.contains(question)) {
+                selected.add(question);
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,60 @@
+package JmhBenchmarks;
+
+import Implementations.QuizImpl;
+import Interfaces.Question;
+import Interfaces.QuizGenerator;
+import Model.QuizSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures quiz generation through {@code QuizImpl.createQuiz} and {@code QuizSystem.generateQuiz}
+ * for different pool and quiz sizes.
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuizGenerationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int poolSize;
+
+    @Param({"10", "100", "1000"})
+    public int quizSize;
+
+    private List<Question> questionPool;
+    private QuizSystem quizSystem;
+
+    @Setup
+    public void setUp() {
+        questionPool = BenchmarkData.questionPool(poolSize);
+        quizSystem = new QuizSystem(questionPool);
+    }
+
+    @Benchmark
+    public QuizGenerator createQuiz() {
+        return QuizImpl.createQuiz(questionPool, quizSize);
+    }
+
+    @Benchmark
+    public QuizGenerator generateQuiz() {
+        return quizSystem.generateQuiz(quizSize);
+    }
+}
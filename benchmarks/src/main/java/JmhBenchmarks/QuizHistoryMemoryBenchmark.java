@@ -0,0 +1,92 @@
+package JmhBenchmarks;
+
+import Factory.QuestionFactory;
+import Implementations.QuestionSampler;
+import Implementations.QuizImpl;
+import Interfaces.Question;
+import Interfaces.QuizGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one million stored quizzes of ten questions each, drawn from a pool of 1,000 questions.
+ * <p>
+ * With {@code storage} {@code lists} the quizzes are built from explicit question lists, which hold their own copy
+ * of the list; with {@code positions} they are drawn from the pool and hold only the positions of their questions.
+ * The heap the quizzes retain after a full collection is printed per quiz when they are built, and
+ * {@code readQuestions} reads every quiz's questions once, reported per quiz. The quizzes need a heap of a couple
+ * of gigabytes, e.g. {@code -jvmArgsAppend -Xmx2g}.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuizHistoryMemoryBenchmark {
+    private static final int POOL_SIZE = 1_000;
+    private static final int QUIZZES = 1_000_000;
+    private static final int QUIZ_SIZE = 10;
+
+    @Param({"lists", "positions"})
+    public String storage;
+
+    private QuizGenerator[] quizzes;
+
+    @Setup
+    public void setUp() {
+        List<Question> pool = new ArrayList<>(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            pool.add(QuestionFactory.createQuestion("free", "Question " + i, List.of("Answer " + i)));
+        }
+        int[][] selections = new int[QUIZZES][];
+        for (int i = 0; i < QUIZZES; i++) {
+            selections[i] = QuestionSampler.sampleIndices(POOL_SIZE, QUIZ_SIZE);
+        }
+
+        long before = BenchmarkData.usedHeap();
+        quizzes = new QuizGenerator[QUIZZES];
+        for (int i = 0; i < QUIZZES; i++) {
+            if (storage.equals("lists")) {
+                List<Question> questions = new ArrayList<>(QUIZ_SIZE);
+                for (int index : selections[i]) {
+                    questions.add(pool.get(index));
+                }
+                quizzes[i] = QuizImpl.createQuiz(questions);
+            } else {
+                quizzes[i] = QuizImpl.createQuiz(pool, selections[i]);
+            }
+        }
+        System.out.printf("%n%s: %.1f bytes/quiz retained%n", storage, (double) (BenchmarkData.usedHeap() - before) / QUIZZES);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUIZZES)
+    public int readQuestions() {
+        int hash = 0;
+        for (QuizGenerator quiz : quizzes) {
+            List<Question> questions = quiz.getQuestions();
+            for (int i = 0; i < questions.size(); i++) {
+                hash += System.identityHashCode(questions.get(i));
+            }
+        }
+        return hash;
+    }
+}
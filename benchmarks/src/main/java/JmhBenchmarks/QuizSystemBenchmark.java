@@ -0,0 +1,103 @@
+package JmhBenchmarks;
+
+import Interfaces.Question;
+import Interfaces.QuizGenerator;
+import Interfaces.Student;
+import Model.QuizSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-student operations of {@code QuizSystem}: grading a submission with {@code takeQuiz},
+ * and building revision quizzes and statistics reports for a student with an existing history.
+ * <p>
+ * {@code historyLength} is the number of graded questions in the student's history, spread over the two
+ * regular attempts a student is allowed, all answered incorrectly.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuizSystemBenchmark {
+    private static final int POOL_SIZE = 10_000;
+    private static final int SUBMITTING_STUDENTS = 4096;
+
+    @Param({"10", "100"})
+    public int quizSize;
+
+    @Param({"10", "1000"})
+    public int historyLength;
+
+    private List<Question> questionPool;
+    private QuizGenerator quiz;
+    private List<String> answers;
+    private Student[] students;
+    private QuizSystem submissionSystem;
+    private int nextSubmission;
+
+    private QuizSystem historySystem;
+    private Student historyStudent;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        questionPool = BenchmarkData.questionPool(POOL_SIZE);
+        quiz = new QuizSystem(questionPool).generateQuiz(quizSize);
+        answers = BenchmarkData.correctAnswers(quiz.getQuestions());
+        students = BenchmarkData.students(SUBMITTING_STUDENTS);
+
+        historySystem = new QuizSystem(questionPool);
+        historyStudent = BenchmarkData.students(1)[0];
+        for (int attempt = 0; attempt < 2; attempt++) {
+            QuizGenerator pastQuiz = historySystem.generateQuiz(historyLength / 2);
+            historySystem.takeQuiz(historyStudent, pastQuiz, BenchmarkData.wrongAnswers(pastQuiz.getQuestions()));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetSubmissions() {
+        submissionSystem = new QuizSystem(questionPool);
+        nextSubmission = 0;
+    }
+
+    /**
+     * Grades one submission. Each student may only submit twice, so after every student has used both attempts
+     * the system is replaced; this happens once every {@code 2 * SUBMITTING_STUDENTS} invocations.
+     */
+    @Benchmark
+    public double takeQuiz() {
+        if (nextSubmission == 2 * SUBMITTING_STUDENTS) {
+            submissionSystem = new QuizSystem(questionPool);
+            nextSubmission = 0;
+        }
+        Student student = students[nextSubmission++ % SUBMITTING_STUDENTS];
+        return submissionSystem.takeQuiz(student, quiz, answers);
+    }
+
+    @Benchmark
+    public QuizGenerator generateRevisionQuiz() {
+        return historySystem.generateRevisionQuiz(historyStudent);
+    }
+
+    @Benchmark
+    public String generateStatistics() {
+        return historySystem.generateStatistics(historyStudent);
+    }
+}
@@ -0,0 +1,101 @@
+package JmhBenchmarks;
+
+import Implementations.FreeResponseQuestion;
+import Implementations.MultipleChoiceQuestion;
+import Implementations.ScoringPolicy;
+import Interfaces.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares quiz scoring with the plain correctness check and with scoring policies of increasing richness, per
+ * question.
+ * <p>
+ * A quiz of 1,000 questions, half free-response and half multiple-choice with five options of which two or three
+ * are correct, is answered with a mix of correct, partly correct and wrong answers. It is scored by counting
+ * correct answers, as quizzes were scored before scoring policies, and by the all-or-nothing policy, a policy with
+ * weights and negative marking, and a policy that also gives partial credit.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringPolicyBenchmark {
+    private static final int QUESTIONS = 1_000;
+    private static final List<String> OPTIONS = List.of("Mercury", "Venus", "Earth", "Mars", "Jupiter");
+    private static final String[] SELECTIONS = {"Mercury, Venus", "Earth, Mars", "Venus, Earth, Mars", "Jupiter"};
+
+    private final List<Question> questions = new ArrayList<>(QUESTIONS);
+    private final List<String> answers = new ArrayList<>(QUESTIONS);
+    private ScoringPolicy weightedPolicy;
+    private ScoringPolicy partialCreditPolicy;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < QUESTIONS; i++) {
+            if (i % 2 == 0) {
+                questions.add(new FreeResponseQuestion("Question " + i, "Answer " + i % 50));
+                answers.add(i % 3 == 0 ? "wrong" : "answer " + i % 50);
+            } else {
+                Set<String> correct = i % 4 == 1 ? Set.of("Mercury", "Venus") : Set.of("Venus", "Earth", "Mars");
+                questions.add(new MultipleChoiceQuestion("Question " + i, OPTIONS, correct));
+                answers.add(SELECTIONS[i % SELECTIONS.length]);
+            }
+        }
+        ScoringPolicy.Builder weighted = new ScoringPolicy.Builder().wrongAnswerPenalty(0.25);
+        for (int i = 0; i < QUESTIONS; i += 3) {
+            weighted.weight(questions.get(i), 2.0);
+        }
+        weightedPolicy = weighted.build();
+        partialCreditPolicy = weighted.partialCredit(true).build();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUESTIONS)
+    public int correctCount() {
+        int correct = 0;
+        for (int i = 0; i < QUESTIONS; i++) {
+            if (questions.get(i).isAnswerCorrectOrNot(answers.get(i))) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUESTIONS)
+    public double allOrNothing() {
+        return ScoringPolicy.allOrNothing().score(questions, answers);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUESTIONS)
+    public double weighted() {
+        return weightedPolicy.score(questions, answers);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUESTIONS)
+    public double partialCredit() {
+        return partialCreditPolicy.score(questions, answers);
+    }
+}
@@ -0,0 +1,89 @@
+package JmhBenchmarks;
+
+import Interfaces.Student;
+import Model.AttemptLog;
+import Model.QuizSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two ways of restoring a {@code QuizSystem} after a restart: replaying the full attempt log, and
+ * loading a snapshot taken after the last attempt.
+ * <p>
+ * The attempts of 100,000 students, two each, are written once to files in a temporary directory, whose sizes are
+ * printed before the measurement; each invocation then restores a new system from them.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+    private static final int STUDENTS = 100_000;
+
+    private Path directory;
+    private Path logFile;
+    private Path snapshotFile;
+    private Student firstStudent;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("snapshot-benchmark");
+        logFile = directory.resolve("attempts.log");
+        snapshotFile = directory.resolve("quiz.snapshot");
+        Student[] students = BenchmarkData.students(STUDENTS);
+        firstStudent = students[0];
+        try (QuizSystem quizSystem = new QuizSystem()) {
+            quizSystem.openAttemptLog(logFile, AttemptLog.Durability.BUFFERED);
+            List<String> answers = List.of("Paris", "Berlin", "Tokyo", "New Delhi", "Canberra");
+            for (Student student : students) {
+                for (int attempt = 0; attempt < 2; attempt++) {
+                    quizSystem.takeQuiz(student, quizSystem.generateQuiz(5), answers);
+                }
+            }
+            quizSystem.writeSnapshot(snapshotFile);
+        }
+        System.out.printf("%nattempt log %,d bytes, snapshot %,d bytes%n", Files.size(logFile), Files.size(snapshotFile));
+    }
+
+    @Benchmark
+    public int replayAttemptLog() throws IOException {
+        try (QuizSystem restored = new QuizSystem()) {
+            restored.openAttemptLog(logFile, AttemptLog.Durability.BUFFERED);
+            return restored.getQuizAttempts(firstStudent);
+        }
+    }
+
+    @Benchmark
+    public int loadSnapshot() throws IOException {
+        try (QuizSystem restored = QuizSystem.fromSnapshot(snapshotFile)) {
+            return restored.getQuizAttempts(firstStudent);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        for (Path file : List.of(logFile, snapshotFile, directory)) {
+            Files.deleteIfExists(file);
+        }
+    }
+}
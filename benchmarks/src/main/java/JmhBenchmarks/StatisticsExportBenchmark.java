@@ -0,0 +1,93 @@
+package JmhBenchmarks;
+
+import Interfaces.QuizGenerator;
+import Interfaces.Student;
+import Model.QuizSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the nightly statistics report for a population of 500,000 students with two quiz attempts each.
+ * <p>
+ * The report is produced the old way, concatenating {@code generateStatistics} for every student into one string
+ * and writing it out, and with {@code exportStatistics}, which streams CSV rows to the file. Each report is a
+ * single shot, after which the peak heap used while writing it is printed, above the heap the students retain. The
+ * students need a heap of a few gigabytes, e.g. {@code -jvmArgsAppend -Xmx4g}.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StatisticsExportBenchmark {
+    private static final int STUDENTS = 500_000;
+
+    private QuizSystem quizSystem;
+    private Student[] students;
+    private Path file;
+    private long heapBefore;
+
+    @Setup
+    public void setUp() throws IOException {
+        quizSystem = new QuizSystem();
+        QuizGenerator quiz = quizSystem.generateQuiz(4);
+        List<String> answers = Arrays.asList("Paris", "wrong", "wrong", "wrong");
+        students = BenchmarkData.students(STUDENTS);
+        for (Student student : students) {
+            quizSystem.takeQuiz(student, quiz, answers);
+            quizSystem.takeQuiz(student, quiz, answers);
+        }
+        file = Files.createTempFile("statistics", ".csv");
+    }
+
+    @Setup(Level.Iteration)
+    public void resetHeap() {
+        BenchmarkData.resetPeakHeap();
+        heapBefore = BenchmarkData.usedHeap();
+    }
+
+    @Benchmark
+    public Path generateStatistics() throws IOException {
+        StringBuilder report = new StringBuilder();
+        for (Student student : students) {
+            report.append(quizSystem.generateStatistics(student)).append(System.lineSeparator());
+        }
+        return Files.writeString(file, report);
+    }
+
+    @Benchmark
+    public int exportStatistics() throws IOException {
+        return quizSystem.exportStatistics(file);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printHeap() {
+        System.out.printf("%n%.1f MB peak heap%n", (BenchmarkData.peakHeap() - heapBefore) / 1048576.0);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,77 @@
+package JmhBenchmarks;
+
+import Factory.StudentFactory;
+import Interfaces.QuizGenerator;
+import Interfaces.Student;
+import Model.QuizSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures per-student state lookups in a {@code QuizSystem} holding one million students.
+ * <p>
+ * Every student takes one quiz, then {@code getQuizAttempts} is called in random order with separate but equal
+ * {@code Student} instances, as a server handling requests would see them. The time of every student's first
+ * quiz and the heap the registered students retain are printed per student before the measurement. The students
+ * need a heap of a few gigabytes, e.g. {@code -jvmArgsAppend -Xmx4g}.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentLookupBenchmark {
+    private static final int STUDENTS = 1_000_000;
+
+    private final SplittableRandom random = new SplittableRandom(7);
+    private QuizSystem quizSystem;
+    private Student[] requests;
+
+    @Setup
+    public void setUp() {
+        long before = BenchmarkData.usedHeap();
+        quizSystem = new QuizSystem();
+        QuizGenerator quiz = quizSystem.generateQuiz(1);
+        List<String> answers = Collections.singletonList("wrong");
+        long start = System.nanoTime();
+        for (int i = 0; i < STUDENTS; i++) {
+            quizSystem.takeQuiz(student(i), quiz, answers);
+        }
+        long register = System.nanoTime() - start;
+        long retained = BenchmarkData.usedHeap() - before;
+        System.out.printf("%nfirst quiz %,.0f ns/student, %,.0f bytes/student retained%n",
+                (double) register / STUDENTS, (double) retained / STUDENTS);
+
+        requests = new Student[STUDENTS];
+        for (int i = 0; i < STUDENTS; i++) {
+            requests[i] = student(i);
+        }
+    }
+
+    @Benchmark
+    public int getQuizAttempts() {
+        return quizSystem.getQuizAttempts(requests[random.nextInt(STUDENTS)]);
+    }
+
+    private static Student student(int i) {
+        return StudentFactory.createStudent("Student" + i, "Lookup", new Date(946_684_800_000L));
+    }
+}
@@ -0,0 +1,83 @@
+package JmhBenchmarks;
+
+import Implementations.FreeResponseQuestion;
+import Interfaces.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares free-response grading with exact matching and with typo tolerance, per check.
+ * <p>
+ * Capital-city questions accepting {@code maxEdits} typos are graded against three kinds of submissions: exactly
+ * correct answers, answers with one typo, and wrong answers of similar length.
+ * </p>
+ *
+ * @author Your Name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypoToleranceBenchmark {
+    private static final String[] CAPITALS = {"Canberra", "Paris", "Berlin", "Tokyo", "New Delhi", "Ottawa",
+            "Wellington", "Buenos Aires", "Reykjavik", "Kuala Lumpur", "Ouagadougou", "Washington"};
+    private static final String[] TYPOS = {"Canbera", "Pariss", "Berln", "Tokio", "New Dehli", "Otawa",
+            "Wellingtn", "Buenos Aries", "Reykjavick", "Kuala Lumper", "Ouagadogou", "Washingtun"};
+    private static final String[] WRONG = {"Sydney", "Lyon", "Munich", "Osaka", "Mumbai", "Toronto",
+            "Auckland", "Cordoba", "Akureyri", "Penang", "Bobo-Dioulasso", "New York"};
+    private static final int CHECKS = 12;
+
+    @Param({"0", "1", "2"})
+    public int maxEdits;
+
+    private final Question[] questions = new Question[CHECKS];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < CHECKS; i++) {
+            questions[i] = new FreeResponseQuestion("What is this capital?", CAPITALS[i], maxEdits);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public int correct() {
+        return grade(CAPITALS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public int oneTypo() {
+        return grade(TYPOS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public int wrong() {
+        return grade(WRONG);
+    }
+
+    private int grade(String[] answers) {
+        int correct = 0;
+        for (int i = 0; i < CHECKS; i++) {
+            if (questions[i].isAnswerCorrectOrNot(answers[i])) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+}
@@ -0,0 +1,138 @@
+package Benchmarks;
+
+import Model.QuizSystem;
+import Server.QuizHttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load generator for {@code QuizHttpServer}: starts a server on the loopback interface and keeps a fixed number of
+ * concurrent clients busy for a fixed time, each repeatedly fetching a quiz and submitting answers to it.
+ * <p>
+ * Every client is an asynchronous request chain on one shared {@code HttpClient}, so ten thousand clients do not need
+ * ten thousand threads. Each client switches to a new student every two submissions, since a student may only take
+ * two regular quizzes. Requests per second and latency percentiles over all requests are printed at the end;
+ * latencies are recorded in a histogram with buckets about 6% wide.
+ * </p>
+ *
+ * <p> Run the {@code main} method directly, optionally passing the number of clients (10,000 by default) and the
+ * duration in seconds (10 by default), with {@code -Dsun.net.httpserver.nodelay=true} as {@code QuizHttpServer}
+ * requires. The process needs a file descriptor limit of at least twice the number of clients.
+ * </p>
+ *
+ * @author Your Name
+ */
+public class HttpLoadGenerator {
+    private static final int SUB_BUCKETS = 16;
+    private static final AtomicLongArray latencyBuckets = new AtomicLongArray(64 * SUB_BUCKETS);
+    private static final LongAdder completed = new LongAdder();
+    private static final LongAdder failed = new LongAdder();
+    private static final AtomicLong studentNumbers = new AtomicLong();
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        try (QuizSystem quizSystem = new QuizSystem();
+             QuizHttpServer server = QuizHttpServer.start(quizSystem, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            String base = "http://127.0.0.1:" + server.getPort();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30)).build();
+            long end = System.nanoTime() + seconds * 1_000_000_000L;
+            long start = System.nanoTime();
+            CompletableFuture<?>[] running = new CompletableFuture<?>[clients];
+            for (int i = 0; i < clients; i++) {
+                running[i] = runClient(client, base, end, 0, null);
+            }
+            CompletableFuture.allOf(running).join();
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%,d clients for %d s on loopback%n", clients, seconds);
+            System.out.printf("  %,.0f requests/s  (%,d requests, %,d failed)%n",
+                    completed.sum() / elapsed, completed.sum(), failed.sum());
+            System.out.printf("  latency p50 %s  p90 %s  p99 %s  p99.9 %s  max %s%n", percentile(50), percentile(90),
+                    percentile(99), percentile(99.9), percentile(100));
+        }
+    }
+
+    /**
+     * Runs one client until the end time: fetch a quiz, submit answers, repeat.
+     */
+    private static CompletableFuture<Void> runClient(HttpClient client, String base, long end, int submissions, String student) {
+        if (System.nanoTime() >= end) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String currentStudent = submissions % 2 == 0
+                ? "first=Client" + studentNumbers.incrementAndGet() + "&last=Load&dob=2000-02-01"
+                : student;
+        HttpRequest quizRequest = HttpRequest.newBuilder(URI.create(base + "/quiz?questions=5")).GET().build();
+        return send(client, quizRequest).thenCompose(quiz -> {
+            if (quiz == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            String id = quiz.substring(quiz.indexOf(' ') + 1, quiz.indexOf('\n'));
+            String answers = "&answer=Paris&answer=Berlin&answer=Tokyo&answer=New+Delhi&answer=Canberra";
+            HttpRequest submit = HttpRequest.newBuilder(URI.create(base + "/quiz/" + id))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(currentStudent + answers)).build();
+            return send(client, submit);
+        }).thenCompose(score -> runClient(client, base, end, submissions + 1, currentStudent));
+    }
+
+    /**
+     * Sends a request and records its latency; completes with the body, or {@code null} if the request failed.
+     */
+    private static CompletableFuture<String> send(HttpClient client, HttpRequest request) {
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).handle((response, error) -> {
+            record(System.nanoTime() - start);
+            if (error != null || response.statusCode() != 200) {
+                failed.increment();
+                return null;
+            }
+            completed.increment();
+            return response.body();
+        });
+    }
+
+    private static void record(long nanos) {
+        long micros = Math.max(1, nanos / 1000);
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int bucket = exponent < 4
+                ? (int) micros
+                : SUB_BUCKETS + (exponent - 4) * SUB_BUCKETS + (int) ((micros >>> (exponent - 4)) & (SUB_BUCKETS - 1));
+        latencyBuckets.incrementAndGet(bucket);
+    }
+
+    /**
+     * Returns the upper bound of the histogram bucket holding the given percentile, formatted in milliseconds.
+     */
+    private static String percentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < latencyBuckets.length(); i++) {
+            total += latencyBuckets.get(i);
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long cumulative = 0;
+        for (int i = 0; i < latencyBuckets.length(); i++) {
+            cumulative += latencyBuckets.get(i);
+            if (cumulative >= rank) {
+                long upperMicros = i < SUB_BUCKETS
+                        ? i + 1
+                        : (long) (SUB_BUCKETS + (i - SUB_BUCKETS) % SUB_BUCKETS + 1) << ((i - SUB_BUCKETS) / SUB_BUCKETS);
+                return String.format("%.2f ms", upperMicros / 1000.0);
+            }
+        }
+        return "n/a";
+    }
+}
@@ -0,0 +1,322 @@
+package Factory;
+
+import Implementations.AnswerMatcher;
+import Implementations.ColumnarQuestionStore;
+import Interfaces.Question;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Loads question banks from local CSV files.
+ * <p>
+ * Each line of the file holds one question: the question type ({@code free} or {@code multiple}), the question
+ * text and one or more correct answers, separated by commas. Fields containing commas or quotes are enclosed
+ * in double quotes, with embedded quotes doubled, as in RFC 4180. Blank lines and lines starting with
+ * {@code #} are ignored. A record must fit on one line. A free-response question of type {@code free:N} accepts
+ * answers with up to {@code N} typos; plain {@code free} questions accept the default number.
+ * </p>
+ *
+ * <pre>
+ * # type,question,answers...
+ * free,What is the capital of France?,Paris
+ * free:2,Which scientist proposed the theory of general relativity?,Einstein
+ * multiple,"Which are vowels, not consonants?",a,e,i,o,u
+ * </pre>
+ *
+ * <p> The file is split into chunks at line boundaries and each chunk is memory-mapped and parsed in parallel on
+ * a fork-join pool, so banks with millions of questions load without reading the whole file onto the heap.
+ * Questions are created through {@code QuestionFactory} and returned in file order, or packed into a
+ * {@code ColumnarQuestionStore} by {@link #loadColumnar(Path)}.
+ * </p>
+ *
+ * <p> Malformed records are reported with an {@code IllegalArgumentException} naming the byte offset of the line.
+ * </p>
+ *
+ * @author Your Name
+ */
+public class QuestionBankLoader {
+    private static final int CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final int BOUNDARY_SCAN_SIZE = 8 * 1024;
+
+    /**
+     * Loads all questions from the given bank file, parsing on the common fork-join pool.
+     *
+     * @param bankFile the path of the CSV question bank.
+     * @return a {@code List} of the loaded questions, in file order.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a record is malformed.
+     */
+    public static List<Question> load(Path bankFile) throws IOException {
+        return load(bankFile, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads all questions from the given bank file, parsing chunks in parallel on the given pool.
+     *
+     * @param bankFile the path of the CSV question bank.
+     * @param pool the {@code ForkJoinPool} to parse on.
+     * @return a {@code List} of the loaded questions, in file order.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a record is malformed.
+     */
+    public static List<Question> load(Path bankFile, ForkJoinPool pool) throws IOException {
+        List<List<Question>> chunks = parseChunks(bankFile, pool, ArrayList::new,
+                (questions, fields, offset) -> questions.add(createQuestion(fields, offset)));
+        List<Question> questions = new ArrayList<>();
+        for (List<Question> chunk : chunks) {
+            questions.addAll(chunk);
+        }
+        return questions;
+    }
+
+    /**
+     * Loads all questions from the given bank file into a {@code ColumnarQuestionStore}, parsing on the common
+     * fork-join pool. Use this for very large banks: the questions are packed into a few arrays instead of being
+     * created as separate objects.
+     *
+     * @param bankFile the path of the CSV question bank.
+     * @return a {@code ColumnarQuestionStore} of the loaded questions, in file order.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a record is malformed.
+     */
+    public static ColumnarQuestionStore loadColumnar(Path bankFile) throws IOException {
+        return loadColumnar(bankFile, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads all questions from the given bank file into a {@code ColumnarQuestionStore}, parsing chunks in
+     * parallel on the given pool. Every chunk is collected into its own builder, and the builders are appended
+     * in file order.
+     *
+     * @param bankFile the path of the CSV question bank.
+     * @param pool the {@code ForkJoinPool} to parse on.
+     * @return a {@code ColumnarQuestionStore} of the loaded questions, in file order.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a record is malformed.
+     */
+    public static ColumnarQuestionStore loadColumnar(Path bankFile, ForkJoinPool pool) throws IOException {
+        List<ColumnarQuestionStore.Builder> chunks = parseChunks(bankFile, pool, ColumnarQuestionStore.Builder::new,
+                QuestionBankLoader::addQuestion);
+        ColumnarQuestionStore.Builder store = new ColumnarQuestionStore.Builder();
+        for (ColumnarQuestionStore.Builder chunk : chunks) {
+            store.addAll(chunk);
+        }
+        return store.build();
+    }
+
+    /**
+     * Parses every chunk of the file in parallel, passing each record of a chunk to the chunk's own target.
+     *
+     * @return the targets of all chunks, in file order.
+     */
+    private static <T> List<T> parseChunks(Path bankFile, ForkJoinPool pool, Supplier<T> newTarget,
+                                           RecordHandler<T> handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(bankFile, StandardOpenOption.READ)) {
+            List<long[]> chunks = splitIntoChunks(channel);
+            List<ForkJoinTask<T>> tasks = new ArrayList<>(chunks.size());
+            for (long[] chunk : chunks) {
+                tasks.add(pool.submit(() -> parseChunk(channel, chunk[0], chunk[1], newTarget.get(), handler)));
+            }
+            List<T> targets = new ArrayList<>(tasks.size());
+            for (ForkJoinTask<T> task : tasks) {
+                targets.add(task.get());
+            }
+            return targets;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + bankFile, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Failed to load " + bankFile, cause);
+        }
+    }
+
+    /**
+     * Splits the file into ranges of roughly {@code CHUNK_SIZE} bytes, each ending just after a line break.
+     */
+    private static List<long[]> splitIntoChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer scan = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + CHUNK_SIZE);
+            while (end < size) {
+                scan.clear();
+                int read = channel.read(scan, end);
+                int newline = -1;
+                for (int i = 0; i < read && newline < 0; i++) {
+                    if (scan.get(i) == '\n') {
+                        newline = i;
+                    }
+                }
+                if (newline >= 0) {
+                    end += newline + 1;
+                    break;
+                }
+                end += Math.max(read, 0);
+            }
+            end = Math.min(end, size);
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static <T> T parseChunk(FileChannel channel, long start, long end, T target, RecordHandler<T> handler) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<String> fields = new ArrayList<>();
+        byte[] scratch = new byte[256];
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            if (contentEnd > lineStart && buffer.get(lineStart) != '#') {
+                fields.clear();
+                scratch = parseFields(buffer, lineStart, contentEnd, fields, scratch, start);
+                handler.accept(target, fields, start + lineStart);
+            }
+            lineStart = lineEnd + 1;
+        }
+        return target;
+    }
+
+    /**
+     * Splits one line into fields, decoding each field from UTF-8 through a reusable scratch buffer.
+     *
+     * @return the scratch buffer, which may have been grown to hold a long field.
+     */
+    private static byte[] parseFields(ByteBuffer buffer, int from, int to, List<String> fields, byte[] scratch, long chunkOffset) {
+        int position = from;
+        while (true) {
+            int length = 0;
+            if (position < to && buffer.get(position) == '"') {
+                position++;
+                while (true) {
+                    if (position >= to) {
+                        throw new IllegalArgumentException("Unterminated quoted field in question bank record at byte offset " + (chunkOffset + from));
+                    }
+                    byte b = buffer.get(position++);
+                    if (b == '"') {
+                        if (position < to && buffer.get(position) == '"') {
+                            position++;
+                        } else {
+                            break;
+                        }
+                    }
+                    if (length == scratch.length) {
+                        scratch = Arrays.copyOf(scratch, length * 2);
+                    }
+                    scratch[length++] = b;
+                }
+                if (position < to && buffer.get(position) != ',') {
+                    throw new IllegalArgumentException("Unexpected character after quoted field in question bank record at byte offset " + (chunkOffset + from));
+                }
+            } else {
+                while (position < to && buffer.get(position) != ',') {
+                    if (length == scratch.length) {
+                        scratch = Arrays.copyOf(scratch, length * 2);
+                    }
+                    scratch[length++] = buffer.get(position++);
+                }
+            }
+            fields.add(new String(scratch, 0, length, StandardCharsets.UTF_8));
+            if (position >= to) {
+                return scratch;
+            }
+            position++;
+        }
+    }
+
+    private static Question createQuestion(List<String> fields, long offset) {
+        checkFieldCount(fields, offset);
+        try {
+            String type = fields.get(0).trim();
+            return QuestionFactory.createQuestion(baseType(type), fields.get(1), List.copyOf(fields.subList(2, fields.size())),
+                    maxEdits(type));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid question bank record at byte offset " + offset + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void addQuestion(ColumnarQuestionStore.Builder store, List<String> fields, long offset) {
+        checkFieldCount(fields, offset);
+        try {
+            String type = fields.get(0).trim();
+            store.add(baseType(type), fields.get(1), fields.subList(2, fields.size()), maxEdits(type));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid question bank record at byte offset " + offset + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String baseType(String type) {
+        int separator = type.indexOf(':');
+        return separator < 0 ? type : type.substring(0, separator);
+    }
+
+    /**
+     * Reads the number of typos from a type field of the form {@code free:N}, or returns the default bound if the
+     * field names no number.
+     */
+    private static int maxEdits(String type) {
+        int separator = type.indexOf(':');
+        if (separator < 0) {
+            return AnswerMatcher.getDefaultMaxEdits();
+        }
+        if (!"free".equalsIgnoreCase(type.substring(0, separator))) {
+            throw new IllegalArgumentException("Only free-response questions accept typos: " + type);
+        }
+        try {
+            int maxEdits = Integer.parseInt(type.substring(separator + 1).trim());
+            if (maxEdits >= 0) {
+                return maxEdits;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid number of typos in question type: " + type);
+    }
+
+    private static void checkFieldCount(List<String> fields, long offset) {
+        if (fields.size() < 3) {
+            throw new IllegalArgumentException("Question bank record at byte offset " + offset
+                    + " needs a type, a question and at least one answer");
+        }
+    }
+
+    /**
+     * Receives the fields of one record, together with the byte offset of its line.
+     */
+    private interface RecordHandler<T> {
+        void accept(T target, List<String> fields, long offset);
+    }
+}
@@ -1,11 +1,13 @@
 package Factory;
 
+import Implementations.AnswerMatcher;
+import Implementations.BoundedInterner;
 import Implementations.FreeResponseQuestion;
 import Implementations.MultipleChoiceQuestion;
 import Interfaces.Question;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Factory class for creating instances of {@code Question} objects.
@@ -24,14 +26,25 @@ import java.util.List;
  * </p>
  *
  * <p> If an unsupported question type is provided, an {@code IllegalArgumentException} is thrown.
+ * Free-response questions accept the default number of typos unless another bound is given.
+ * </p>
+ *
+ * <p> Questions are immutable, so the factory acts as a flyweight: creating a question equal to a recently created
+ * one (same type, text, correct answers and accepted typos) returns the shared instance. This matters for banks
+ * imported from several courses, which repeat many questions. The cache is bounded and lock-free (see
+ * {@code BoundedInterner}); its size is set with the {@code quiz.intern.questions} system property, and {@code 0}
+ * disables sharing.
  * </p>
  *
  * @author Your Name
  */
 public class QuestionFactory {
+    private static final BoundedInterner<QuestionKey, Question> QUESTIONS =
+            new BoundedInterner<>(Integer.getInteger("quiz.intern.questions", 1 << 16));
 
     /**
-     * Creates and returns a new {@code Question} object based on the specified type.
+     * Creates and returns a {@code Question} object based on the specified type, sharing the instance with
+     * an equal question created earlier where possible.
      *
      * @param type the type of question to create, either "free" for free-response or "multiple" for multiple-choice.
      * @param questionText the text of the question.
@@ -40,15 +53,74 @@ public class QuestionFactory {
      * @throws IllegalArgumentException if an unsupported question type is provided or if the correct options list is invalid.
      */
     public static Question createQuestion(String type, String questionText, List<String> correctOptions){
+        return createQuestion(type, questionText, correctOptions, AnswerMatcher.getDefaultMaxEdits());
+    }
+
+    /**
+     * Creates and returns a {@code Question} object based on the specified type, with the number of typos a
+     * free-response question accepts, sharing the instance with an equal question created earlier where possible.
+     *
+     * @param type the type of question to create, either "free" for free-response or "multiple" for multiple-choice.
+     * @param questionText the text of the question.
+     * @param correctOptions a {@code List} of correct answer options, as for {@link #createQuestion(String, String, List)}.
+     * @param maxEdits the number of typos a free-response question accepts; ignored for multiple-choice.
+     * @return a {@code Question} object, either a {@code FreeResponseQuestion} or {@code MultipleChoiceQuestion}.
+     * @throws IllegalArgumentException if an unsupported question type is provided, the correct options list is
+     *         invalid or {@code maxEdits} is negative.
+     */
+    public static Question createQuestion(String type, String questionText, List<String> correctOptions, int maxEdits){
         if("free".equalsIgnoreCase(type)){
             // Create a free-response question with the first option as the correct answer
-            return new FreeResponseQuestion(questionText, correctOptions.get(0));
+            String correctAnswer = correctOptions.get(0);
+            if (correctAnswer == null || maxEdits < 0) {
+                return new FreeResponseQuestion(questionText, correctAnswer, maxEdits);
+            }
+            return QUESTIONS.intern(new QuestionKey(FreeResponseQuestion.class, questionText, List.of(correctAnswer), maxEdits),
+                    key -> new FreeResponseQuestion(questionText, correctAnswer, maxEdits));
         } else if("multiple".equalsIgnoreCase(type)){
             // Create a multiple-choice question with a set of correct options
-            return new MultipleChoiceQuestion(questionText, new HashSet<>(correctOptions));
+            if (questionText == null || correctOptions.isEmpty()) {
+                return new MultipleChoiceQuestion(questionText, new HashSet<>(correctOptions));
+            }
+            return QUESTIONS.intern(new QuestionKey(MultipleChoiceQuestion.class, questionText, AnswerMatcher.normalizeOptions(correctOptions), 0),
+                    key -> new MultipleChoiceQuestion(questionText, new HashSet<>(correctOptions)));
         } else {
             // Throw an exception for unknown question types
             throw new IllegalArgumentException("Unknown question type: "+ type);
         }
     }
+
+    /**
+     * Identity of a question for interning: its implementation class, text, correct answers as the question
+     * reports them and the number of typos it accepts.
+     */
+    private static final class QuestionKey {
+        private final Class<?> type;
+        private final String questionText;
+        private final List<String> correctAnswers;
+        private final int maxEdits;
+        private final int hash;
+
+        QuestionKey(Class<?> type, String questionText, List<String> correctAnswers, int maxEdits){
+            this.type = type;
+            this.questionText = questionText;
+            this.correctAnswers = correctAnswers;
+            this.maxEdits = maxEdits;
+            this.hash = Objects.hash(type, questionText, correctAnswers, maxEdits);
+        }
+
+        @Override
+        public boolean equals(Object o){
+            if (this == o) return true;
+            if (!(o instanceof QuestionKey)) return false;
+            QuestionKey that = (QuestionKey) o;
+            return hash == that.hash && type == that.type && maxEdits == that.maxEdits && Objects.equals(questionText, that.questionText)
+                    && correctAnswers.equals(that.correctAnswers);
+        }
+
+        @Override
+        public int hashCode(){
+            return hash;
+        }
+    }
 }
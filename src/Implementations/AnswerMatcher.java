@@ -0,0 +1,523 @@
+package Implementations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Precompiled answer key used by the {@code Question} implementations to grade submissions.
+ * <p>
+ * The correct answers are trimmed, lower-cased and de-duplicated once, when the question is constructed.
+ * Grading then scans the submitted string in place: it is never split, copied or lower-cased, and no
+ * collections are built per submission.
+ * </p>
+ *
+ * <p> A matcher is compiled in one of four modes, mirroring the grading rules of the question types:
+ * <ul>
+ *   <li>single - the trimmed answer must equal the only correct answer, ignoring case.</li>
+ *   <li>repeated - every comma-separated element must equal the correct answer, ignoring case.</li>
+ *   <li>set - the comma-separated elements must form exactly the set of correct answers.</li>
+ *   <li>selection - the comma-separated elements name options of an explicit option list, and the options
+ *   named must be exactly the correct ones.</li>
+ * </ul>
+ * </p>
+ *
+ * <p> Multiple-choice keys of up to 64 options map each option to one bit of a {@code long}. A submission is parsed
+ * once, in a single pass over its comma-separated elements, into the mask of the options it names, and grading is
+ * then a single comparison with the mask of the correct options. Set keys without an explicit option list use
+ * their correct answers as the options, so every one of them is correct; larger set keys are tracked with a flag
+ * array instead.
+ * </p>
+ *
+ * <p> Like {@code String.split(",")}, trailing empty elements of a submission are ignored.
+ * </p>
+ *
+ * <p> Free-response keys can tolerate typos: an element is then also accepted when it is within a bounded edit
+ * distance of the correct answer, checked with the bit-parallel algorithm of {@code EditDistance} only after the
+ * exact comparison has failed. The default bound for free-response questions is set with the
+ * {@code quiz.freeResponse.maxEdits} system property, {@code 0} (exact matching) unless set.
+ * </p>
+ *
+ * <p> Answer strings are shared across questions through a bounded interner, since banks repeat the same answers
+ * ("true", "false", country names) many times. Its size is set with the {@code quiz.intern.answers} system
+ * property; {@code 0} disables sharing.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class AnswerMatcher {
+    private static final int SINGLE = 0;
+    private static final int REPEATED = 1;
+    private static final int SET = 2;
+    private static final int SELECTION = 3;
+    private static final BoundedInterner<String, String> ANSWERS =
+            new BoundedInterner<>(Integer.getInteger("quiz.intern.answers", 1 << 14));
+    private static final int DEFAULT_MAX_EDITS = Math.max(0, Integer.getInteger("quiz.freeResponse.maxEdits", 0));
+
+    private final int mode;
+    private final int maxEdits;
+    private final String[] keys;
+    private final List<String> correctAnswers;
+    private final long correctMask;
+
+    private AnswerMatcher(int mode, int maxEdits, Collection<String> normalizedAnswers) {
+        this.mode = mode;
+        this.maxEdits = maxEdits;
+        this.keys = normalizedAnswers.toArray(new String[0]);
+        this.correctAnswers = List.copyOf(normalizedAnswers);
+        this.correctMask = allOptions(keys.length);
+    }
+
+    private AnswerMatcher(List<String> normalizedOptions, List<String> normalizedAnswers, long correctMask) {
+        this.mode = SELECTION;
+        this.maxEdits = 0;
+        this.keys = normalizedOptions.toArray(new String[0]);
+        this.correctAnswers = normalizedAnswers;
+        this.correctMask = correctMask;
+    }
+
+    /**
+     * Compiles the answer key of a free-response question. Every comma-separated element of a
+     * submission must match the correct answer.
+     *
+     * @param correctAnswer the correct answer, must not be null or blank.
+     * @return the compiled {@code AnswerMatcher}.
+     */
+    public static AnswerMatcher forFreeResponse(String correctAnswer) {
+        return forFreeResponse(correctAnswer, DEFAULT_MAX_EDITS);
+    }
+
+    /**
+     * Compiles the answer key of a free-response question that tolerates typos. Every comma-separated element of
+     * a submission must be within {@code maxEdits} insertions, deletions or substitutions of the correct answer,
+     * ignoring case.
+     *
+     * @param correctAnswer the correct answer, must not be null or blank.
+     * @param maxEdits the number of typos accepted per element; {@code 0} requires an exact match.
+     * @return the compiled {@code AnswerMatcher}.
+     * @throws IllegalArgumentException if {@code maxEdits} is negative.
+     */
+    public static AnswerMatcher forFreeResponse(String correctAnswer, int maxEdits) {
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException("Maximum number of edits cannot be negative");
+        }
+        return new AnswerMatcher(REPEATED, maxEdits, List.of(normalize(correctAnswer)));
+    }
+
+    /**
+     * Retrieves the number of typos free-response questions accept unless they are given another bound, set with
+     * the {@code quiz.freeResponse.maxEdits} system property.
+     *
+     * @return the default maximum number of edits, {@code 0} for exact matching.
+     */
+    public static int getDefaultMaxEdits() {
+        return DEFAULT_MAX_EDITS;
+    }
+
+    /**
+     * Retrieves the number of typos this key accepts per element.
+     *
+     * @return the maximum number of edits, {@code 0} for exact matching and for multiple-choice keys.
+     */
+    public int getMaxEdits() {
+        return maxEdits;
+    }
+
+    /**
+     * Compiles the answer key of a multiple-choice question. Answers are compared case-insensitively,
+     * so options differing only in case count as one. A key with several options requires the submission
+     * to list exactly those options; a key with a single option requires the submission to equal it.
+     *
+     * @param correctAnswers the correct options, must not be null or empty.
+     * @return the compiled {@code AnswerMatcher}.
+     */
+    public static AnswerMatcher forMultipleChoice(Collection<String> correctAnswers) {
+        List<String> normalized = normalizeOptions(correctAnswers);
+        return new AnswerMatcher(normalized.size() > 1 ? SET : SINGLE, 0, normalized);
+    }
+
+    /**
+     * Compiles the answer key of a multiple-choice question with an explicit list of options. Option {@code i}
+     * maps to bit {@code i} of a selection mask, and a submission is correct when the options it names are
+     * exactly the correct ones, in any order and whatever the number of correct options.
+     *
+     * @param options the options offered, at most 64, distinct ignoring case and not blank.
+     * @param correctAnswers the correct options, a non-empty subset of {@code options}.
+     * @return the compiled {@code AnswerMatcher}.
+     * @throws IllegalArgumentException if the options or correct answers are invalid.
+     */
+    public static AnswerMatcher forMultipleChoice(List<String> options, Collection<String> correctAnswers) {
+        if (options == null || options.isEmpty() || options.size() > Long.SIZE) {
+            throw new IllegalArgumentException("Options must be a non-empty list of at most " + Long.SIZE + " elements");
+        }
+        if (correctAnswers == null || correctAnswers.isEmpty()) {
+            throw new IllegalArgumentException("Correct answers must be a non-empty set of options");
+        }
+        List<String> normalizedOptions = new ArrayList<>(options.size());
+        for (String option : options) {
+            if (option == null || option.trim().isEmpty()) {
+                throw new IllegalArgumentException("Options cannot be null or blank");
+            }
+            String normalized = normalize(option);
+            if (normalizedOptions.contains(normalized)) {
+                throw new IllegalArgumentException("Options must be distinct ignoring case: " + option);
+            }
+            normalizedOptions.add(normalized);
+        }
+        long correctMask = 0L;
+        for (String answer : correctAnswers) {
+            int option = answer == null ? -1 : normalizedOptions.indexOf(answer.trim().toLowerCase());
+            if (option < 0) {
+                throw new IllegalArgumentException("Correct answer is not one of the options: " + answer);
+            }
+            correctMask |= 1L << option;
+        }
+        return new AnswerMatcher(normalizedOptions, normalizeOptions(correctAnswers), correctMask);
+    }
+
+    /**
+     * Normalizes an answer for storage in a key by trimming it and converting it to lower case. The result is
+     * shared with every other key holding the same answer.
+     *
+     * @param answer the answer to normalize.
+     * @return the normalized answer.
+     */
+    static String normalize(String answer) {
+        return share(answer.trim().toLowerCase());
+    }
+
+    /**
+     * Returns the shared instance of the given answer string.
+     *
+     * @param answer the answer to share.
+     * @return a string equal to {@code answer}, shared between questions where possible.
+     */
+    static String share(String answer) {
+        return ANSWERS.intern(answer, Function.identity());
+    }
+
+    /**
+     * Normalizes the correct options of a multiple-choice question the way {@link #forMultipleChoice(Collection)}
+     * does: trimmed, lower-cased, de-duplicated ignoring case and sorted.
+     *
+     * @param correctAnswers the correct options.
+     * @return an unmodifiable {@code List} of the normalized options.
+     */
+    public static List<String> normalizeOptions(Collection<String> correctAnswers) {
+        Set<String> normalized = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (String answer : correctAnswers) {
+            normalized.add(normalize(answer));
+        }
+        return List.copyOf(normalized);
+    }
+
+    /**
+     * Retrieves the normalized correct answers held by this matcher.
+     *
+     * @return an unmodifiable {@code List} of the normalized correct answers.
+     */
+    public List<String> getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    /**
+     * Retrieves the normalized options of this matcher, in bit order: the explicit option list of a selection key,
+     * otherwise the correct answers.
+     *
+     * @return an unmodifiable {@code List} of the normalized options.
+     */
+    public List<String> getOptions() {
+        return List.of(keys);
+    }
+
+    /**
+     * Retrieves the selection mask of the correct options, with bit {@code i} set when option {@code i} is correct.
+     *
+     * @return the mask of the correct options.
+     * @throws IllegalStateException if the key has more than 64 options.
+     */
+    public long getCorrectMask() {
+        checkSelectable();
+        return correctMask;
+    }
+
+    /**
+     * Parses a submission into the mask of the options it names, with bit {@code i} set when the submission names
+     * option {@code i}. Elements are separated by commas and compared trimmed and ignoring case; naming an option
+     * twice selects it once.
+     *
+     * @param answer the submitted answer, may be {@code null}.
+     * @return the selection mask, or {@code 0} if the submission is {@code null}, blank or has an element that is
+     *         not an option.
+     * @throws IllegalStateException if the key has more than 64 options.
+     */
+    public long parseSelection(String answer) {
+        checkSelectable();
+        return answer == null ? 0L : selectionOf(answer, keys, 0, keys.length);
+    }
+
+    /**
+     * Checks whether a parsed selection is exactly the set of correct options.
+     *
+     * @param selection the selection mask, as returned by {@link #parseSelection(String)}.
+     * @return {@code true} if the selection is correct, {@code false} otherwise.
+     * @throws IllegalStateException if the key has more than 64 options.
+     */
+    public boolean isSelectionCorrect(long selection) {
+        checkSelectable();
+        return selection == correctMask;
+    }
+
+    /**
+     * Checks whether the given submission matches this answer key.
+     *
+     * @param answer the submitted answer, may be {@code null}.
+     * @return {@code true} if the submission matches, {@code false} otherwise.
+     */
+    public boolean matches(String answer) {
+        if (mode == SELECTION) {
+            return answer != null && selectionOf(answer, keys, 0, keys.length) == correctMask;
+        }
+        return matches(mode, maxEdits, keys, 0, keys.length, answer);
+    }
+
+    /**
+     * Checks a submission against a key stored as a range of a shared array of normalized answers, as the
+     * columnar question store holds it.
+     *
+     * @param multipleChoice whether the key is a multiple-choice key rather than a free-response one.
+     * @param maxEdits the number of typos a free-response key accepts per element; ignored for multiple-choice.
+     * @param keys the array holding the normalized correct answers.
+     * @param first the position of the key's first answer in {@code keys}.
+     * @param count the number of answers in the key; {@code 1} for a free-response key.
+     * @param answer the submitted answer, may be {@code null}.
+     * @return {@code true} if the submission matches, {@code false} otherwise.
+     */
+    static boolean matches(boolean multipleChoice, int maxEdits, String[] keys, int first, int count, String answer) {
+        return multipleChoice ? matches(count > 1 ? SET : SINGLE, 0, keys, first, count, answer)
+                : matches(REPEATED, maxEdits, keys, first, count, answer);
+    }
+
+    /**
+     * Parses a submission into the mask of the options it names, for options stored as a range of a shared array
+     * of normalized answers, as the columnar question store holds them.
+     *
+     * @param keys the array holding the normalized options.
+     * @param first the position of option {@code 0} in {@code keys}.
+     * @param count the number of options.
+     * @param answer the submitted answer, may be {@code null}.
+     * @return the selection mask, or {@code 0} if the submission is {@code null}, blank or has an element that is
+     *         not an option.
+     * @throws IllegalStateException if there are more than 64 options.
+     */
+    static long parseSelection(String[] keys, int first, int count, String answer) {
+        if (count > Long.SIZE) {
+            throw new IllegalStateException("Selections are limited to " + Long.SIZE + " options");
+        }
+        return answer == null ? 0L : selectionOf(answer, keys, first, count);
+    }
+
+    /**
+     * Computes the selection mask of the correct options, for options and correct answers stored as ranges of a
+     * shared array of normalized answers.
+     *
+     * @param keys the array holding the normalized options and correct answers.
+     * @param first the position of option {@code 0} in {@code keys}.
+     * @param count the number of options, at most 64.
+     * @param correctFirst the position of the first correct answer in {@code keys}.
+     * @param correctCount the number of correct answers, each one of the options.
+     * @return the mask with bit {@code i} set when option {@code i} is correct.
+     */
+    static long correctMask(String[] keys, int first, int count, int correctFirst, int correctCount) {
+        long mask = 0L;
+        for (int c = correctFirst; c < correctFirst + correctCount; c++) {
+            for (int option = 0; option < count; option++) {
+                if (keys[first + option].equals(keys[c])) {
+                    mask |= 1L << option;
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    private static boolean matches(int mode, int maxEdits, String[] keys, int first, int count, String answer) {
+        if (answer == null) {
+            return false;
+        }
+        switch (mode) {
+            case SINGLE:
+                return equalsIgnoreCase(answer, 0, answer.length(), keys[first]);
+            case REPEATED:
+                return matchesEveryElement(answer, keys[first], maxEdits);
+            default:
+                return matchesKeySet(answer, keys, first, count);
+        }
+    }
+
+    private static boolean matchesEveryElement(String answer, String key, int maxEdits) {
+        int end = contentEnd(answer);
+        if (end == 0) {
+            return false;
+        }
+        int start = 0;
+        while (true) {
+            int stop = elementEnd(answer, start, end);
+            if (!equalsIgnoreCase(answer, start, stop, key)
+                    && (maxEdits == 0 || !isWithinEdits(answer, start, stop, key, maxEdits))) {
+                return false;
+            }
+            if (stop == end) {
+                return true;
+            }
+            start = stop + 1;
+        }
+    }
+
+    private static boolean matchesKeySet(String answer, String[] keys, int first, int count) {
+        if (count <= Long.SIZE) {
+            return selectionOf(answer, keys, first, count) == allOptions(count);
+        }
+        // Keys too large for a mask track the options seen in a flag array
+        int end = contentEnd(answer);
+        if (end == 0) {
+            return false;
+        }
+        boolean[] seenFlags = new boolean[count];
+        int seenCount = 0;
+        int start = 0;
+        while (true) {
+            int stop = elementEnd(answer, start, end);
+            int key = indexOfKey(answer, start, stop, keys, first, count);
+            if (key < 0) {
+                return false;
+            }
+            if (!seenFlags[key]) {
+                seenFlags[key] = true;
+                seenCount++;
+            }
+            if (stop == end) {
+                return seenCount == count;
+            }
+            start = stop + 1;
+        }
+    }
+
+    /**
+     * Parses a submission into the mask of the options it names in one pass: each element is trimmed and delimited
+     * while it is scanned, and only options of the element's length are compared with it.
+     */
+    private static long selectionOf(String answer, String[] keys, int first, int count) {
+        int end = contentEnd(answer);
+        if (end == 0) {
+            return 0L;
+        }
+        long selection = 0L;
+        int position = 0;
+        while (true) {
+            while (position < end && answer.charAt(position) <= ' ') {
+                position++;
+            }
+            int from = position;
+            int to = position;
+            while (position < end) {
+                char c = answer.charAt(position);
+                if (c == ',') {
+                    break;
+                }
+                position++;
+                if (c > ' ') {
+                    to = position;
+                }
+            }
+            int key = indexOfTrimmedKey(answer, from, to, keys, first, count);
+            if (key < 0) {
+                return 0L;
+            }
+            selection |= 1L << key;
+            if (position >= end) {
+                return selection;
+            }
+            position++;
+        }
+    }
+
+    static long allOptions(int count) {
+        return count >= Long.SIZE ? -1L : (1L << count) - 1;
+    }
+
+    private void checkSelectable() {
+        if (keys.length > Long.SIZE) {
+            throw new IllegalStateException("Selections are limited to " + Long.SIZE + " options");
+        }
+    }
+
+    private static int indexOfKey(String answer, int from, int to, String[] keys, int first, int count) {
+        while (from < to && answer.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && answer.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return indexOfTrimmedKey(answer, from, to, keys, first, count);
+    }
+
+    private static int indexOfTrimmedKey(String answer, int from, int to, String[] keys, int first, int count) {
+        int length = to - from;
+        for (int k = 0; k < count; k++) {
+            String key = keys[first + k];
+            if (key.length() != length) {
+                continue;
+            }
+            int i = 0;
+            while (i < length && Character.toLowerCase(answer.charAt(from + i)) == key.charAt(i)) {
+                i++;
+            }
+            if (i == length) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the end of the submission once trailing commas are dropped, matching the way
+     * {@code String.split} discards trailing empty elements.
+     */
+    private static int contentEnd(String answer) {
+        int end = answer.length();
+        while (end > 0 && answer.charAt(end - 1) == ',') {
+            end--;
+        }
+        return end;
+    }
+
+    private static int elementEnd(String answer, int start, int end) {
+        int comma = answer.indexOf(',', start);
+        return comma < 0 || comma > end ? end : comma;
+    }
+
+    private static boolean isWithinEdits(String answer, int from, int to, String key, int maxEdits) {
+        while (from < to && answer.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && answer.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        // An element that is blank stays wrong, however short the key
+        return to > from && EditDistance.isWithin(key, answer, from, to, maxEdits);
+    }
+
+    private static boolean equalsIgnoreCase(String answer, int from, int to, String key) {
+        while (from < to && answer.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && answer.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return to - from == key.length() && answer.regionMatches(true, from, key, 0, key.length());
+    }
+}
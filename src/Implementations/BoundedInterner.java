@@ -0,0 +1,83 @@
+package Implementations;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Bounded, lock-free cache that maps equal keys to one shared instance (the flyweight pattern).
+ * <p>
+ * The cache is a direct-mapped table with a fixed number of slots: each key hashes to exactly one slot, and a
+ * key that finds its slot taken by a different key replaces it. Memory use is therefore bounded by the slot count,
+ * lookups never lock, and frequently repeated values stay cached while one-off values are evicted. Interning is
+ * best effort: a value evicted, or created concurrently by two threads, may exist as more than one instance.
+ * </p>
+ *
+ * <p> A capacity of zero disables the cache, so every lookup creates a new value.
+ * </p>
+ *
+ * @param <K> the key type, which must implement {@code equals} and {@code hashCode}.
+ * @param <V> the type of the shared values.
+ * @author Your Name
+ */
+public final class BoundedInterner<K, V> {
+    private final AtomicReferenceArray<Entry<K, V>> slots;
+    private final int mask;
+
+    /**
+     * Constructs a {@code BoundedInterner} with at least the given number of slots.
+     *
+     * @param capacity the number of slots, rounded up to a power of two; {@code 0} disables interning.
+     * @throws IllegalArgumentException if the capacity is negative or larger than {@code 2^30}.
+     */
+    public BoundedInterner(int capacity) {
+        if (capacity < 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Interner capacity must be between 0 and 2^30");
+        }
+        int slotCount = capacity == 0 ? 0 : Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(slotCount);
+        this.mask = slotCount - 1;
+    }
+
+    /**
+     * Returns the shared value for the given key, creating and caching it if no equal key is cached.
+     *
+     * @param key the lookup key.
+     * @param factory creates the value for a key that is not cached.
+     * @return the shared value for the key.
+     */
+    public V intern(K key, Function<? super K, ? extends V> factory) {
+        if (slots.length() == 0) {
+            return factory.apply(key);
+        }
+        int hash = key.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        Entry<K, V> entry = slots.get(slot);
+        if (entry != null && entry.hash == hash && entry.key.equals(key)) {
+            return entry.value;
+        }
+        V value = factory.apply(key);
+        slots.set(slot, new Entry<>(hash, key, value));
+        return value;
+    }
+
+    /**
+     * Retrieves the number of slots of the cache.
+     *
+     * @return the maximum number of cached values.
+     */
+    public int capacity() {
+        return slots.length();
+    }
+
+    private static final class Entry<K, V> {
+        private final int hash;
+        private final K key;
+        private final V value;
+
+        Entry(int hash, K key, V value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
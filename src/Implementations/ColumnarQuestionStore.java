@@ -0,0 +1,552 @@
+package Implementations;
+
+import Interfaces.Question;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Read-only question pool that stores its questions column by column instead of as separate objects.
+ * <p>
+ * The question texts of the whole pool are packed into one UTF-8 byte arena, the question types, the typos each
+ * free-response question accepts and the size of each explicit option list into byte arrays, and the answer keys,
+ * with the option lists ahead of the correct answers of their questions, into one array of references to
+ * normalized answer strings, with an offset array per variable-length column. The answer strings themselves are
+ * shared with every other key holding the same answer, so a bank with few distinct answers holds few of them. A
+ * pool of millions of questions is then a handful of large arrays rather than a graph of questions, matchers, lists
+ * and strings for every question, and grading a question reads its type, offsets and key references from a few
+ * arrays instead of following a chain of objects.
+ * </p>
+ *
+ * <p> The store is a {@code List<Question>}, so it can be used as the question pool of a {@code QuizSystem}.
+ * {@link #get(int)} returns a new, short-lived view of the stored question each time; views of the same question
+ * are equal, and {@link #indexOf(Object)} finds the position of a view without searching. Views grade exactly like
+ * {@code FreeResponseQuestion} and {@code MultipleChoiceQuestion}; their text is decoded from the arena each time
+ * it is read.
+ * </p>
+ *
+ * <p> Stores are created with a {@link Builder} and cannot be modified afterwards.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class ColumnarQuestionStore extends AbstractList<Question> implements RandomAccess {
+    private static final byte FREE_RESPONSE = 0;
+    private static final byte MULTIPLE_CHOICE = 1;
+
+    private final int size;
+    private final byte[] types;
+    private final byte[] maxEdits;
+    private final byte[] optionCounts;
+    private final byte[] texts;
+    private final int[] textOffsets;
+    private final String[] answers;
+    private final int[] answerOffsets;
+
+    private ColumnarQuestionStore(Builder builder) {
+        this.size = builder.size;
+        this.types = Arrays.copyOf(builder.types, size);
+        this.maxEdits = Arrays.copyOf(builder.maxEdits, size);
+        this.optionCounts = Arrays.copyOf(builder.optionCounts, size);
+        this.texts = Arrays.copyOf(builder.texts, builder.textLength);
+        this.textOffsets = Arrays.copyOf(builder.textOffsets, size + 1);
+        this.answers = Arrays.copyOf(builder.answers, builder.answerCount);
+        this.answerOffsets = Arrays.copyOf(builder.answerOffsets, size + 1);
+    }
+
+    /**
+     * Copies a list of questions into a new store.
+     *
+     * @param questions the questions, which must be free-response or multiple-choice questions.
+     * @return a {@code ColumnarQuestionStore} holding the questions in the same order.
+     * @throws IllegalArgumentException if a question is of another type.
+     */
+    public static ColumnarQuestionStore copyOf(List<Question> questions) {
+        Builder builder = new Builder();
+        for (Question question : questions) {
+            builder.add(question);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a view of a stored question, equal to every other view of the same question.
+     *
+     * @param index the position of the question.
+     * @return the question.
+     * @throws IndexOutOfBoundsException if there is no question at that position.
+     */
+    @Override
+    public Question get(int index) {
+        Objects.checkIndex(index, size);
+        return new StoredQuestion(index);
+    }
+
+    /**
+     * Retrieves the position of a question in the store. Only views of this store's questions are found, and
+     * their position is read from the view.
+     *
+     * @param question the question to find.
+     * @return the position of the question, or {@code -1} if it is not a question of this store.
+     */
+    @Override
+    public int indexOf(Object question) {
+        if (question instanceof StoredQuestion && ((StoredQuestion) question).store() == this) {
+            return ((StoredQuestion) question).index;
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieves the position of a question in the store; a stored question occurs only once.
+     *
+     * @param question the question to find.
+     * @return the position of the question, or {@code -1} if it is not a question of this store.
+     */
+    @Override
+    public int lastIndexOf(Object question) {
+        return indexOf(question);
+    }
+
+    /**
+     * Retrieves the number of questions in the store.
+     *
+     * @return the number of questions.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A question of a {@code ColumnarQuestionStore}, read from the store's columns on demand.
+     */
+    public final class StoredQuestion implements Question {
+        private final int index;
+
+        private StoredQuestion(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Checks whether this is a multiple-choice question rather than a free-response question.
+         *
+         * @return {@code true} for a multiple-choice question.
+         */
+        public boolean isMultipleChoice() {
+            return types[index] == MULTIPLE_CHOICE;
+        }
+
+        /**
+         * Retrieves the number of typos this question accepts in an answer.
+         *
+         * @return the maximum number of edits, {@code 0} for exact matching and for multiple-choice questions.
+         */
+        public int getMaxEdits() {
+            return maxEdits[index];
+        }
+
+        /**
+         * Checks whether this multiple-choice question was given an explicit list of options, rather than offering
+         * exactly its correct answers.
+         *
+         * @return {@code true} if the question has an option list.
+         */
+        public boolean hasOptionList() {
+            return optionCounts[index] > 0;
+        }
+
+        /**
+         * Retrieves the normalized options of this multiple-choice question, in bit order. A question stored
+         * without an option list offers exactly its correct answers.
+         *
+         * @return an unmodifiable {@code List} of the options.
+         * @throws IllegalStateException if this is a free-response question.
+         */
+        public List<String> getOptions() {
+            checkMultipleChoice();
+            int first = answerOffsets[index];
+            return List.of(Arrays.copyOfRange(answers, first, first + optionCount()));
+        }
+
+        /**
+         * Parses a submission into the mask of the options it names, like
+         * {@link MultipleChoiceQuestion#parseSelection(String)}.
+         *
+         * @param givenAnswer the answer provided by the user, a comma-separated list of options.
+         * @return the selection mask, or {@code 0} if the answer is blank or names something that is not an option.
+         * @throws IllegalStateException if this is a free-response question or has more than 64 options.
+         */
+        public long parseSelection(String givenAnswer) {
+            checkMultipleChoice();
+            return AnswerMatcher.parseSelection(answers, answerOffsets[index], optionCount(), givenAnswer);
+        }
+
+        /**
+         * Retrieves the selection mask of the correct options.
+         *
+         * @return the mask with bit {@code i} set when option {@code i} is correct.
+         * @throws IllegalStateException if this is a free-response question or has more than 64 options.
+         */
+        public long getCorrectMask() {
+            checkMultipleChoice();
+            if (optionCount() > Long.SIZE) {
+                throw new IllegalStateException("Selections are limited to " + Long.SIZE + " options");
+            }
+            return correctMask();
+        }
+
+        /**
+         * Retrieves the question text, decoded from the store.
+         *
+         * @return the question text.
+         */
+        @Override
+        public String getQuestionText() {
+            int start = textOffsets[index];
+            return new String(texts, start, textOffsets[index + 1] - start, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Checks a submission against the stored answer key, following the rules of the question's type.
+         *
+         * @param answer the submitted answer, may be {@code null}.
+         * @return {@code true} if the answer is correct.
+         */
+        @Override
+        public boolean isAnswerCorrectOrNot(String answer) {
+            int first = answerOffsets[index];
+            if (types[index] == FREE_RESPONSE) {
+                // The correct answer as given is stored before its normalized key
+                return AnswerMatcher.matches(false, maxEdits[index], answers, first + 1, 1, answer);
+            }
+            int options = optionCounts[index];
+            if (options > 0) {
+                return answer != null && AnswerMatcher.parseSelection(answers, first, options, answer) == correctMask();
+            }
+            return AnswerMatcher.matches(true, 0, answers, first, answerOffsets[index + 1] - first, answer);
+        }
+
+        /**
+         * Retrieves the correct answers: the answer as given for a free-response question, the normalized options
+         * for a multiple-choice question.
+         *
+         * @return an unmodifiable {@code List} of the correct answers.
+         */
+        @Override
+        public List<String> getCorrectAnswers() {
+            int first = answerOffsets[index];
+            if (types[index] == FREE_RESPONSE) {
+                return List.of(answers[first]);
+            }
+            return List.of(Arrays.copyOfRange(answers, first + optionCounts[index], answerOffsets[index + 1]));
+        }
+
+        /**
+         * Checks whether another object is a view of the same stored question.
+         *
+         * @param o the object to compare with.
+         * @return {@code true} if {@code o} views the same position of the same store.
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StoredQuestion)) {
+                return false;
+            }
+            StoredQuestion other = (StoredQuestion) o;
+            return index == other.index && store() == other.store();
+        }
+
+        /**
+         * Returns a hash code computed from the store's identity and the question's position.
+         *
+         * @return the hash code.
+         */
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(store()) + index;
+        }
+
+        @Override
+        public String toString() {
+            return (isMultipleChoice() ? "Multiple Choice Question: " : "FreeResponseQuestion: ") + getQuestionText();
+        }
+
+        private ColumnarQuestionStore store() {
+            return ColumnarQuestionStore.this;
+        }
+
+        private void checkMultipleChoice() {
+            if (types[index] != MULTIPLE_CHOICE) {
+                throw new IllegalStateException("Not a multiple-choice question");
+            }
+        }
+
+        /**
+         * Retrieves the number of options: the explicit option list, otherwise the correct answers.
+         */
+        private int optionCount() {
+            int options = optionCounts[index];
+            return options > 0 ? options : answerOffsets[index + 1] - answerOffsets[index];
+        }
+
+        private long correctMask() {
+            int first = answerOffsets[index];
+            int options = optionCounts[index];
+            if (options == 0) {
+                return AnswerMatcher.allOptions(answerOffsets[index + 1] - first);
+            }
+            return AnswerMatcher.correctMask(answers, first, options, first + options, answerOffsets[index + 1] - first - options);
+        }
+    }
+
+    /**
+     * Collects questions for a {@code ColumnarQuestionStore}. Questions are validated like the question classes
+     * validate them, and answers are normalized and shared the same way.
+     */
+    public static final class Builder {
+        private int size;
+        private byte[] types = new byte[16];
+        private byte[] maxEdits = new byte[16];
+        private byte[] optionCounts = new byte[16];
+        private byte[] texts = new byte[1024];
+        private int textLength;
+        private int[] textOffsets = new int[17];
+        private String[] answers = new String[32];
+        private int answerCount;
+        private int[] answerOffsets = new int[17];
+
+        /**
+         * Adds a question of a type named as in {@code QuestionFactory.createQuestion}.
+         *
+         * @param type {@code "free"} or {@code "multiple"}, ignoring case.
+         * @param questionText the question text.
+         * @param correctOptions the correct answer of a free-response question as the first element, or the
+         *        correct options of a multiple-choice question.
+         * @return this builder.
+         * @throws IllegalArgumentException if the type is unknown or the question is invalid.
+         */
+        public Builder add(String type, String questionText, List<String> correctOptions) {
+            return add(type, questionText, correctOptions, AnswerMatcher.getDefaultMaxEdits());
+        }
+
+        /**
+         * Adds a question of a type named as in {@code QuestionFactory.createQuestion}, with the number of typos
+         * a free-response question accepts.
+         *
+         * @param type {@code "free"} or {@code "multiple"}, ignoring case.
+         * @param questionText the question text.
+         * @param correctOptions the correct answer of a free-response question as the first element, or the
+         *        correct options of a multiple-choice question.
+         * @param maxEdits the number of typos a free-response question accepts; ignored for multiple-choice.
+         * @return this builder.
+         * @throws IllegalArgumentException if the type is unknown or the question is invalid.
+         */
+        public Builder add(String type, String questionText, List<String> correctOptions, int maxEdits) {
+            if ("free".equalsIgnoreCase(type)) {
+                return addFreeResponse(questionText, correctOptions.isEmpty() ? null : correctOptions.get(0), maxEdits);
+            } else if ("multiple".equalsIgnoreCase(type)) {
+                return addMultipleChoice(questionText, correctOptions);
+            }
+            throw new IllegalArgumentException("Unknown question type: " + type);
+        }
+
+        /**
+         * Adds a copy of a free-response, multiple-choice or stored question, including the option list of a
+         * multiple-choice question.
+         *
+         * @param question the question.
+         * @return this builder.
+         * @throws IllegalArgumentException if the question is of another type.
+         */
+        public Builder add(Question question) {
+            if (question instanceof FreeResponseQuestion) {
+                return addFreeResponse(question.getQuestionText(), question.getCorrectAnswers().get(0),
+                        ((FreeResponseQuestion) question).getMaxEdits());
+            } else if (question instanceof StoredQuestion && !((StoredQuestion) question).isMultipleChoice()) {
+                return addFreeResponse(question.getQuestionText(), question.getCorrectAnswers().get(0),
+                        ((StoredQuestion) question).getMaxEdits());
+            } else if (question instanceof MultipleChoiceQuestion && ((MultipleChoiceQuestion) question).hasOptionList()) {
+                return addMultipleChoice(question.getQuestionText(), ((MultipleChoiceQuestion) question).getOptions(),
+                        question.getCorrectAnswers());
+            } else if (question instanceof StoredQuestion && ((StoredQuestion) question).hasOptionList()) {
+                return addMultipleChoice(question.getQuestionText(), ((StoredQuestion) question).getOptions(),
+                        question.getCorrectAnswers());
+            } else if (question instanceof MultipleChoiceQuestion || question instanceof StoredQuestion) {
+                return addMultipleChoice(question.getQuestionText(), question.getCorrectAnswers());
+            }
+            throw new IllegalArgumentException("Question type cannot be stored: " + question.getClass().getName());
+        }
+
+        /**
+         * Adds a free-response question that accepts the default number of typos.
+         *
+         * @param questionText the question text.
+         * @param correctAnswer the correct answer.
+         * @return this builder.
+         * @throws IllegalArgumentException if the text is {@code null} or the answer is {@code null} or blank.
+         */
+        public Builder addFreeResponse(String questionText, String correctAnswer) {
+            return addFreeResponse(questionText, correctAnswer, AnswerMatcher.getDefaultMaxEdits());
+        }
+
+        /**
+         * Adds a free-response question that accepts answers with up to {@code maxEdits} typos.
+         *
+         * @param questionText the question text.
+         * @param correctAnswer the correct answer.
+         * @param maxEdits the number of typos accepted, from {@code 0} for an exact match to {@value Byte#MAX_VALUE}.
+         * @return this builder.
+         * @throws IllegalArgumentException if the text is {@code null}, the answer is {@code null} or blank, or
+         *         {@code maxEdits} is out of range.
+         */
+        public Builder addFreeResponse(String questionText, String correctAnswer, int maxEdits) {
+            if (maxEdits < 0 || maxEdits > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Maximum number of edits must be between 0 and " + Byte.MAX_VALUE);
+            }
+            if (questionText == null) {
+                throw new IllegalArgumentException("Question text cannot be null");
+            }
+            if (correctAnswer == null || correctAnswer.trim().isEmpty()) {
+                throw new IllegalArgumentException("Correct answer cannot be null or empty");
+            }
+            append(FREE_RESPONSE, maxEdits, 0, questionText, AnswerMatcher.share(correctAnswer), AnswerMatcher.normalize(correctAnswer));
+            return this;
+        }
+
+        /**
+         * Adds a multiple-choice question.
+         *
+         * @param questionText the question text.
+         * @param correctAnswers the correct options.
+         * @return this builder.
+         * @throws IllegalArgumentException if the text is {@code null} or empty, or there are no correct options.
+         */
+        public Builder addMultipleChoice(String questionText, Collection<String> correctAnswers) {
+            if (questionText == null || questionText.isEmpty()) {
+                throw new IllegalArgumentException("Question text must be a non-empty or null value");
+            }
+            if (correctAnswers == null || correctAnswers.isEmpty()) {
+                throw new IllegalArgumentException("Correct answers must be a non-empty set containing 2 to 4 elements");
+            }
+            append(MULTIPLE_CHOICE, 0, 0, questionText, AnswerMatcher.normalizeOptions(correctAnswers).toArray(new String[0]));
+            return this;
+        }
+
+        /**
+         * Adds a multiple-choice question offering the given options, of which the correct answers are a subset,
+         * validated like {@link MultipleChoiceQuestion#MultipleChoiceQuestion(String, List, java.util.Set)}.
+         *
+         * @param questionText the question text.
+         * @param options the options offered, at most 64, distinct ignoring case and not blank.
+         * @param correctAnswers the correct options, each one of the options.
+         * @return this builder.
+         * @throws IllegalArgumentException if the text is {@code null} or empty, or the options or correct answers
+         *         are invalid.
+         */
+        public Builder addMultipleChoice(String questionText, List<String> options, Collection<String> correctAnswers) {
+            if (questionText == null || questionText.isEmpty()) {
+                throw new IllegalArgumentException("Question text must be a non-empty or null value");
+            }
+            AnswerMatcher key = AnswerMatcher.forMultipleChoice(options, correctAnswers);
+            List<String> normalizedOptions = key.getOptions();
+            List<String> correct = key.getCorrectAnswers();
+            String[] keys = new String[normalizedOptions.size() + correct.size()];
+            for (int i = 0; i < normalizedOptions.size(); i++) {
+                keys[i] = normalizedOptions.get(i);
+            }
+            for (int i = 0; i < correct.size(); i++) {
+                keys[normalizedOptions.size() + i] = correct.get(i);
+            }
+            append(MULTIPLE_CHOICE, 0, normalizedOptions.size(), questionText, keys);
+            return this;
+        }
+
+        /**
+         * Appends every question collected by another builder, after the questions of this one.
+         *
+         * @param other the builder whose questions are appended; it is left unchanged.
+         * @return this builder.
+         * @throws IllegalArgumentException if the combined question texts do not fit in one arena.
+         */
+        public Builder addAll(Builder other) {
+            ensureQuestions(other.size);
+            ensureTexts(other.textLength);
+            ensureAnswers(other.answerCount);
+            System.arraycopy(other.types, 0, types, size, other.size);
+            System.arraycopy(other.maxEdits, 0, maxEdits, size, other.size);
+            System.arraycopy(other.optionCounts, 0, optionCounts, size, other.size);
+            System.arraycopy(other.texts, 0, texts, textLength, other.textLength);
+            System.arraycopy(other.answers, 0, answers, answerCount, other.answerCount);
+            for (int i = 1; i <= other.size; i++) {
+                textOffsets[size + i] = textLength + other.textOffsets[i];
+                answerOffsets[size + i] = answerCount + other.answerOffsets[i];
+            }
+            size += other.size;
+            textLength += other.textLength;
+            answerCount += other.answerCount;
+            return this;
+        }
+
+        /**
+         * Creates a store holding the questions added so far.
+         *
+         * @return the new {@code ColumnarQuestionStore}.
+         */
+        public ColumnarQuestionStore build() {
+            return new ColumnarQuestionStore(this);
+        }
+
+        private void append(byte type, int edits, int options, String questionText, String... keys) {
+            byte[] text = questionText.getBytes(StandardCharsets.UTF_8);
+            ensureQuestions(1);
+            ensureTexts(text.length);
+            ensureAnswers(keys.length);
+            types[size] = type;
+            maxEdits[size] = (byte) edits;
+            optionCounts[size] = (byte) options;
+            System.arraycopy(text, 0, texts, textLength, text.length);
+            textLength += text.length;
+            System.arraycopy(keys, 0, answers, answerCount, keys.length);
+            answerCount += keys.length;
+            size++;
+            textOffsets[size] = textLength;
+            answerOffsets[size] = answerCount;
+        }
+
+        private void ensureQuestions(int more) {
+            if (size + more >= types.length) {
+                int capacity = Math.max(types.length * 2, size + more + 1);
+                types = Arrays.copyOf(types, capacity);
+                maxEdits = Arrays.copyOf(maxEdits, capacity);
+                optionCounts = Arrays.copyOf(optionCounts, capacity);
+                textOffsets = Arrays.copyOf(textOffsets, capacity + 1);
+                answerOffsets = Arrays.copyOf(answerOffsets, capacity + 1);
+            }
+        }
+
+        private void ensureTexts(int more) {
+            long required = (long) textLength + more;
+            if (required > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Question texts exceed the maximum store size of 2 GB");
+            }
+            if (required > texts.length) {
+                texts = Arrays.copyOf(texts, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, texts.length * 2L)));
+            }
+        }
+
+        private void ensureAnswers(int more) {
+            if (answerCount + more > answers.length) {
+                answers = Arrays.copyOf(answers, Math.max(answers.length * 2, answerCount + more));
+            }
+        }
+    }
+}
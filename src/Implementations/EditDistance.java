@@ -0,0 +1,137 @@
+package Implementations;
+
+/**
+ * Bounded edit distance check used by {@code AnswerMatcher} to accept free-response answers with typos.
+ * <p>
+ * The Levenshtein distance between a normalized key of up to 64 characters and a region of the submission is
+ * computed with Myers' bit-parallel algorithm, in Hyyr&ouml;'s formulation for global edit distance: one column of
+ * the dynamic programming matrix is encoded in two 64-bit vectors of vertical deltas, so each submitted character
+ * costs a dozen word operations whatever the key length. The check gives up as soon as the distance can no longer
+ * come back under the threshold, and submissions whose length differs from the key by more than the threshold are
+ * rejected before any work is done. Longer keys fall back to a row-by-row dynamic program with the same early exit.
+ * </p>
+ *
+ * <p> Submitted characters are lower-cased one at a time; the key must already be lower case. The match table of
+ * the key is built in a per-thread scratch array and cleared afterwards, so checks do not allocate.
+ * </p>
+ *
+ * @author Your Name
+ */
+final class EditDistance {
+    private static final int ASCII = 128;
+    private static final ThreadLocal<long[]> MATCH_TABLE = ThreadLocal.withInitial(() -> new long[ASCII]);
+
+    private EditDistance() {
+    }
+
+    /**
+     * Checks whether a region of the submission is at most {@code maxEdits} insertions, deletions or
+     * substitutions away from the key, ignoring case.
+     *
+     * @param key the normalized, lower-case key.
+     * @param text the submission.
+     * @param from the start of the region, inclusive.
+     * @param to the end of the region, exclusive.
+     * @param maxEdits the largest accepted distance.
+     * @return {@code true} if the distance is at most {@code maxEdits}.
+     */
+    static boolean isWithin(String key, String text, int from, int to, int maxEdits) {
+        int keyLength = key.length();
+        int textLength = to - from;
+        if (Math.abs(keyLength - textLength) > maxEdits) {
+            return false;
+        }
+        if (keyLength == 0 || textLength == 0) {
+            return true;
+        }
+        if (keyLength > Long.SIZE) {
+            return isWithinByRows(key, text, from, to, maxEdits);
+        }
+        long[] matches = MATCH_TABLE.get();
+        for (int i = 0; i < keyLength; i++) {
+            char c = key.charAt(i);
+            if (c < ASCII) {
+                matches[c] |= 1L << i;
+            }
+        }
+        try {
+            // Vertical deltas of the current column: all +1 in the first column, where D[i][0] = i
+            long positive = -1L;
+            long negative = 0L;
+            long last = 1L << (keyLength - 1);
+            int distance = keyLength;
+            for (int j = 0; j < textLength; j++) {
+                char c = text.charAt(from + j);
+                long equal;
+                if (c < ASCII) {
+                    equal = matches[c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c];
+                } else {
+                    equal = nonAsciiMatches(key, Character.toLowerCase(c));
+                }
+                long vertical = equal | negative;
+                long horizontal = (((equal & positive) + positive) ^ positive) | equal;
+                long horizontalPositive = negative | ~(horizontal | positive);
+                long horizontalNegative = positive & horizontal;
+                if ((horizontalPositive & last) != 0) {
+                    distance++;
+                } else if ((horizontalNegative & last) != 0) {
+                    distance--;
+                }
+                // Each remaining character can lower the distance by at most one
+                if (distance - (textLength - j - 1) > maxEdits) {
+                    return false;
+                }
+                // Shifting in a +1 keeps the top row at D[0][j] = j, as global edit distance requires
+                horizontalPositive = horizontalPositive << 1 | 1L;
+                horizontalNegative <<= 1;
+                positive = horizontalNegative | ~(vertical | horizontalPositive);
+                negative = horizontalPositive & vertical;
+            }
+            return distance <= maxEdits;
+        } finally {
+            for (int i = 0; i < keyLength; i++) {
+                char c = key.charAt(i);
+                if (c < ASCII) {
+                    matches[c] = 0L;
+                }
+            }
+        }
+    }
+
+    private static long nonAsciiMatches(String key, char c) {
+        long equal = 0L;
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) == c) {
+                equal |= 1L << i;
+            }
+        }
+        return equal;
+    }
+
+    private static boolean isWithinByRows(String key, String text, int from, int to, int maxEdits) {
+        int textLength = to - from;
+        int[] previous = new int[textLength + 1];
+        int[] current = new int[textLength + 1];
+        for (int j = 0; j <= textLength; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= key.length(); i++) {
+            char k = key.charAt(i - 1);
+            current[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= textLength; j++) {
+                int substitution = previous[j - 1] + (Character.toLowerCase(text.charAt(from + j - 1)) == k ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            // Distances never decrease from one row to the next along a path, so the row minimum is a lower bound
+            if (rowMinimum > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[textLength] <= maxEdits;
+    }
+}
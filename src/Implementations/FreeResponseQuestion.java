@@ -2,10 +2,7 @@ package Implementations;
 
 import Interfaces.Question;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.TreeSet;
 
 /**
  * Represents a free-response question, where the answer is a single correct response
@@ -14,7 +11,8 @@ import java.util.TreeSet;
  * answer, and retrieve the correct answer.
  * <p>
  * The class ensures that the correct answer is not null or empty. Answers are case-insensitive
- * and trimmed for comparison.
+ * and trimmed for comparison. The answer key is compiled once into an {@code AnswerMatcher}, so grading
+ * does not allocate. Questions can optionally accept answers within a few typos of the correct answer.
  * </p>
  *
  * <p> This class is suitable for use in quizzes or assessments where a free-text answer is required.
@@ -24,7 +22,8 @@ import java.util.TreeSet;
  */
 public class FreeResponseQuestion implements Question {
 
-    private final String[] correctAnswer;
+    private final List<String> correctAnswer;
+    private final AnswerMatcher answerMatcher;
     private final String questionText;
 
     /**
@@ -35,11 +34,26 @@ public class FreeResponseQuestion implements Question {
      * @throws IllegalArgumentException if the correct answer is null or empty.
      */
     public FreeResponseQuestion(String questionText, String correctAnswer) {
+        this(questionText, correctAnswer, AnswerMatcher.getDefaultMaxEdits());
+    }
+
+    /**
+     * Constructs a {@code FreeResponseQuestion} that accepts answers with up to {@code maxEdits} typos, that is
+     * insertions, deletions or substitutions of single characters. Swapping two adjacent characters counts as two
+     * edits.
+     *
+     * @param questionText the text of the question, must not be null or empty.
+     * @param correctAnswer the correct answer for the question, must not be null or empty.
+     * @param maxEdits the number of typos accepted; {@code 0} requires an exact match.
+     * @throws IllegalArgumentException if the correct answer is null or empty, or {@code maxEdits} is negative.
+     */
+    public FreeResponseQuestion(String questionText, String correctAnswer, int maxEdits) {
         this.questionText = questionText;
         if (correctAnswer == null || correctAnswer.trim().isEmpty()){
             throw new IllegalArgumentException("Correct answer cannot be null or empty");
         }
-        this.correctAnswer = new String[]{correctAnswer};
+        this.correctAnswer = List.of(AnswerMatcher.share(correctAnswer));
+        this.answerMatcher = AnswerMatcher.forFreeResponse(correctAnswer, maxEdits);
     }
 
     /**
@@ -52,6 +66,15 @@ public class FreeResponseQuestion implements Question {
         return questionText;
     }
 
+    /**
+     * Retrieves the number of typos this question accepts in an answer.
+     *
+     * @return the maximum number of edits, {@code 0} if answers must match exactly.
+     */
+    public int getMaxEdits() {
+        return answerMatcher.getMaxEdits();
+    }
+
     /**
      * Checks if the given answer matches the correct answer for this free-response question.
      * <p>
@@ -64,26 +87,7 @@ public class FreeResponseQuestion implements Question {
      */
     @Override
     public boolean isAnswerCorrectOrNot(String answer) {
-        if (answer == null){
-            return false;
-        }
-
-        Set<String> answerSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-        for (String answerElement : correctAnswer){
-            answerSet.add(answerElement.trim().toLowerCase());
-        }
-
-        if(answer.contains(",")){
-            String[] splitAnswers = answer.split(",");
-            Set<String> inputAnswerSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-
-            for (String ans: splitAnswers){
-                inputAnswerSet.add(ans.trim().toLowerCase());
-            }
-            return answerSet.equals(inputAnswerSet);
-        }
-        return Arrays.stream(correctAnswer).anyMatch(correctAns -> correctAns.trim().equalsIgnoreCase(answer.trim()))
-                || answerSet.contains(answer.trim().toLowerCase());
+        return answerMatcher.matches(answer);
     }
 
     /**
@@ -93,7 +97,7 @@ public class FreeResponseQuestion implements Question {
      */
     @Override
     public List<String> getCorrectAnswers() {
-        return List.of(correctAnswer);
+        return correctAnswer;
     }
 
     /**
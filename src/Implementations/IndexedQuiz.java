@@ -0,0 +1,128 @@
+package Implementations;
+
+import Interfaces.Question;
+import Interfaces.QuizGenerator;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A quiz stored as a reference to the question pool it was drawn from and the positions of its questions in
+ * that pool.
+ * <p>
+ * Systems keep every quiz a student has taken, so the size of a quiz matters more than the speed of building one.
+ * Positions are held in a {@code char[]}, two bytes per question, when the pool has at most 65,536 questions, and
+ * in an {@code int[]} otherwise; the pool itself is shared by all quizzes drawn from it. {@link #getQuestions()}
+ * returns a read-only view over the pool rather than a copy.
+ * </p>
+ *
+ * <p> The pool must not be modified while the quiz is in use. Instances are created by {@code QuizImpl}.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class IndexedQuiz implements QuizGenerator {
+    private static final int CHAR_POOL_LIMIT = Character.MAX_VALUE + 1;
+
+    private final List<Question> pool;
+    private final char[] smallIndices;
+    private final int[] largeIndices;
+
+    /**
+     * Constructs an {@code IndexedQuiz} from validated positions.
+     *
+     * @param pool the question pool.
+     * @param indices the positions of the quiz questions in the pool, in quiz order; copied.
+     */
+    IndexedQuiz(List<Question> pool, int[] indices) {
+        this.pool = pool;
+        if (pool.size() <= CHAR_POOL_LIMIT) {
+            smallIndices = new char[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                smallIndices[i] = (char) indices[i];
+            }
+            largeIndices = null;
+        } else {
+            smallIndices = null;
+            largeIndices = indices.clone();
+        }
+    }
+
+    /**
+     * Retrieves the pool the quiz was drawn from.
+     *
+     * @return the question pool, shared with other quizzes.
+     */
+    public List<Question> getPool() {
+        return pool;
+    }
+
+    /**
+     * Retrieves the number of questions in the quiz.
+     *
+     * @return the number of questions.
+     */
+    public int size() {
+        return smallIndices != null ? smallIndices.length : largeIndices.length;
+    }
+
+    /**
+     * Retrieves the pool position of one quiz question.
+     *
+     * @param position the position of the question in the quiz.
+     * @return the position of the question in the pool.
+     * @throws IndexOutOfBoundsException if the quiz has no question at that position.
+     */
+    public int getQuestionIndex(int position) {
+        return smallIndices != null ? smallIndices[position] : largeIndices[position];
+    }
+
+    /**
+     * Retrieves the questions of the quiz as a read-only view backed by the pool.
+     *
+     * @return an unmodifiable {@code List} of the quiz questions, in order.
+     */
+    @Override
+    public List<Question> getQuestions() {
+        return new QuestionView();
+    }
+
+    /**
+     * Evaluates the quiz by checking the correctness of the provided answers and returns a score.
+     *
+     * @param answers a {@code List} of {@code String} representing the answers given by the student.
+     * @return a {@code double} representing the score as the ratio of correct answers to total questions.
+     * @throws IllegalArgumentException if the answers list is empty or null, or its size differs from the number
+     *         of questions.
+     */
+    @Override
+    public double takeQuiz(List<String> answers) {
+        if (answers == null || answers.isEmpty()) {
+            throw new IllegalArgumentException("Answers should not be empty");
+        }
+        int size = size();
+        if (answers.size() != size) {
+            throw new IllegalArgumentException("Number of answers provided does not match the number of quiz questions.");
+        }
+        int correctAnswers = 0;
+        for (int i = 0; i < size; i++) {
+            if (pool.get(getQuestionIndex(i)).isAnswerCorrectOrNot(answers.get(i))) {
+                correctAnswers++;
+            }
+        }
+        return (double) correctAnswers / size;
+    }
+
+    private final class QuestionView extends AbstractList<Question> implements RandomAccess {
+        @Override
+        public Question get(int index) {
+            return pool.get(getQuestionIndex(index));
+        }
+
+        @Override
+        public int size() {
+            return IndexedQuiz.this.size();
+        }
+    }
+}
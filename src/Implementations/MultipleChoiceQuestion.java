@@ -2,11 +2,8 @@ package Implementations;
 
 import Interfaces.Question;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
 
 /**
  * Represents a multiple-choice question, where one or more correct answers can be provided.
@@ -15,6 +12,12 @@ import java.util.stream.Collectors;
  * <p>
  * The class ensures that the question text is not null or empty and that the correct answers
  * consist of a non-empty set of 2 to 4 elements. Answers are case-insensitive and trimmed for comparison.
+ * The answer key is compiled once into an {@code AnswerMatcher}, so grading does not allocate.
+ * </p>
+ *
+ * <p> A question can also be given the full list of options offered, correct or not. Each option then maps to one
+ * bit, a submission is parsed once into the mask of the options it names, and it is correct when that mask equals
+ * the mask of the correct options.
  * </p>
  *
  * <p> This class is suitable for use in quizzes or assessments where multiple answers may be correct.
@@ -23,7 +26,7 @@ import java.util.stream.Collectors;
  * @author Your Name
  */
 public class MultipleChoiceQuestion implements Question {
-    private final Set<String> correctAnswers;
+    private final AnswerMatcher answerMatcher;
     private final String questionText;
 
     /**
@@ -41,10 +44,24 @@ public class MultipleChoiceQuestion implements Question {
         if(correctAnswers == null || correctAnswers.isEmpty()) {
             throw new IllegalArgumentException("Correct answers must be a non-empty set containing 2 to 4 elements");
         }
-        this.correctAnswers = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-        for (String answer : correctAnswers){
-            this.correctAnswers.add(answer.trim().toLowerCase());
+        this.answerMatcher = AnswerMatcher.forMultipleChoice(correctAnswers);
+    }
+
+    /**
+     * Constructs a {@code MultipleChoiceQuestion} offering the given options, of which the correct answers are
+     * a subset. Option {@code i} maps to bit {@code i} of a selection mask.
+     *
+     * @param questionText the text of the question, must not be null or empty.
+     * @param options the options offered, at most 64, distinct ignoring case and not blank.
+     * @param correctAnswers a non-empty {@code Set} of correct answers, each one of the options.
+     * @throws IllegalArgumentException if the question text is null or empty, or if the options or correct answers are invalid.
+     */
+    public MultipleChoiceQuestion(String questionText, List<String> options, Set<String> correctAnswers) {
+        if(questionText == null || questionText.isEmpty()){
+            throw new IllegalArgumentException("Question text must be a non-empty or null value");
         }
+        this.questionText = questionText;
+        this.answerMatcher = AnswerMatcher.forMultipleChoice(options, correctAnswers);
     }
 
     /**
@@ -67,27 +84,7 @@ public class MultipleChoiceQuestion implements Question {
      */
     @Override
     public boolean isAnswerCorrectOrNot(String givenAnswer) {
-        if (givenAnswer == null) {
-            return false;
-        }
-
-        // Check for multiple correct answers (for multiple-choice questions)
-        if (correctAnswers.size() > 1) {
-            Set<String> correctAnswerSet = correctAnswers.stream()
-                    .map(String::trim)
-                    .map(String::toLowerCase)
-                    .collect(Collectors.toSet());
-            Set<String> givenAnswerSet = Arrays.stream(givenAnswer.split(","))
-                    .map(String::trim)
-                    .map(String::toLowerCase)
-                    .collect(Collectors.toSet());
-
-            return correctAnswerSet.equals(givenAnswerSet); // Match sets for multiple-choice answers
-        } else {
-            // For single answers (like free response questions)
-            return correctAnswers.stream()
-                    .anyMatch(correctAnswer -> correctAnswer.trim().equalsIgnoreCase(givenAnswer.trim()));
-        }
+        return answerMatcher.matches(givenAnswer);
     }
 
     /**
@@ -97,7 +94,60 @@ public class MultipleChoiceQuestion implements Question {
      */
     @Override
     public List<String> getCorrectAnswers() {
-        return List.copyOf(correctAnswers);
+        return answerMatcher.getCorrectAnswers();
+    }
+
+    /**
+     * Retrieves the normalized options of the question, in bit order. A question constructed without an option
+     * list offers exactly its correct answers.
+     *
+     * @return an unmodifiable {@code List} of the options.
+     */
+    public List<String> getOptions() {
+        return answerMatcher.getOptions();
+    }
+
+    /**
+     * Checks whether the question was given an explicit list of options, rather than offering exactly its correct
+     * answers.
+     *
+     * @return {@code true} if the options differ from the correct answers.
+     */
+    public boolean hasOptionList() {
+        return !getOptions().equals(getCorrectAnswers());
+    }
+
+    /**
+     * Parses a submission into the mask of the options it names, so it can be stored or graded as a single
+     * {@code long}.
+     *
+     * @param givenAnswer the answer provided by the user, a comma-separated list of options.
+     * @return the selection mask, or {@code 0} if the answer is blank or names something that is not an option.
+     * @throws IllegalStateException if the question has more than 64 options.
+     */
+    public long parseSelection(String givenAnswer) {
+        return answerMatcher.parseSelection(givenAnswer);
+    }
+
+    /**
+     * Retrieves the selection mask of the correct options.
+     *
+     * @return the mask with bit {@code i} set when option {@code i} is correct.
+     * @throws IllegalStateException if the question has more than 64 options.
+     */
+    public long getCorrectMask() {
+        return answerMatcher.getCorrectMask();
+    }
+
+    /**
+     * Checks whether a parsed selection is exactly the set of correct options.
+     *
+     * @param selection the selection mask returned by {@link #parseSelection(String)}.
+     * @return {@code true} if the selection is correct, {@code false} otherwise.
+     * @throws IllegalStateException if the question has more than 64 options.
+     */
+    public boolean isSelectionCorrect(long selection) {
+        return answerMatcher.isSelectionCorrect(selection);
     }
 
     /**
@@ -0,0 +1,145 @@
+package Implementations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Draws uniform random samples without replacement from a question pool.
+ * <p>
+ * Sampling uses a partial Fisher-Yates shuffle over the pool's indices, so drawing {@code k} questions
+ * takes {@code O(k)} time and memory regardless of the pool size and without retries, even when {@code k}
+ * approaches the size of the pool. The swapped indices are held in a dense array when the sample covers
+ * at least half of the pool and in a small open-addressing map otherwise.
+ * </p>
+ *
+ * <p> Each thread draws from its own {@code SplittableRandom}, split from a shared seed source, so sampling
+ * neither allocates a generator per call nor contends on a shared one.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class QuestionSampler {
+    private static final SplittableRandom SEED_SOURCE = new SplittableRandom();
+    private static final ThreadLocal<SplittableRandom> RANDOM = ThreadLocal.withInitial(QuestionSampler::splitSeedSource);
+
+    private QuestionSampler() {
+    }
+
+    private static SplittableRandom splitSeedSource() {
+        synchronized (SEED_SOURCE) {
+            return SEED_SOURCE.split();
+        }
+    }
+
+    /**
+     * Retrieves the random generator owned by the calling thread.
+     *
+     * @return the calling thread's {@code SplittableRandom}.
+     */
+    public static SplittableRandom random() {
+        return RANDOM.get();
+    }
+
+    /**
+     * Selects {@code sampleSize} distinct elements of the pool in random order.
+     *
+     * @param pool the pool to sample from.
+     * @param sampleSize the number of elements to select.
+     * @param <T> the element type.
+     * @return a new {@code List} holding the selected elements.
+     * @throws IllegalArgumentException if the sample size is negative or exceeds the size of the pool.
+     */
+    public static <T> List<T> sample(List<T> pool, int sampleSize) {
+        int[] indices = sampleIndices(pool.size(), sampleSize);
+        List<T> selected = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            selected.add(pool.get(index));
+        }
+        return selected;
+    }
+
+    /**
+     * Selects {@code sampleSize} distinct indices in {@code [0, populationSize)} in random order.
+     *
+     * @param populationSize the number of indices to choose from.
+     * @param sampleSize the number of indices to select.
+     * @return an array of the selected indices.
+     * @throws IllegalArgumentException if the sample size is negative or exceeds the population size.
+     */
+    public static int[] sampleIndices(int populationSize, int sampleSize) {
+        if (sampleSize < 0 || sampleSize > populationSize) {
+            throw new IllegalArgumentException("Sample size must be between 0 and " + populationSize + ".");
+        }
+        SplittableRandom random = RANDOM.get();
+        int[] selected = new int[sampleSize];
+        if (sampleSize * 2L >= populationSize) {
+            // Dense shuffle: the sample already costs O(populationSize)
+            int[] slots = new int[populationSize];
+            for (int i = 0; i < populationSize; i++) {
+                slots[i] = i;
+            }
+            for (int i = 0; i < sampleSize; i++) {
+                int j = i + random.nextInt(populationSize - i);
+                selected[i] = slots[j];
+                slots[j] = slots[i];
+            }
+            return selected;
+        }
+        SwapTable swaps = new SwapTable(sampleSize);
+        for (int i = 0; i < sampleSize; i++) {
+            int j = i + random.nextInt(populationSize - i);
+            selected[i] = swaps.get(j);
+            swaps.put(j, swaps.get(i));
+        }
+        return selected;
+    }
+
+    /**
+     * Open-addressing map from a position to the index currently swapped into it. Positions that were
+     * never written hold their own index.
+     */
+    private static final class SwapTable {
+        private static final int EMPTY = -1;
+        private final int[] positions;
+        private final int[] values;
+        private final int mask;
+
+        SwapTable(int expectedEntries) {
+            int capacity = Integer.highestOneBit(Math.max(4, expectedEntries * 4) - 1) << 1;
+            positions = new int[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(positions, EMPTY);
+        }
+
+        int get(int position) {
+            for (int slot = hash(position); ; slot = (slot + 1) & mask) {
+                int stored = positions[slot];
+                if (stored == position) {
+                    return values[slot];
+                }
+                if (stored == EMPTY) {
+                    return position;
+                }
+            }
+        }
+
+        void put(int position, int value) {
+            for (int slot = hash(position); ; slot = (slot + 1) & mask) {
+                int stored = positions[slot];
+                if (stored == position || stored == EMPTY) {
+                    positions[slot] = position;
+                    values[slot] = value;
+                    return;
+                }
+            }
+        }
+
+        private int hash(int position) {
+            int h = position * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.util.*;
  * Factory class for creating instances of {@code Quiz} objects.
  * This class provides a static method to generate a quiz with a random selection of questions from a question pool.
  * The number of questions in the generated quiz can be specified, and the selection process ensures no duplicates.
+ * Selection is delegated to {@code QuestionSampler}, so its cost depends only on the quiz size, not on the pool size.
  *
  * <p>
  * This class follows the Factory design pattern, encapsulating the logic for creating a {@code Quiz} object,
@@ -18,7 +19,9 @@ import java.util.*;
  * <p> The generated quiz allows the user to take the quiz by submitting answers and returns a score.
  * </p>
  *
- * <p> The quiz object returned is an anonymous implementation of the {@code Quiz} interface.
+ * <p> Quizzes drawn from a pool are {@code IndexedQuiz} objects holding only the positions of their questions;
+ * quizzes built from an explicit list of questions are an anonymous implementation of the {@code Quiz} interface.
+ * Neither copies its questions when they are read.
  * </p>
  *
  * @author Your Name
@@ -27,7 +30,8 @@ public class QuizImpl {
 
     /**
      * Creates and returns a new {@code Quiz} object with a specified number of randomly selected questions
-     * from the given question pool.
+     * from the given question pool. The quiz refers to the pool and stores only the positions of its questions,
+     * so the pool must not be modified afterwards.
      *
      * @param questionPool a {@code List} of {@code Question} objects representing the pool of available questions.
      * @param numberOfQuestions the number of questions to include in the generated quiz.
@@ -39,27 +43,50 @@ public class QuizImpl {
         if(numberOfQuestions > questionPool.size()) {
             throw new IllegalArgumentException("Number of requested questions exceeds the size of the question pool.");
         }
-        List<Question> selectedQuestion = new ArrayList<>();
-        Random random = new Random();
-        // Randomly select unique questions from the pool
-        while (selectedQuestion.size() < numberOfQuestions){
-            Question question = questionPool.get(random.nextInt(questionPool.size()));
-            if(!selectedQuestion.contains(question)){
-                selectedQuestion.add(question);
+        // Randomly select unique positions in the pool in O(numberOfQuestions)
+        return new IndexedQuiz(questionPool, QuestionSampler.sampleIndices(questionPool.size(), numberOfQuestions));
+    }
+
+    /**
+     * Creates and returns a new {@code Quiz} object made of the pool questions at the given positions, in the given
+     * order. The quiz refers to the pool and stores only the positions, so the pool must not be modified afterwards.
+     *
+     * @param questionPool a {@code List} of {@code Question} objects representing the pool of available questions.
+     * @param indices the positions of the quiz questions in the pool.
+     * @return a {@code Quiz} object containing the questions at those positions.
+     * @throws IllegalArgumentException if a position is outside the pool.
+     */
+    public static QuizGenerator createQuiz(List<Question> questionPool, int[] indices){
+        for (int index : indices) {
+            if(index < 0 || index >= questionPool.size()){
+                throw new IllegalArgumentException("Question " + index + " is outside the question pool of "
+                        + questionPool.size() + " questions.");
             }
         }
+        return new IndexedQuiz(questionPool, indices);
+    }
+
+    /**
+     * Creates and returns a new {@code Quiz} object containing exactly the given questions, in the given order.
+     * This is used to rebuild quizzes whose questions were selected earlier, for example when replaying history.
+     *
+     * @param questions a {@code List} of {@code Question} objects making up the quiz.
+     * @return a {@code Quiz} object containing the questions.
+     */
+    public static QuizGenerator createQuiz(List<Question> questions){
+        // Copied before the anonymous class, which would otherwise also keep the caller's list alive
+        List<Question> quizQuestions = List.copyOf(questions);
         // Return an anonymous implementation of the Quiz interface
         return new QuizGenerator() {
-            private final List<Question> quizQuestions = List.copyOf(selectedQuestion);
 
             /**
              * Retrieves the list of questions included in the quiz.
              *
-             * @return a {@code List} of {@code Question} objects representing the quiz questions.
+             * @return an unmodifiable {@code List} of {@code Question} objects representing the quiz questions.
              */
             @Override
             public List<Question> getQuestions() {
-                return List.copyOf(quizQuestions);
+                return quizQuestions;
             }
 
         /**
@@ -67,17 +94,22 @@ public class QuizImpl {
          *
          * @param answers a {@code List} of {@code String} representing the answers given by the student.
          * @return a {@code double} representing the score as the ratio of correct answers to total questions.
-         * @throws IllegalArgumentException if the answers list is empty or null.
+         * @throws IllegalArgumentException if the answers list is empty or null, or its size differs from the
+         *         number of questions.
          */
             @Override
             public double takeQuiz( List<String> answers) {
-                if(answers != null && answers.isEmpty()){
+                if(answers == null || answers.isEmpty()){
                     throw new IllegalArgumentException("Answers should not be empty");
                 }
+                if(answers.size() != quizQuestions.size()){
+                    throw new IllegalArgumentException("Number of answers provided does not match the number of quiz questions.");
+                }
                 int correctAnswers = 0;
                 for (int i = 0; i < quizQuestions.size(); i++) {
-                    if (quizQuestions.get(i).isAnswerCorrectOrNot(answers.get(i)));
-                    correctAnswers++;
+                    if (quizQuestions.get(i).isAnswerCorrectOrNot(answers.get(i))) {
+                        correctAnswers++;
+                    }
                 }
                 return (double) correctAnswers / quizQuestions.size();
             }
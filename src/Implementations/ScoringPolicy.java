@@ -0,0 +1,324 @@
+package Implementations;
+
+import Interfaces.Question;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Scoring engine that turns graded answers into quiz scores, with optional partial credit for multiple-choice
+ * questions, negative marking and per-question weights.
+ * <p>
+ * Every question is worth its weight, {@code 1} unless set otherwise. A correct answer earns the whole weight, a
+ * blank answer earns nothing and a wrong answer loses the penalty fraction of the weight. With partial credit, a
+ * multiple-choice question with several correct options earns a share of its weight for an incomplete answer: the
+ * share of correct options named, less the share of wrong options named. The score of a quiz is the points earned
+ * divided by the points available, and never drops below zero.
+ * </p>
+ *
+ * <p> The scoring of each question is compiled once into a {@link Rule}. All-or-nothing questions of equal weight
+ * share a single rule, so the default policy grades exactly as fast as a plain correctness check. A partial-credit
+ * rule parses a submission once into the mask of the options it names and reads its points from a table indexed
+ * by the number of correct and wrong options named; the multiple-choice questions of a {@code ColumnarQuestionStore}
+ * compile to the same rules as {@code MultipleChoiceQuestion}s. Compiled rules are kept in a bounded cache keyed by
+ * question.
+ * </p>
+ *
+ * <p> Policies are created with a {@link Builder} and cannot be modified afterwards.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class ScoringPolicy {
+    private static final int RULE_CACHE_SIZE = 1 << 14;
+    private static final ScoringPolicy ALL_OR_NOTHING = new Builder().build();
+
+    private final boolean partialCredit;
+    private final double wrongAnswerPenalty;
+    private final Map<Question, Double> weights;
+    private final Rule sharedRule;
+    private final BoundedInterner<Question, Rule> rules;
+
+    private ScoringPolicy(Builder builder) {
+        this.partialCredit = builder.partialCredit;
+        this.wrongAnswerPenalty = builder.wrongAnswerPenalty;
+        this.weights = Collections.unmodifiableMap(new HashMap<>(builder.weights));
+        this.sharedRule = new AllOrNothing(1.0, wrongAnswerPenalty);
+        this.rules = partialCredit || !weights.isEmpty() ? new BoundedInterner<>(RULE_CACHE_SIZE) : null;
+    }
+
+    /**
+     * Retrieves the default policy: every question is worth the same, answers are either right or wrong, and
+     * wrong answers cost nothing.
+     *
+     * @return the all-or-nothing {@code ScoringPolicy}.
+     */
+    public static ScoringPolicy allOrNothing() {
+        return ALL_OR_NOTHING;
+    }
+
+    /**
+     * Retrieves the compiled scoring rule of a question.
+     *
+     * @param question the question.
+     * @return the {@code Rule} scoring answers to the question.
+     */
+    public Rule ruleFor(Question question) {
+        return rules == null ? sharedRule : rules.intern(question, this::compile);
+    }
+
+    /**
+     * Scores a set of answers, one per question.
+     *
+     * @param questions the questions answered.
+     * @param answers the answers given, parallel to the questions.
+     * @return the score as the fraction of the available points earned, between {@code 0.0} and {@code 1.0}.
+     * @throws IllegalArgumentException if the answers are empty or their number does not match the questions.
+     */
+    public double score(List<Question> questions, List<String> answers) {
+        if (answers == null || answers.isEmpty()) {
+            throw new IllegalArgumentException("Answer should not be empty");
+        }
+        if (answers.size() != questions.size()) {
+            throw new IllegalArgumentException("Number of answers provided does not match the number of quiz questions.");
+        }
+        double points = 0.0;
+        double available = 0.0;
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            Rule rule = ruleFor(question);
+            points += rule.points(question, answers.get(i));
+            available += rule.getWeight();
+        }
+        return toScore(points, available);
+    }
+
+    /**
+     * Converts points earned into a score, clamped so that negative marking never makes a score negative.
+     *
+     * @param points the points earned, possibly negative.
+     * @param available the points available.
+     * @return the score, between {@code 0.0} and {@code 1.0}.
+     */
+    public static double toScore(double points, double available) {
+        return points <= 0.0 ? 0.0 : Math.min(1.0, points / available);
+    }
+
+    /**
+     * Checks whether multiple-choice questions earn partial credit under this policy.
+     *
+     * @return {@code true} if partial credit is given.
+     */
+    public boolean isPartialCredit() {
+        return partialCredit;
+    }
+
+    /**
+     * Retrieves the fraction of a question's weight lost for a wrong answer.
+     *
+     * @return the wrong-answer penalty, between {@code 0.0} and {@code 1.0}.
+     */
+    public double getWrongAnswerPenalty() {
+        return wrongAnswerPenalty;
+    }
+
+    /**
+     * Retrieves the weight of a question under this policy.
+     *
+     * @param question the question.
+     * @return the weight, {@code 1.0} unless set otherwise.
+     */
+    public double getWeight(Question question) {
+        return weights.getOrDefault(question, 1.0);
+    }
+
+    private Rule compile(Question question) {
+        double weight = getWeight(question);
+        if (partialCredit && question instanceof MultipleChoiceQuestion) {
+            MultipleChoiceQuestion multipleChoice = (MultipleChoiceQuestion) question;
+            int options = multipleChoice.getOptions().size();
+            if (options <= Long.SIZE && multipleChoice.getCorrectAnswers().size() > 1) {
+                return new CreditTable(multipleChoice::parseSelection, options, multipleChoice.getCorrectMask(),
+                        weight, wrongAnswerPenalty);
+            }
+        } else if (partialCredit && question instanceof ColumnarQuestionStore.StoredQuestion
+                && ((ColumnarQuestionStore.StoredQuestion) question).isMultipleChoice()) {
+            ColumnarQuestionStore.StoredQuestion stored = (ColumnarQuestionStore.StoredQuestion) question;
+            int options = stored.getOptions().size();
+            if (options <= Long.SIZE && stored.getCorrectAnswers().size() > 1) {
+                return new CreditTable(stored::parseSelection, options, stored.getCorrectMask(), weight, wrongAnswerPenalty);
+            }
+        }
+        return weight == 1.0 ? sharedRule : new AllOrNothing(weight, wrongAnswerPenalty);
+    }
+
+    private static boolean isBlank(String answer) {
+        return answer == null || answer.trim().isEmpty();
+    }
+
+    /**
+     * The compiled scoring of one question.
+     */
+    public abstract static class Rule {
+        private final double weight;
+
+        private Rule(double weight) {
+            this.weight = weight;
+        }
+
+        /**
+         * Retrieves the points available for the question.
+         *
+         * @return the weight of the question.
+         */
+        public final double getWeight() {
+            return weight;
+        }
+
+        /**
+         * Scores an answer to the question.
+         *
+         * @param question the question the rule was compiled for.
+         * @param answer the submitted answer, may be {@code null}.
+         * @return the points earned: the weight for a correct answer, less for a partly correct one, and zero or
+         *         less for a blank or wrong one.
+         */
+        public abstract double points(Question question, String answer);
+    }
+
+    /**
+     * Earns the whole weight for a correct answer and loses the penalty for a wrong one.
+     */
+    private static final class AllOrNothing extends Rule {
+        private final double penaltyPoints;
+
+        private AllOrNothing(double weight, double wrongAnswerPenalty) {
+            super(weight);
+            this.penaltyPoints = weight * wrongAnswerPenalty;
+        }
+
+        @Override
+        public double points(Question question, String answer) {
+            if (question.isAnswerCorrectOrNot(answer)) {
+                return getWeight();
+            }
+            return penaltyPoints == 0.0 || isBlank(answer) ? 0.0 : -penaltyPoints;
+        }
+    }
+
+    /**
+     * Reads the points of a multiple-choice answer from a table indexed by the number of correct options and the
+     * number of wrong options it names.
+     */
+    private static final class CreditTable extends Rule {
+        private final ToLongFunction<String> selections;
+        private final long correctMask;
+        private final int columns;
+        private final double penaltyPoints;
+        private final double[] table;
+
+        private CreditTable(ToLongFunction<String> selections, int options, long correctMask, double weight,
+                            double wrongAnswerPenalty) {
+            super(weight);
+            this.selections = selections;
+            this.correctMask = correctMask;
+            this.penaltyPoints = weight * wrongAnswerPenalty;
+            int correctOptions = Long.bitCount(correctMask);
+            int wrongOptions = options - correctOptions;
+            this.columns = wrongOptions + 1;
+            this.table = new double[(correctOptions + 1) * columns];
+            for (int hits = 0; hits <= correctOptions; hits++) {
+                for (int misses = 0; misses <= wrongOptions; misses++) {
+                    double share = (double) hits / correctOptions - (wrongOptions == 0 ? 0.0 : (double) misses / wrongOptions);
+                    double points;
+                    if (hits == correctOptions && misses == 0) {
+                        points = weight;
+                    } else if (share <= 0.0) {
+                        points = -penaltyPoints;
+                    } else {
+                        points = weight * share;
+                    }
+                    table[hits * columns + misses] = points;
+                }
+            }
+        }
+
+        @Override
+        public double points(Question question, String answer) {
+            long selection = selections.applyAsLong(answer);
+            if (selection == 0L) {
+                // Nothing recognisable was selected: blank answers cost nothing, anything else is wrong
+                return isBlank(answer) ? 0.0 : -penaltyPoints;
+            }
+            int hits = Long.bitCount(selection & correctMask);
+            int misses = Long.bitCount(selection & ~correctMask);
+            return table[hits * columns + misses];
+        }
+    }
+
+    /**
+     * Collects the settings of a {@code ScoringPolicy}. A new builder describes the all-or-nothing policy.
+     */
+    public static final class Builder {
+        private boolean partialCredit;
+        private double wrongAnswerPenalty;
+        private final Map<Question, Double> weights = new HashMap<>();
+
+        /**
+         * Sets whether multiple-choice questions with several correct options earn partial credit.
+         *
+         * @param partialCredit {@code true} to give partial credit.
+         * @return this builder.
+         */
+        public Builder partialCredit(boolean partialCredit) {
+            this.partialCredit = partialCredit;
+            return this;
+        }
+
+        /**
+         * Sets the fraction of a question's weight lost for a wrong answer. Blank answers are never penalized.
+         *
+         * @param wrongAnswerPenalty the penalty, between {@code 0.0} (no negative marking) and {@code 1.0}.
+         * @return this builder.
+         * @throws IllegalArgumentException if the penalty is outside that range.
+         */
+        public Builder wrongAnswerPenalty(double wrongAnswerPenalty) {
+            if (!(wrongAnswerPenalty >= 0.0 && wrongAnswerPenalty <= 1.0)) {
+                throw new IllegalArgumentException("Wrong answer penalty must be between 0.0 and 1.0");
+            }
+            this.wrongAnswerPenalty = wrongAnswerPenalty;
+            return this;
+        }
+
+        /**
+         * Sets the weight of a question, the points it is worth relative to questions of weight {@code 1}.
+         *
+         * @param question the question.
+         * @param weight the weight, positive and finite.
+         * @return this builder.
+         * @throws IllegalArgumentException if the question is {@code null} or the weight is not positive and finite.
+         */
+        public Builder weight(Question question, double weight) {
+            if (question == null) {
+                throw new IllegalArgumentException("Question cannot be null");
+            }
+            if (!(weight > 0.0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Question weight must be positive and finite");
+            }
+            weights.put(question, weight);
+            return this;
+        }
+
+        /**
+         * Creates a policy with the settings collected so far.
+         *
+         * @return the new {@code ScoringPolicy}.
+         */
+        public ScoringPolicy build() {
+            return new ScoringPolicy(this);
+        }
+    }
+}
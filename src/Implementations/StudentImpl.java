@@ -17,6 +17,7 @@ public class StudentImpl implements Student {
     private final String firstName;
     private final String lastName;
     private final Date dateOfBirth;
+    private final int hashCode;
 
     /**
      * Constructs a {@code StudentImp} object with the specified first name, last name, and date of birth.
@@ -33,6 +34,7 @@ public class StudentImpl implements Student {
         this.firstName = firstName;
         this.lastName = lastName;
         this.dateOfBirth = new Date(dateOfBirth.getTime());
+        this.hashCode = Objects.hash(firstName, lastName, this.dateOfBirth);
     }
     /**
      * Retrieves the full name of the student, combining the first name and last name.
@@ -43,6 +45,24 @@ public class StudentImpl implements Student {
     public String getFullNameOfStudent() {
         return firstName + " " + lastName;
     }
+    /**
+     * Retrieves the first name of the student.
+     *
+     * @return a {@code String} representing the first name of the student.
+     */
+    @Override
+    public String getFirstName() {
+        return firstName;
+    }
+    /**
+     * Retrieves the last name of the student.
+     *
+     * @return a {@code String} representing the last name of the student.
+     */
+    @Override
+    public String getLastName() {
+        return lastName;
+    }
     /**
      * Retrieves the date of birth of the student.
      *
@@ -63,16 +83,17 @@ public class StudentImpl implements Student {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         StudentImpl that = (StudentImpl) o;
-        return Objects.equals(firstName, that.firstName) && Objects.equals(lastName, that.lastName) && Objects.equals(dateOfBirth, that.dateOfBirth);
+        return hashCode == that.hashCode && Objects.equals(firstName, that.firstName) && Objects.equals(lastName, that.lastName) && Objects.equals(dateOfBirth, that.dateOfBirth);
     }
     /**
      * Returns the hash code for this student object based on the first name, last name, and date of birth.
+     * The details never change, so the hash code is computed once, when the student is constructed.
      *
      * @return an {@code int} representing the hash code of the object.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(firstName, lastName, dateOfBirth);
+        return hashCode;
     }
     /**
      * Returns a string representation of the student's details, including the first name, last name, and date of birth.
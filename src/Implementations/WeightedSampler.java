@@ -0,0 +1,373 @@
+package Implementations;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws weighted random samples without replacement from a fixed set of weights.
+ * <p>
+ * The weights are held in a Fenwick tree (binary indexed tree) built in {@code O(n)}, so each draw walks down the
+ * tree in {@code O(log n)} steps. The shared tree is never modified: each sample records the weight of the items it
+ * has drawn as point updates to an overlay of the tree's nodes, and reads every node as its shared value minus the
+ * overlay's. A point update touches {@code O(log n)} nodes, and the overlay is a small hash table when the sample
+ * touches few nodes and a dense array the size of the tree when it touches many. The extra weight of boosted items
+ * lives in a small Fenwick tree of its own, so a {@code k}-item sample with {@code m} boosted items costs
+ * {@code O(m log m + k (log n + log m))}. The sampler is therefore immutable and can be used by any number of
+ * threads at once; a sampler for new weights is simply built anew.
+ * </p>
+ *
+ * <p> A sample can also raise the weight of a few items for that sample only, for example the questions a particular
+ * student has missed, without copying the tree.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class WeightedSampler {
+    private static final int MAX_RETRIES = 16;
+
+    private final double[] weights;
+    private final double[] tree;
+    private final double totalWeight;
+    private final int positiveCount;
+
+    /**
+     * Constructs a {@code WeightedSampler} over the given weights; item {@code i} is drawn with probability
+     * proportional to {@code weights[i]}.
+     *
+     * @param weights the weight of each item, non-negative and finite.
+     * @throws IllegalArgumentException if a weight is negative, infinite or not a number.
+     */
+    public WeightedSampler(double[] weights) {
+        this.weights = weights.clone();
+        this.tree = new double[weights.length + 1];
+        double total = 0;
+        int positive = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double weight = weights[i];
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be non-negative and finite");
+            }
+            total += weight;
+            if (weight > 0) {
+                positive++;
+            }
+            int node = i + 1;
+            tree[node] += weight;
+            int parent = node + (node & -node);
+            if (parent < tree.length) {
+                tree[parent] += tree[node];
+            }
+        }
+        this.totalWeight = total;
+        this.positiveCount = positive;
+    }
+
+    /**
+     * Retrieves the number of items.
+     *
+     * @return the number of weights the sampler was built from.
+     */
+    public int size() {
+        return weights.length;
+    }
+
+    /**
+     * Retrieves the weight of an item.
+     *
+     * @param index the index of the item.
+     * @return the weight of the item.
+     */
+    public double getWeight(int index) {
+        return weights[index];
+    }
+
+    /**
+     * Retrieves the sum of all weights.
+     *
+     * @return the total weight.
+     */
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Draws {@code sampleSize} distinct items, each draw choosing among the remaining items with probability
+     * proportional to their weight.
+     *
+     * @param sampleSize the number of items to draw.
+     * @return the indices of the drawn items, in the order they were drawn.
+     * @throws IllegalArgumentException if the sample size is negative or exceeds the number of items with a
+     *         positive weight.
+     */
+    public int[] sample(int sampleSize) {
+        return sample(sampleSize, new int[0], new double[0]);
+    }
+
+    /**
+     * Draws {@code sampleSize} distinct items after adding extra weight to some of them for this sample only.
+     *
+     * @param sampleSize the number of items to draw.
+     * @param boostedIndices the items receiving extra weight, without duplicates.
+     * @param boosts the extra weight of each boosted item, non-negative and finite.
+     * @return the indices of the drawn items, in the order they were drawn.
+     * @throws IllegalArgumentException if the boosts are invalid, or the sample size is negative or exceeds the
+     *         number of items with a positive weight.
+     */
+    public int[] sample(int sampleSize, int[] boostedIndices, double[] boosts) {
+        Boosts extra = new Boosts(boostedIndices, boosts, weights);
+        int available = positiveCount + extra.zeroWeightBoosted;
+        if (sampleSize < 0 || sampleSize > available) {
+            throw new IllegalArgumentException("Sample size must be between 0 and " + available + ".");
+        }
+        SplittableRandom random = QuestionSampler.random();
+        int[] selected = new int[sampleSize];
+        Removed removed = new Removed(sampleSize);
+        for (int s = 0; s < sampleSize; s++) {
+            int index = draw(random, removed, extra);
+            selected[s] = index;
+            removed.add(index, weights[index]);
+            extra.remove(index);
+        }
+        return selected;
+    }
+
+    private int draw(SplittableRandom random, Removed removed, Boosts extra) {
+        for (int attempt = 0; attempt < MAX_RETRIES; attempt++) {
+            double treeRemaining = Math.max(0, totalWeight - removed.total);
+            double boostRemaining = extra.remaining;
+            double target = random.nextDouble() * (treeRemaining + boostRemaining);
+            int index = target < boostRemaining ? extra.find(target) : descend(target - boostRemaining, removed);
+            // Rounding can land on an item that is already drawn or weightless; draw again if it does
+            if (index >= 0 && index < weights.length && !removed.contains(index)
+                    && (weights[index] > 0 || extra.boostOf(index) > 0)) {
+                return index;
+            }
+        }
+        return scan(removed, extra);
+    }
+
+    /**
+     * Finds the item at the given position of the cumulative weights, reading every node through the weights
+     * removed by the sample.
+     */
+    private int descend(double target, Removed removed) {
+        int position = 0;
+        for (int step = Integer.highestOneBit(Math.max(1, weights.length)); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length) {
+                double mass = tree[next] - removed.nodes.get(next);
+                if (mass <= target) {
+                    position = next;
+                    target -= mass;
+                }
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Fallback for repeated rounding failures: the remaining item with the largest weight.
+     */
+    private int scan(Removed removed, Boosts extra) {
+        int best = -1;
+        double bestWeight = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double weight = weights[i] + extra.boostOf(i);
+            if (weight > bestWeight && !removed.contains(i)) {
+                best = i;
+                bestWeight = weight;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Items drawn so far, and the weight they take out of each node of the shared tree.
+     */
+    private final class Removed {
+        private final Deltas drawn;
+        private final Deltas nodes;
+        private double total;
+
+        Removed(int capacity) {
+            int depth = 32 - Integer.numberOfLeadingZeros(tree.length);
+            drawn = new Deltas(capacity, weights.length);
+            nodes = new Deltas((int) Math.min(Integer.MAX_VALUE, (long) capacity * depth), tree.length);
+        }
+
+        void add(int index, double weight) {
+            drawn.add(index, 1);
+            if (weight > 0) {
+                for (int node = index + 1; node < tree.length; node += node & -node) {
+                    nodes.add(node, weight);
+                }
+                total += weight;
+            }
+        }
+
+        boolean contains(int index) {
+            return drawn.get(index) != 0;
+        }
+    }
+
+    /**
+     * Extra weights of the boosted items that have not been drawn yet, in a small Fenwick tree of their own over
+     * the boosted items sorted by index.
+     */
+    private static final class Boosts {
+        private final int[] indices;
+        private final double[] boosts;
+        private final double[] tree;
+        private double remaining;
+        private final int zeroWeightBoosted;
+
+        Boosts(int[] boostedIndices, double[] extraWeights, double[] weights) {
+            if (boostedIndices.length != extraWeights.length) {
+                throw new IllegalArgumentException("Every boosted index needs exactly one boost");
+            }
+            // Sorted by index so a boost is found by binary search
+            Integer[] order = new Integer[boostedIndices.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(boostedIndices[a], boostedIndices[b]));
+            indices = new int[order.length];
+            boosts = new double[order.length];
+            tree = new double[order.length + 1];
+            int zeroWeight = 0;
+            for (int i = 0; i < order.length; i++) {
+                int index = boostedIndices[order[i]];
+                double boost = extraWeights[order[i]];
+                if (!(boost >= 0) || Double.isInfinite(boost)) {
+                    throw new IllegalArgumentException("Boosts must be non-negative and finite");
+                }
+                if (index < 0 || index >= weights.length) {
+                    throw new IllegalArgumentException("Boosted index out of range: " + index);
+                }
+                if (i > 0 && indices[i - 1] == index) {
+                    throw new IllegalArgumentException("Duplicate boosted index: " + index);
+                }
+                indices[i] = index;
+                boosts[i] = boost;
+                remaining += boost;
+                if (boost > 0 && weights[index] == 0) {
+                    zeroWeight++;
+                }
+                int node = i + 1;
+                tree[node] += boost;
+                int parent = node + (node & -node);
+                if (parent < tree.length) {
+                    tree[parent] += tree[node];
+                }
+            }
+            zeroWeightBoosted = zeroWeight;
+        }
+
+        /**
+         * Finds the boosted item at the given position of the cumulative boosts, or {@code -1} if rounding
+         * carries the position past the last one.
+         */
+        int find(double target) {
+            int position = 0;
+            for (int step = Integer.highestOneBit(Math.max(1, indices.length)); step > 0; step >>= 1) {
+                int next = position + step;
+                if (next < tree.length && tree[next] <= target) {
+                    position = next;
+                    target -= tree[next];
+                }
+            }
+            return position < indices.length ? indices[position] : -1;
+        }
+
+        double boostOf(int index) {
+            int found = Arrays.binarySearch(indices, index);
+            return found >= 0 ? boosts[found] : 0;
+        }
+
+        void remove(int index) {
+            int found = Arrays.binarySearch(indices, index);
+            if (found >= 0 && boosts[found] > 0) {
+                for (int node = found + 1; node < tree.length; node += node & -node) {
+                    tree[node] -= boosts[found];
+                }
+                remaining = Math.max(0, remaining - boosts[found]);
+                boosts[found] = 0;
+            }
+        }
+    }
+
+    /**
+     * Values added to a range of positions, all {@code 0} until changed. Few expected changes are kept in an
+     * open-addressing hash table; many are kept in a dense array, which is then cheaper than the table.
+     */
+    private static final class Deltas {
+        private final double[] dense;
+        private int[] keys;
+        private double[] values;
+        private int count;
+
+        Deltas(int expected, int range) {
+            if ((long) expected * 4 >= range) {
+                dense = new double[range];
+            } else {
+                dense = null;
+                int capacity = Integer.highestOneBit(Math.max(8, expected * 2 - 1)) << 1;
+                keys = new int[capacity];
+                values = new double[capacity];
+            }
+        }
+
+        double get(int key) {
+            if (dense != null) {
+                return dense[key];
+            }
+            int slot = find(key);
+            return keys[slot] == 0 ? 0 : values[slot];
+        }
+
+        void add(int key, double delta) {
+            if (dense != null) {
+                dense[key] += delta;
+                return;
+            }
+            int slot = find(key);
+            if (keys[slot] == 0) {
+                keys[slot] = key + 1;
+                values[slot] = delta;
+                if (++count * 2 > keys.length) {
+                    grow();
+                }
+            } else {
+                values[slot] += delta;
+            }
+        }
+
+        /**
+         * Finds the slot holding the key, or the empty slot where it belongs. Keys are stored plus one, so that
+         * {@code 0} marks an empty slot.
+         */
+        private int find(int key) {
+            int mask = keys.length - 1;
+            int hash = (key + 1) * 0x9E3779B9;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (keys[slot] != 0 && keys[slot] != key + 1) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            double[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new double[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = find(oldKeys[i] - 1);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+}
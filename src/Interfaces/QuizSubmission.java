@@ -0,0 +1,54 @@
+package Interfaces;
+
+import java.util.List;
+
+/**
+ * Represents a single answer sheet submitted for grading: the student, the quiz taken, and the answers given.
+ * <p>
+ * Submissions are the unit of work of batch grading, where many answer sheets are graded together once
+ * an exam window closes.
+ * </p>
+ *
+ * @author Your Name
+ */
+public class QuizSubmission {
+    private final Student student;
+    private final QuizGenerator quiz;
+    private final List<String> answers;
+    /**
+     * Constructs a {@code QuizSubmission} with the specified student, quiz and answers.
+     *
+     * @param student the {@code Student} who took the quiz.
+     * @param quiz the {@code Quiz} object representing the quiz taken.
+     * @param answers a {@code List} of {@code String} representing the answers given by the student.
+     */
+    public QuizSubmission(Student student, QuizGenerator quiz, List<String> answers){
+        this.student = student;
+        this.quiz = quiz;
+        this.answers = answers;
+    }
+    /**
+     * Retrieves the student who made this submission.
+     *
+     * @return the {@code Student} who took the quiz.
+     */
+    public Student getStudent(){
+        return student;
+    }
+    /**
+     * Retrieves the quiz associated with this submission.
+     *
+     * @return the {@code Quiz} object representing the quiz taken.
+     */
+    public QuizGenerator getQuiz(){
+        return quiz;
+    }
+    /**
+     * Retrieves the answers given in this submission.
+     *
+     * @return a {@code List} of {@code String} representing the answers given by the student.
+     */
+    public List<String> getAnswers(){
+        return answers;
+    }
+}
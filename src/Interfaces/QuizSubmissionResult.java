@@ -0,0 +1,75 @@
+package Interfaces;
+
+/**
+ * Represents the outcome of grading one {@code QuizSubmission}: either the score achieved or the error
+ * that prevented the submission from being graded, such as an exhausted attempt limit.
+ *
+ * @author Your Name
+ */
+public class QuizSubmissionResult {
+    private final QuizSubmission submission;
+    private final double score;
+    private final RuntimeException error;
+
+    private QuizSubmissionResult(QuizSubmission submission, double score, RuntimeException error){
+        this.submission = submission;
+        this.score = score;
+        this.error = error;
+    }
+    /**
+     * Creates the result of a successfully graded submission.
+     *
+     * @param submission the graded {@code QuizSubmission}.
+     * @param score the score achieved, between 0.0 and 1.0.
+     * @return a successful {@code QuizSubmissionResult}.
+     */
+    public static QuizSubmissionResult graded(QuizSubmission submission, double score){
+        return new QuizSubmissionResult(submission, score, null);
+    }
+    /**
+     * Creates the result of a submission that was rejected.
+     *
+     * @param submission the rejected {@code QuizSubmission}.
+     * @param error the exception describing why the submission was rejected.
+     * @return a failed {@code QuizSubmissionResult}.
+     */
+    public static QuizSubmissionResult failed(QuizSubmission submission, RuntimeException error){
+        return new QuizSubmissionResult(submission, Double.NaN, error);
+    }
+    /**
+     * Retrieves the submission this result belongs to.
+     *
+     * @return the {@code QuizSubmission} that was graded.
+     */
+    public QuizSubmission getSubmission(){
+        return submission;
+    }
+    /**
+     * Checks whether the submission was graded successfully.
+     *
+     * @return {@code true} if a score is available, {@code false} if the submission was rejected.
+     */
+    public boolean isGraded(){
+        return error == null;
+    }
+    /**
+     * Retrieves the score achieved by the submission.
+     *
+     * @return the score as a {@code double}.
+     * @throws IllegalStateException if the submission was rejected.
+     */
+    public double getScore(){
+        if(error != null){
+            throw new IllegalStateException("Submission was not graded: " + error.getMessage(), error);
+        }
+        return score;
+    }
+    /**
+     * Retrieves the error that caused the submission to be rejected.
+     *
+     * @return the exception, or {@code null} if the submission was graded.
+     */
+    public RuntimeException getError(){
+        return error;
+    }
+}
@@ -18,6 +18,18 @@ public interface Student {
      * @return the full name of the student as a {@code String}.
      */
     String getFullNameOfStudent();
+    /**
+     * Retrieves the first name of the student.
+     *
+     * @return the first name of the student as a {@code String}.
+     */
+    String getFirstName();
+    /**
+     * Retrieves the last name of the student.
+     *
+     * @return the last name of the student as a {@code String}.
+     */
+    String getLastName();
     /**
      * Retrieves the date of birth of the student.
      *
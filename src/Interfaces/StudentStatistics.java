@@ -17,13 +17,13 @@ public interface StudentStatistics {
     /**
      * Adds a new quiz score to the student's record.
      *
-     * @param score the score to be added as a {@code double}.
+     * @param score the score to be added as a {@code double}, the fraction of the quiz's points earned.
      */
     void addQuizScore(double score);
     /**
      * Adds a new revision score to the student's record.
      *
-     * @param score the score to be added as a {@code double}.
+     * @param score the score to be added as a {@code double}, the fraction of the revision quiz's points earned.
      */
     void addRevisionScore(double score);
     /**
@@ -44,6 +44,32 @@ public interface StudentStatistics {
      * @return a {@code List} of {@code Double} containing the quiz scores.
      */
     List<Double> getQuizScores();
+    /**
+     * Retrieves a single quiz score without boxing.
+     *
+     * @param attempt the zero-based index of the quiz attempt.
+     * @return a {@code double} representing the score of that attempt.
+     * @throws IndexOutOfBoundsException if no quiz with that index was recorded.
+     */
+    double getQuizScore(int attempt);
+    /**
+     * Retrieves all quiz scores as a primitive array.
+     *
+     * @return a new {@code double[]} containing the quiz scores in the order they were recorded.
+     */
+    double[] getQuizScoreArray();
+    /**
+     * Retrieves the highest quiz score recorded for the student.
+     *
+     * @return a {@code double} representing the best quiz score, or {@code NaN} if no quiz was taken.
+     */
+    double getHighestQuizScore();
+    /**
+     * Retrieves the lowest quiz score recorded for the student.
+     *
+     * @return a {@code double} representing the lowest quiz score, or {@code NaN} if no quiz was taken.
+     */
+    double getLowestQuizScore();
     /**
      * Retrieves the most recent quiz score of the student.
      *
@@ -1,16 +1,26 @@
 package JunitTesting;
 
+import Factory.QuestionBankLoader;
 import Factory.QuestionFactory;
+import Implementations.ColumnarQuestionStore;
+import Implementations.IndexedQuiz;
 import Implementations.QuizImpl;
 import Factory.StudentFactory;
+import Implementations.QuestionSampler;
+import Implementations.WeightedSampler;
 import Interfaces.Question;
 import Interfaces.QuizGenerator;
 import Interfaces.Student;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.GregorianCalendar;
+import java.util.HashSet;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -96,4 +106,263 @@ public class FactoryTest {
             QuizImpl.createQuiz(questions, 2);
         });
     }
+
+    /**
+     * Tests that a quiz covering the whole question pool contains every question exactly once.
+     */
+    @Test
+    public void testQuizFactoryWholePool(){
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            questions.add(QuestionFactory.createQuestion("free", "Question " + i, List.of("Answer " + i)));
+        }
+        QuizGenerator quiz = QuizImpl.createQuiz(questions, questions.size());
+        assertEquals(new HashSet<>(questions), new HashSet<>(quiz.getQuestions()));
+    }
+
+    /**
+     * Tests that a quiz built from pool positions holds the pool questions in the given order, stores them as
+     * positions, and does not allow its questions to be modified.
+     */
+    @Test
+    public void testQuizFactoryFromPoolIndices(){
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            questions.add(QuestionFactory.createQuestion("free", "Question " + i, List.of("Answer " + i)));
+        }
+        QuizGenerator quiz = QuizImpl.createQuiz(questions, new int[]{3, 0, 4});
+        assertEquals(List.of(questions.get(3), questions.get(0), questions.get(4)), quiz.getQuestions());
+        assertTrue(quiz instanceof IndexedQuiz);
+        assertEquals(4, ((IndexedQuiz) quiz).getQuestionIndex(2));
+        assertThrows(UnsupportedOperationException.class, () -> quiz.getQuestions().set(0, questions.get(1)));
+        assertThrows(IllegalArgumentException.class, () -> QuizImpl.createQuiz(questions, new int[]{5}));
+    }
+
+    /**
+     * Tests that quizzes score only the correct answers, both when built from question objects and from pool
+     * positions, and reject missing answers or a wrong number of them.
+     */
+    @Test
+    public void testQuizScoresWrongAnswers(){
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            questions.add(QuestionFactory.createQuestion("free", "Question " + i, List.of("Answer " + i)));
+        }
+        QuizGenerator indexed = QuizImpl.createQuiz(questions, new int[]{2, 0});
+        assertEquals(0.0, indexed.takeQuiz(List.of("x", "y")), 0.0);
+        assertEquals(0.5, indexed.takeQuiz(List.of("Answer 2", "y")), 0.0);
+        assertEquals(1.0, indexed.takeQuiz(List.of("Answer 2", "Answer 0")), 0.0);
+        assertThrows(IllegalArgumentException.class, () -> indexed.takeQuiz(null));
+        assertThrows(IllegalArgumentException.class, () -> indexed.takeQuiz(List.of("Answer 2")));
+
+        QuizGenerator quiz = QuizImpl.createQuiz(questions);
+        List<String> answers = new ArrayList<>();
+        for (Question question : quiz.getQuestions()) {
+            answers.add(question == questions.get(1) ? question.getCorrectAnswers().get(0) : "wrong");
+        }
+        assertEquals(0.25, quiz.takeQuiz(answers), 0.0);
+        assertThrows(IllegalArgumentException.class, () -> quiz.takeQuiz(null));
+        assertThrows(IllegalArgumentException.class, () -> quiz.takeQuiz(answers.subList(0, 3)));
+    }
+
+    /**
+     * Tests that questions loaded into a {@code ColumnarQuestionStore} are equal across views and grade, and report
+     * their text and answers, exactly like the question objects loaded from the same bank.
+     */
+    @Test
+    public void testColumnarQuestionStoreMatchesQuestionObjects() throws IOException {
+        Path bank = Files.createTempFile("question-bank", ".csv");
+        try {
+            Files.writeString(bank, "free,What is the capital of France?,Paris\n"
+                    + "multiple,\"Which are vowels, not consonants?\",a,E,i,a\n"
+                    + "multiple,Which is the largest planet?,Jupiter\n"
+                    + "free,Wie hei\u00dft die Hauptstadt \u00d6sterreichs?,Wien\n"
+                    + "free:1,What is the capital of Japan?,Tokyo\n", StandardCharsets.UTF_8);
+            List<Question> objects = QuestionBankLoader.load(bank);
+            ColumnarQuestionStore store = QuestionBankLoader.loadColumnar(bank);
+
+            assertEquals(objects.size(), store.size());
+            assertEquals(store.get(1), store.get(1));
+            assertEquals(store.get(1).hashCode(), store.get(1).hashCode());
+            assertNotEquals(store.get(1), store.get(2));
+            assertNotEquals(store.get(1), ColumnarQuestionStore.copyOf(store).get(1));
+            assertEquals(1, store.indexOf(store.get(1)));
+            assertEquals(-1, store.indexOf(objects.get(1)));
+            List<String> submissions = Arrays.asList(null, "", "paris", " PARIS , paris", "paris,berlin", "i, e, a",
+                    "a,e", "a,e,i,", "jupiter", "JUPITER,jupiter", "wien", "Wien,,", "tokio", "Tokio, tokyo", "kyoto");
+            for (int i = 0; i < objects.size(); i++) {
+                Question expected = objects.get(i);
+                Question stored = store.get(i);
+                assertEquals(expected.getQuestionText(), stored.getQuestionText());
+                assertEquals(expected.getCorrectAnswers(), stored.getCorrectAnswers());
+                for (String submission : submissions) {
+                    assertEquals(expected.isAnswerCorrectOrNot(submission), stored.isAnswerCorrectOrNot(submission));
+                }
+            }
+            assertTrue(store.get(4).isAnswerCorrectOrNot("tokio"));
+            ColumnarQuestionStore copy = ColumnarQuestionStore.copyOf(objects);
+            assertTrue(copy.get(4).isAnswerCorrectOrNot("tokio"));
+            assertFalse(copy.get(3).isAnswerCorrectOrNot("wein"));
+            assertEquals(store.get(3).getQuestionText(), copy.get(3).getQuestionText());
+            assertEquals(store.get(1).getCorrectAnswers(), copy.get(1).getCorrectAnswers());
+            assertThrows(UnsupportedOperationException.class, () -> store.add(objects.get(0)));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new ColumnarQuestionStore.Builder().addFreeResponse("Blank answer?", " "));
+            Files.writeString(bank, "multiple:1,Which is the largest planet?,Jupiter\n", StandardCharsets.UTF_8);
+            assertThrows(IllegalArgumentException.class, () -> QuestionBankLoader.load(bank));
+            Files.writeString(bank, "free:-1,What is the capital of Japan?,Tokyo\n", StandardCharsets.UTF_8);
+            assertThrows(IllegalArgumentException.class, () -> QuestionBankLoader.loadColumnar(bank));
+        } finally {
+            Files.delete(bank);
+        }
+    }
+
+    /**
+     * Tests that the {@code QuestionSampler} returns distinct in-range indices, both for small samples from a
+     * large population and for samples covering most of the population.
+     */
+    @Test
+    public void testQuestionSamplerSelectsDistinctIndices(){
+        int[][] cases = {{1_000_000, 1_000}, {1_000, 999}, {10, 0}, {1, 1}};
+        for (int[] sampleCase : cases) {
+            int[] indices = QuestionSampler.sampleIndices(sampleCase[0], sampleCase[1]);
+            HashSet<Integer> distinct = new HashSet<>();
+            for (int index : indices) {
+                assertTrue(index >= 0 && index < sampleCase[0]);
+                distinct.add(index);
+            }
+            assertEquals(sampleCase[1], distinct.size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> QuestionSampler.sampleIndices(5, 6));
+    }
+
+    /**
+     * Tests that the {@code WeightedSampler} draws distinct items with positive weight, in proportion to their
+     * weights, and that boosts apply to a single sample only.
+     */
+    @Test
+    public void testWeightedSamplerDrawsByWeight(){
+        WeightedSampler sampler = new WeightedSampler(new double[]{1, 0, 3, 0, 0});
+        int[] counts = new int[5];
+        for (int i = 0; i < 40_000; i++) {
+            counts[sampler.sample(1)[0]]++;
+        }
+        assertEquals(0, counts[1] + counts[3] + counts[4]);
+        assertEquals(0.75, counts[2] / 40_000.0, 0.02);
+        int[] both = sampler.sample(2);
+        assertEquals(new HashSet<>(List.of(0, 2)), new HashSet<>(List.of(both[0], both[1])));
+        assertThrows(IllegalArgumentException.class, () -> sampler.sample(3));
+
+        int[] boostedCounts = new int[5];
+        for (int i = 0; i < 40_000; i++) {
+            boostedCounts[sampler.sample(1, new int[]{0, 4}, new double[]{3, 4})[0]]++;
+        }
+        assertEquals(4 / 11.0, boostedCounts[4] / 40_000.0, 0.02);
+        assertEquals(4 / 11.0, boostedCounts[0] / 40_000.0, 0.02);
+        assertEquals(3, sampler.sample(3, new int[]{4}, new double[]{1}).length);
+        assertThrows(IllegalArgumentException.class, () -> sampler.sample(1, new int[]{1, 1}, new double[]{1, 1}));
+
+        double[] weights = new double[100_000];
+        Arrays.fill(weights, 1e-3);
+        weights[123] = 1e6;
+        int[] large = new WeightedSampler(weights).sample(1_000);
+        assertEquals(123, large[0]);
+        HashSet<Integer> distinct = new HashSet<>();
+        for (int index : large) {
+            distinct.add(index);
+        }
+        assertEquals(1_000, distinct.size());
+
+        // Few draws from a large pool keep their changes in a hash table, drawing every item in a dense array
+        double[] pool = new double[1 << 20];
+        Arrays.fill(pool, 1.0);
+        int[] boosted = {5, 77, 1 << 19};
+        int[] small = new WeightedSampler(pool).sample(300, boosted, new double[]{1e12, 1e12, 1e12});
+        assertEquals(new HashSet<>(List.of(5, 77, 1 << 19)), new HashSet<>(List.of(small[0], small[1], small[2])));
+        distinct.clear();
+        for (int index : small) {
+            distinct.add(index);
+        }
+        assertEquals(300, distinct.size());
+        int[] all = new WeightedSampler(Arrays.copyOf(pool, 5_000)).sample(5_000, new int[]{4_999}, new double[]{2});
+        distinct.clear();
+        for (int index : all) {
+            distinct.add(index);
+        }
+        assertEquals(5_000, distinct.size());
+    }
+
+    /**
+     * Tests that the {@code QuestionBankLoader} reads both question types, quoted fields with commas and quotes,
+     * comments, blank lines and Windows line endings.
+     */
+    @Test
+    public void testQuestionBankLoader() throws IOException {
+        Path bank = Files.createTempFile("question-bank", ".csv");
+        try {
+            Files.writeString(bank, "# type,question,answers\r\n"
+                    + "free,What is the capital of France?,Paris\r\n"
+                    + "\n"
+                    + "multiple,\"Which are vowels, not consonants?\",a,e,i\n"
+                    + "free,\"Who wrote \"\"Hamlet\"\"?\",\"Shakespeare, William\"", StandardCharsets.UTF_8);
+            List<Question> questions = QuestionBankLoader.load(bank);
+
+            assertEquals(3, questions.size());
+            assertEquals("What is the capital of France?", questions.get(0).getQuestionText());
+            assertTrue(questions.get(0).isAnswerCorrectOrNot("paris"));
+            assertEquals("Which are vowels, not consonants?", questions.get(1).getQuestionText());
+            assertTrue(questions.get(1).isAnswerCorrectOrNot("i, e, a"));
+            assertEquals("Who wrote \"Hamlet\"?", questions.get(2).getQuestionText());
+            assertEquals(List.of("Shakespeare, William"), questions.get(2).getCorrectAnswers());
+        } finally {
+            Files.delete(bank);
+        }
+    }
+
+    /**
+     * Tests that a bank large enough to be parsed in several chunks is loaded completely and in file order,
+     * and that a malformed record is rejected.
+     */
+    @Test
+    public void testQuestionBankLoaderLargeAndMalformedBanks() throws IOException {
+        Path bank = Files.createTempFile("question-bank", ".csv");
+        try {
+            StringBuilder content = new StringBuilder();
+            int count = 250_000;
+            for (int i = 0; i < count; i++) {
+                content.append("free,Synthetic question number ").append(i).append(",Answer ").append(i).append('\n');
+            }
+            Files.writeString(bank, content, StandardCharsets.UTF_8);
+            List<Question> questions = QuestionBankLoader.load(bank);
+            assertEquals(count, questions.size());
+            for (int i = 0; i < count; i += 9_973) {
+                assertEquals("Synthetic question number " + i, questions.get(i).getQuestionText());
+            }
+
+            Files.writeString(bank, "free,A question without an answer\n", StandardCharsets.UTF_8);
+            assertThrows(IllegalArgumentException.class, () -> QuestionBankLoader.load(bank));
+        } finally {
+            Files.delete(bank);
+        }
+    }
+
+    /**
+     * Tests that the {@code QuestionFactory} returns a shared instance for equal questions, distinct instances for
+     * questions that differ in type, text or answers, and shares normalized answer strings across questions.
+     */
+    @Test
+    public void testQuestionFactoryInterning(){
+        Question first = QuestionFactory.createQuestion("multiple", "Which are true?", List.of("True", "yes"));
+        Question second = QuestionFactory.createQuestion("MULTIPLE", "Which are true?", List.of(" yes", "true "));
+        Question otherAnswers = QuestionFactory.createQuestion("multiple", "Which are true?", List.of("true", "no"));
+        Question otherText = QuestionFactory.createQuestion("multiple", "Which are correct?", List.of("true", "yes"));
+        Question freeResponse = QuestionFactory.createQuestion("free", "Which are true?", List.of("true"));
+
+        assertSame(first, second);
+        assertNotSame(first, otherAnswers);
+        assertNotSame(first, otherText);
+        assertNotSame(freeResponse, QuestionFactory.createQuestion("multiple", "Which are true?", List.of("true")));
+        assertSame(first.getCorrectAnswers().get(0), otherAnswers.getCorrectAnswers().get(1));
+        assertSame(first.getCorrectAnswers().get(0), freeResponse.getCorrectAnswers().get(0));
+    }
 }
@@ -5,10 +5,17 @@ import Implementations.MultipleChoiceQuestion;
 import Interfaces.Question;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -124,4 +131,205 @@ public class QuestionTest {
         MultipleChoiceQuestion question = new MultipleChoiceQuestion("Which are vowels?", Set.of("a", "e", "i"));
         assertTrue(question.isAnswerCorrectOrNot("a, e, i"));
     }
+
+    /**
+     * Tests that trailing commas and repeated elements are graded the same way as the original
+     * split-based free-response grading.
+     */
+    @Test
+    public void testFreeResponseQuestionCommaSeparatedRepeats(){
+        FreeResponseQuestion question = new FreeResponseQuestion("What is the capital of France?", "Paris");
+        assertTrue(question.isAnswerCorrectOrNot("Paris,"));
+        assertTrue(question.isAnswerCorrectOrNot(" paris , PARIS "));
+        assertFalse(question.isAnswerCorrectOrNot(",Paris"));
+        assertFalse(question.isAnswerCorrectOrNot(","));
+    }
+
+    /**
+     * Tests that a free-response question with a typo bound accepts answers within that many edits, per
+     * comma-separated element, and still rejects blank and distant answers.
+     */
+    @Test
+    public void testFreeResponseQuestionToleratesTypos(){
+        FreeResponseQuestion question = new FreeResponseQuestion("What is the capital of Australia?", "Canberra", 1);
+        assertTrue(question.isAnswerCorrectOrNot("Canbera"));
+        assertTrue(question.isAnswerCorrectOrNot(" CANBERRAA "));
+        assertTrue(question.isAnswerCorrectOrNot("Canberra, Camberra"));
+        assertFalse(question.isAnswerCorrectOrNot("Canbra"));
+        assertFalse(question.isAnswerCorrectOrNot("Canberra, Sydney"));
+        assertFalse(question.isAnswerCorrectOrNot(" "));
+        assertFalse(new FreeResponseQuestion("What is the capital of Australia?", "Canberra").isAnswerCorrectOrNot("Canbera"));
+        assertThrows(IllegalArgumentException.class, () -> new FreeResponseQuestion("Negative?", "Yes", -1));
+    }
+
+    /**
+     * Tests a multiple-choice question with an explicit option list: submissions are parsed into option masks,
+     * distractors and unknown options make an answer wrong, and invalid option lists are rejected.
+     */
+    @Test
+    public void testMultipleChoiceOptionSelection(){
+        MultipleChoiceQuestion question = new MultipleChoiceQuestion("Which are primes?",
+                List.of("2", "3", "4", "5", "6"), Set.of("2", "3", "5"));
+        assertEquals(List.of("2", "3", "4", "5", "6"), question.getOptions());
+        assertEquals(List.of("2", "3", "5"), question.getCorrectAnswers());
+        assertEquals(0b01011L, question.parseSelection("5, 2,3"));
+        assertEquals(0b00100L, question.parseSelection(" 4 ,4,"));
+        assertEquals(0L, question.parseSelection("2, 7"));
+        assertEquals(0L, question.parseSelection(" "));
+        assertEquals(0L, question.parseSelection(null));
+        assertTrue(question.isSelectionCorrect(question.parseSelection("3,5,2")));
+        assertTrue(question.isAnswerCorrectOrNot(" 5 , 3 ,2,2 "));
+        assertFalse(question.isAnswerCorrectOrNot("2, 3, 4, 5"));
+        assertFalse(question.isAnswerCorrectOrNot("2, 3"));
+        assertFalse(question.isAnswerCorrectOrNot(",2,3,5"));
+
+        MultipleChoiceQuestion legacy = new MultipleChoiceQuestion("Which are vowels?", Set.of("A", "e"));
+        assertEquals(List.of("a", "e"), legacy.getOptions());
+        assertTrue(legacy.isSelectionCorrect(legacy.parseSelection("E, a")));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultipleChoiceQuestion("Missing?", List.of("a", "b"), Set.of("c")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultipleChoiceQuestion("Duplicate?", List.of("a", "A"), Set.of("a")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultipleChoiceQuestion("Blank?", List.of("a", " "), Set.of("a")));
+    }
+
+    /**
+     * Differential test comparing typo-tolerant grading with a plain dynamic-programming edit distance, for keys
+     * shorter and longer than 64 characters.
+     */
+    @Test
+    public void testTypoToleranceAgreesWithEditDistance(){
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            String key = randomWord(random, 1 + random.nextInt(i % 2 == 0 ? 12 : 90));
+            StringBuilder given = new StringBuilder(key);
+            for (int edits = random.nextInt(5); edits > 0; edits--) {
+                int position = random.nextInt(given.length() + 1);
+                int kind = random.nextInt(3);
+                if (kind == 0 || given.length() == 0) {
+                    given.insert(position, randomWord(random, 1));
+                } else if (kind == 1 || position == given.length()) {
+                    given.deleteCharAt(Math.min(position, given.length() - 1));
+                } else {
+                    given.setCharAt(position, randomWord(random, 1).charAt(0));
+                }
+            }
+            if (given.length() == 0) {
+                continue;
+            }
+            int maxEdits = random.nextInt(4);
+            Question question = new FreeResponseQuestion("Typo?", key, maxEdits);
+            String answer = random.nextBoolean() ? given.toString() : given.toString().toUpperCase();
+            assertEquals(key + " / " + answer + " within " + maxEdits,
+                    editDistance(key, given.toString()) <= maxEdits, question.isAnswerCorrectOrNot(answer));
+        }
+    }
+
+    private static String randomWord(Random random, int length){
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append("abcd\u00e9".charAt(random.nextInt(5)));
+        }
+        return word.toString();
+    }
+
+    /**
+     * Reference Levenshtein distance over the full dynamic-programming matrix.
+     */
+    private static int editDistance(String a, String b){
+        int[][] distance = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    distance[i][j] = i + j;
+                } else {
+                    int substitution = distance[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                    distance[i][j] = Math.min(substitution, Math.min(distance[i - 1][j], distance[i][j - 1]) + 1);
+                }
+            }
+        }
+        return distance[a.length()][b.length()];
+    }
+
+    /**
+     * Differential test comparing the precompiled answer matchers with the original set-based grading
+     * over randomly generated submissions, including stray whitespace, commas and mixed case.
+     */
+    @Test
+    public void testPrecompiledMatchersAgreeWithSetBasedGrading(){
+        List<List<String>> answerKeys = List.of(
+                List.of("Paris"), List.of("New Delhi"), List.of("a", "e", "i"), List.of("A", "a"),
+                List.of("red", "green", "blue"), List.of(" 2", "3 ", "5", "7"));
+        String[] fragments = {"a", "A", "e", "i", "I", "paris", "PARIS", "new delhi", "New  Delhi",
+                "red", "Green", "blue", "2", "3", "5", "7", "x", "", " ", "\t", ",", ", ", " ,"};
+        Random random = new Random(42);
+
+        for (List<String> answerKey : answerKeys){
+            Question freeResponse = new FreeResponseQuestion("Free?", answerKey.get(0));
+            Question multipleChoice = new MultipleChoiceQuestion("Multiple?", Set.copyOf(answerKey));
+            // Options that are never correct do not change grading once there are several correct options
+            List<String> options = new ArrayList<>(answerKey);
+            options.add("x");
+            options.add("paris");
+            Question selection = answerKey.size() > 2 ? new MultipleChoiceQuestion("Selection?",
+                    options, Set.copyOf(answerKey)) : multipleChoice;
+            for (int i = 0; i < 20_000; i++) {
+                StringBuilder answer = new StringBuilder();
+                int parts = random.nextInt(6);
+                for (int j = 0; j < parts; j++) {
+                    answer.append(fragments[random.nextInt(fragments.length)]);
+                    if (random.nextInt(3) == 0){
+                        answer.append(',');
+                    }
+                }
+                String given = answer.toString();
+                assertEquals("free response: '" + given + "'",
+                        legacyFreeResponse(answerKey.get(0), given), freeResponse.isAnswerCorrectOrNot(given));
+                assertEquals("multiple choice: '" + given + "'",
+                        legacyMultipleChoice(answerKey, given), multipleChoice.isAnswerCorrectOrNot(given));
+                assertEquals("selection: '" + given + "'",
+                        legacyMultipleChoice(answerKey, given), selection.isAnswerCorrectOrNot(given));
+            }
+        }
+    }
+
+    /**
+     * Reference copy of the original split-based free-response grading.
+     */
+    private static boolean legacyFreeResponse(String correctAnswer, String answer){
+        Set<String> answerSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        answerSet.add(correctAnswer.trim().toLowerCase());
+        if(answer.contains(",")){
+            Set<String> inputAnswerSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            for (String ans: answer.split(",")){
+                inputAnswerSet.add(ans.trim().toLowerCase());
+            }
+            return answerSet.equals(inputAnswerSet);
+        }
+        return correctAnswer.trim().equalsIgnoreCase(answer.trim()) || answerSet.contains(answer.trim().toLowerCase());
+    }
+
+    /**
+     * Reference copy of the original stream-based multiple-choice grading.
+     */
+    private static boolean legacyMultipleChoice(List<String> correctOptions, String givenAnswer){
+        Set<String> correctAnswers = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (String answer : correctOptions){
+            correctAnswers.add(answer.trim().toLowerCase());
+        }
+        if (correctAnswers.size() > 1) {
+            Set<String> correctAnswerSet = correctAnswers.stream()
+                    .map(String::trim)
+                    .map(String::toLowerCase)
+                    .collect(Collectors.toSet());
+            Set<String> givenAnswerSet = Arrays.stream(givenAnswer.split(","))
+                    .map(String::trim)
+                    .map(String::toLowerCase)
+                    .collect(Collectors.toSet());
+            return correctAnswerSet.equals(givenAnswerSet);
+        }
+        return correctAnswers.stream().anyMatch(correctAnswer -> correctAnswer.equalsIgnoreCase(givenAnswer.trim()));
+    }
 }
@@ -0,0 +1,126 @@
+package JunitTesting;
+
+import Factory.StudentFactory;
+import Interfaces.Student;
+import Model.QuizSystem;
+import Server.QuizHttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the {@code QuizHttpServer} class, exercising its endpoints over loopback HTTP.
+ *
+ * <p>The tests fetch a quiz, submit answers to it, read the resulting statistics, and verify that invalid
+ * requests are answered with the right status codes instead of failing the server.</p>
+ *
+ * <p>The test methods use JUnit 5 for running the tests, and assertions are used to verify the expected outcomes.</p>
+ *
+ * @author Your Name
+ */
+public class QuizHttpServerTest {
+
+    private static final String STUDENT = "first=John&last=Doe&dob=1995-02-01";
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * Tests that a quiz fetched over HTTP can be submitted once, and that the attempt shows up in the student's
+     * statistics.
+     */
+    @Test
+    public void testQuizRoundTrip() throws IOException, InterruptedException {
+        try (QuizSystem quizSystem = new QuizSystem();
+             QuizHttpServer server = QuizHttpServer.start(quizSystem, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            String base = "http://127.0.0.1:" + server.getPort();
+            HttpResponse<String> quiz = get(base + "/quiz?questions=2");
+            assertEquals(200, quiz.statusCode());
+            String[] lines = quiz.body().split("\n");
+            assertEquals(3, lines.length);
+            assertTrue(lines[0].startsWith("quiz "));
+            String submitUri = base + "/quiz/" + lines[0].substring("quiz ".length());
+
+            HttpResponse<String> score = post(submitUri, STUDENT + "&answer=wrong&answer=wrong");
+            assertEquals(200, score.statusCode());
+            assertEquals("score 0.0", score.body());
+            assertEquals(404, post(submitUri, STUDENT + "&answer=wrong&answer=wrong").statusCode());
+            Student john = StudentFactory.createStudent("John", "Doe",
+                    Date.from(LocalDate.of(1995, 2, 1).atStartOfDay(ZoneOffset.UTC).toInstant()));
+            assertEquals(1, quizSystem.getQuizAttempts(john));
+
+            HttpResponse<String> statistics = get(base + "/statistics?" + STUDENT);
+            assertEquals(200, statistics.statusCode());
+            assertTrue(statistics.body().contains("Quiz Attempts: 1"));
+            assertTrue(get(base + "/statistics").body().contains("Quiz Attempts: 1"));
+        }
+    }
+
+    /**
+     * Tests that malformed requests are rejected with a client error and leave the quiz open for a valid submission.
+     */
+    @Test
+    public void testInvalidRequestsRejected() throws IOException, InterruptedException {
+        try (QuizSystem quizSystem = new QuizSystem();
+             QuizHttpServer server = QuizHttpServer.start(quizSystem, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            String base = "http://127.0.0.1:" + server.getPort();
+            assertEquals(400, get(base + "/quiz?questions=many").statusCode());
+            assertEquals(400, get(base + "/quiz?questions=100").statusCode());
+            assertEquals(404, post(base + "/quiz/12345", STUDENT + "&answer=Paris").statusCode());
+            assertEquals(405, post(base + "/quiz?questions=1", "").statusCode());
+            assertEquals(400, get(base + "/revision?questions=1&" + STUDENT).statusCode());
+            // The hand-over endpoints only exist on servers started as shards
+            assertEquals(404, post(base + "/shard/export", "target=a&shard=a").statusCode());
+
+            String id = get(base + "/quiz?questions=1").body().split("\n")[0].substring("quiz ".length());
+            assertEquals(400, post(base + "/quiz/" + id, STUDENT).statusCode());
+            assertEquals(400, post(base + "/quiz/" + id, "first=John&last=Doe&dob=yesterday&answer=x").statusCode());
+            assertEquals(200, post(base + "/quiz/" + id, STUDENT + "&answer=x").statusCode());
+        }
+    }
+
+    /**
+     * Tests that a quiz not submitted within the server's time to live expires and can no longer be submitted.
+     */
+    @Test
+    public void testOpenQuizzesExpire() throws IOException, InterruptedException {
+        try (QuizSystem quizSystem = new QuizSystem();
+             QuizHttpServer server = QuizHttpServer.start(quizSystem, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                     Duration.ofMillis(200))) {
+            String base = "http://127.0.0.1:" + server.getPort();
+            String expiring = get(base + "/quiz?questions=1").body().split("\n")[0].substring("quiz ".length());
+            String rejected = get(base + "/quiz?questions=1").body().split("\n")[0].substring("quiz ".length());
+            assertEquals(400, post(base + "/quiz/" + rejected, STUDENT).statusCode());
+            Thread.sleep(400);
+            assertEquals(404, post(base + "/quiz/" + expiring, STUDENT + "&answer=x").statusCode());
+            assertEquals(404, post(base + "/quiz/" + rejected, STUDENT + "&answer=x").statusCode());
+            String fresh = get(base + "/quiz?questions=1").body().split("\n")[0].substring("quiz ".length());
+            assertEquals(200, post(base + "/quiz/" + fresh, STUDENT + "&answer=x").statusCode());
+            assertEquals(1, quizSystem.getQuizAttempts(StudentFactory.createStudent("John", "Doe",
+                    Date.from(LocalDate.of(1995, 2, 1).atStartOfDay(ZoneOffset.UTC).toInstant()))));
+            assertThrows(IllegalArgumentException.class,
+                    () -> QuizHttpServer.start(quizSystem, new InetSocketAddress(0), Duration.ZERO));
+        }
+    }
+
+    private HttpResponse<String> get(String uri) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(uri)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String uri, String form) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
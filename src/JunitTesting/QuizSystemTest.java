@@ -1,15 +1,43 @@
 package JunitTesting;
 
+import Factory.QuestionFactory;
 import Factory.StudentFactory;
+import Implementations.ColumnarQuestionStore;
+import Implementations.MultipleChoiceQuestion;
+import Implementations.QuizImpl;
+import Implementations.ScoringPolicy;
 import Interfaces.Question;
 import Interfaces.QuizGenerator;
+import Interfaces.QuizSubmission;
+import Interfaces.QuizSubmissionResult;
 import Interfaces.Student;
+import Model.AsyncLogAppender;
+import Model.AttemptLog;
+import Model.CohortStatistics;
+import Model.EventLogger;
+import Model.QuestionDifficulty;
+import Model.QuizMetrics;
 import Model.QuizSystem;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.GregorianCalendar;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -43,6 +71,15 @@ public class QuizSystemTest {
         assertEquals(5, quiz.getQuestions().size());
     }
 
+    /**
+     * Tests that quizzes of sizes other than five contain exactly the requested number of distinct questions.
+     */
+    @Test
+    public void testGenerateQuizOfRequestedSize(){
+        assertEquals(3, quizSystem.generateQuiz(3).getQuestions().size());
+        assertEquals(10, new HashSet<>(quizSystem.generateQuiz(10).getQuestions()).size());
+    }
+
     /**
      * Tests that a student is allowed a maximum of two quiz attempts, and an exception is thrown if a third attempt is made.
      */
@@ -132,4 +169,646 @@ public class QuizSystemTest {
         QuizGenerator revisionQuiz = quizSystem.generateRevisionQuiz(student);
         assertNotNull(revisionQuiz);
     }
+
+    /**
+     * Stress test submitting many concurrent quiz attempts for a small set of students from several threads.
+     * Verifies that exactly two attempts succeed per student and that the statistics agree with the counters.
+     */
+    @Test
+    public void testConcurrentSubmissionsNeverExceedAttemptLimit() throws InterruptedException {
+        int studentCount = 50;
+        int submissionsPerStudent = 20;
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < studentCount; i++) {
+            students.add(StudentFactory.createStudent("Student" + i, "Load",
+                    new GregorianCalendar(2000, 1, 1).getTime()));
+        }
+        QuizGenerator quiz = quizSystem.generateQuiz(5);
+        List<String> answers = Arrays.asList("Paris", "Berlin", "Tokyo", "New Delhi", "Canberra");
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+
+        for (int round = 0; round < submissionsPerStudent; round++) {
+            for (Student loadStudent : students) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        quizSystem.takeQuiz(loadStudent, quiz, answers);
+                        accepted.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(studentCount * 2, accepted.get());
+        assertEquals(studentCount * (submissionsPerStudent - 2), rejected.get());
+        for (Student loadStudent : students) {
+            assertEquals(2, quizSystem.getQuizAttempts(loadStudent));
+            assertTrue(quizSystem.generateStatistics(loadStudent).contains("Quiz Attempts: 2"));
+        }
+    }
+
+    /**
+     * Tests that each of many students keeps separate state, found again through a different {@code Student}
+     * instance with the same details.
+     */
+    @Test
+    public void testManyStudentsFoundByEqualDetails(){
+        int studentCount = 5000;
+        QuizGenerator quiz = quizSystem.generateQuiz(1);
+        for (int i = 0; i < studentCount; i++) {
+            Student registered = StudentFactory.createStudent("Student" + i, "Registry", new GregorianCalendar(2000, 1, 1).getTime());
+            for (int attempt = 0; attempt <= i % 2; attempt++) {
+                quizSystem.takeQuiz(registered, quiz, List.of("wrong"));
+            }
+        }
+        for (int i = 0; i < studentCount; i++) {
+            Student sameDetails = StudentFactory.createStudent("Student" + i, "Registry", new GregorianCalendar(2000, 1, 1).getTime());
+            assertEquals(i % 2 + 1, quizSystem.getQuizAttempts(sameDetails));
+        }
+        Student otherBirthday = StudentFactory.createStudent("Student0", "Registry", new GregorianCalendar(2000, 1, 2).getTime());
+        assertEquals(0, quizSystem.getQuizAttempts(otherBirthday));
+    }
+
+    /**
+     * Tests that students released from several threads at once are each released exactly once, and that their
+     * scores leave the cohort statistics.
+     */
+    @Test
+    public void testConcurrentReleasesReleaseEachStudentOnce() throws InterruptedException {
+        int studentCount = 500;
+        int threads = 4;
+        QuizGenerator quiz = quizSystem.generateQuiz(1);
+        for (int i = 0; i < studentCount; i++) {
+            quizSystem.takeQuiz(StudentFactory.createStudent("Student" + i, "Release",
+                    new GregorianCalendar(2000, 1, 1).getTime()), quiz, List.of("wrong"));
+        }
+        AtomicInteger released = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    released.addAndGet(quizSystem.releaseStudents(s -> true));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(studentCount, released.get());
+        assertEquals(0, quizSystem.getCohortStatistics().getStudentCount());
+        assertEquals(0, quizSystem.getCohortStatistics().getAttemptCount());
+        assertThrows(IllegalStateException.class, () -> quizSystem.takeQuiz(StudentFactory.createStudent("Student0",
+                "Release", new GregorianCalendar(2000, 1, 1).getTime()), quiz, List.of("wrong")));
+    }
+
+    /**
+     * Tests that batch grading returns one result per submission in order, applies the attempt limit in batch order
+     * for each student, and reports invalid submissions as errors instead of failing the whole batch.
+     */
+    @Test
+    public void testTakeQuizBatch(){
+        Student otherStudent = StudentFactory.createStudent("Jane","Doe", new GregorianCalendar(1996,1,1).getTime());
+        QuizGenerator quiz = quizSystem.generateQuiz(5);
+        List<String> answers = Arrays.asList("Paris", "Berlin", "Tokyo", "New Delhi", "Canberra");
+        List<QuizSubmission> submissions = List.of(
+                new QuizSubmission(student, quiz, answers),
+                new QuizSubmission(otherStudent, quiz, List.of("too few")),
+                new QuizSubmission(student, quiz, answers),
+                new QuizSubmission(otherStudent, quiz, answers),
+                new QuizSubmission(student, quiz, answers));
+
+        List<QuizSubmissionResult> results = quizSystem.takeQuizBatch(submissions);
+
+        assertEquals(submissions.size(), results.size());
+        for (int i = 0; i < submissions.size(); i++) {
+            assertSame(submissions.get(i), results.get(i).getSubmission());
+        }
+        assertTrue(results.get(0).isGraded());
+        assertFalse(results.get(1).isGraded());
+        assertTrue(results.get(2).isGraded());
+        assertTrue(results.get(3).isGraded());
+        assertFalse(results.get(4).isGraded());
+        assertTrue(results.get(4).getError() instanceof IllegalArgumentException);
+        assertEquals(2, quizSystem.getQuizAttempts(student));
+        assertEquals(1, quizSystem.getQuizAttempts(otherStudent));
+    }
+
+    /**
+     * Tests that incorrectly answered questions are indexed as quizzes are graded, counting how often each one
+     * was missed, and that the revision quiz contains exactly the missed questions.
+     */
+    @Test
+    public void testIncorrectQuestionsIndexedWhenGrading(){
+        Question paris = QuestionFactory.createQuestion("free", "What is the capital of France?", List.of("Paris"));
+        Question berlin = QuestionFactory.createQuestion("free", "What is the capital of Germany?", List.of("Berlin"));
+        Question vowels = QuestionFactory.createQuestion("multiple", "Which are vowels?", List.of("a", "e"));
+        QuizSystem customSystem = new QuizSystem(List.of(paris, berlin, vowels));
+        QuizGenerator quiz = customSystem.generateQuiz(3);
+        assertNull(customSystem.generateRevisionQuiz(student));
+
+        List<String> firstAnswers = new ArrayList<>();
+        List<String> secondAnswers = new ArrayList<>();
+        for (Question question : quiz.getQuestions()) {
+            firstAnswers.add(question == vowels ? "a, e" : "wrong");
+            secondAnswers.add(question == berlin ? "Berlin" : "wrong");
+        }
+        customSystem.takeQuiz(student, quiz, firstAnswers);
+        customSystem.takeQuiz(student, quiz, secondAnswers);
+
+        assertEquals(Map.of(paris, 2, berlin, 1, vowels, 1), customSystem.getIncorrectQuestionCounts(student));
+        QuizGenerator revisionQuiz = customSystem.generateRevisionQuiz(student);
+        assertEquals(Set.of(paris, berlin, vowels), new HashSet<>(revisionQuiz.getQuestions()));
+        assertEquals(2, customSystem.revise(student, 2).getQuestions().size());
+    }
+
+    /**
+     * Tests that attempts written to an attempt log are restored, with their answers, missed questions and
+     * statistics, by a new system opening the same log.
+     */
+    @Test
+    public void testAttemptLogReplay() throws IOException {
+        Path logFile = Files.createTempFile("attempts", ".log");
+        Student otherStudent = StudentFactory.createStudent("Jane", "Roe", new GregorianCalendar(1996, 2, 3).getTime());
+        QuizGenerator quiz = quizSystem.generateQuiz(5);
+        List<String> wrongAnswers = Arrays.asList("x", "y", "z", "w", "v");
+        Question outsidePool = QuestionFactory.createQuestion("free", "What is the capital of Italy?", List.of("Rome"));
+        Question tolerantOutsidePool = QuestionFactory.createQuestion("free", "Who painted the Mona Lisa?", List.of("Leonardo"), 2);
+        String firstStatistics;
+        String secondStatistics;
+        try (QuizSystem logged = new QuizSystem()) {
+            logged.openAttemptLog(logFile, AttemptLog.Durability.GROUP_COMMIT);
+            logged.takeQuiz(student, quiz, wrongAnswers);
+            logged.takeQuiz(student, quiz, wrongAnswers);
+            logged.takeRevisionQuiz(student, logged.generateRevisionQuiz(student), wrongAnswers);
+            logged.takeQuiz(otherStudent, QuizImpl.createQuiz(List.of(outsidePool, tolerantOutsidePool)), List.of("rome", "Raphael"));
+            firstStatistics = logged.generateStatistics(student);
+            secondStatistics = logged.generateStatistics(otherStudent);
+        }
+
+        try (QuizSystem restored = new QuizSystem()) {
+            restored.openAttemptLog(logFile, AttemptLog.Durability.GROUP_COMMIT);
+            assertEquals(firstStatistics, restored.generateStatistics(student));
+            assertEquals(secondStatistics, restored.generateStatistics(otherStudent));
+            assertEquals(2, restored.getQuizAttempts(student));
+            assertEquals(1, restored.getQuizAttempts(otherStudent));
+            assertEquals(new HashSet<>(quiz.getQuestions()), restored.getIncorrectQuestionCounts(student).keySet());
+            Question restoredTolerant = restored.getIncorrectQuestionCounts(otherStudent).keySet().iterator().next();
+            assertTrue(restoredTolerant.isAnswerCorrectOrNot("Leonrdo"));
+            assertThrows(IllegalArgumentException.class, () -> restored.takeQuiz(student, quiz, wrongAnswers));
+            restored.takeQuiz(otherStudent, quiz, wrongAnswers);
+        }
+
+        try (QuizSystem restoredAgain = new QuizSystem()) {
+            restoredAgain.openAttemptLog(logFile, AttemptLog.Durability.BUFFERED);
+            assertEquals(2, restoredAgain.getQuizAttempts(otherStudent));
+        } finally {
+            Files.delete(logFile);
+        }
+    }
+
+    /**
+     * Tests that a system built from a question bank file grades quizzes drawn from the bank's questions.
+     */
+    @Test
+    public void testQuestionBankPool() throws IOException {
+        Path bank = Files.createTempFile("question-bank", ".csv");
+        try {
+            Files.writeString(bank, "free,What is the capital of France?,Paris\n"
+                    + "multiple,Which city is the capital of France?,Paris\n");
+            QuizSystem banked = new QuizSystem(bank);
+            QuizGenerator quiz = banked.generateQuiz(2);
+            assertTrue(quiz.getQuestions().get(0) instanceof ColumnarQuestionStore.StoredQuestion);
+            assertEquals(1.0, banked.takeQuiz(student, quiz, List.of("paris", "PARIS")), 0.0);
+            assertThrows(IllegalArgumentException.class, () -> banked.generateQuiz(3));
+        } finally {
+            Files.delete(bank);
+        }
+    }
+
+    /**
+     * Tests that a system drawing from a {@code ColumnarQuestionStore} grades quizzes and survives a snapshot,
+     * which restores the pool as a columnar store with its option lists.
+     */
+    @Test
+    public void testColumnarQuestionPoolSnapshot() throws IOException {
+        ColumnarQuestionStore store = new ColumnarQuestionStore.Builder()
+                .addFreeResponse("What is the capital of France?", "Paris")
+                .addMultipleChoice("Which are vowels?", List.of("a", "e"))
+                .addFreeResponse("What is the capital of Japan?", "Tokyo", 1)
+                .addMultipleChoice("Which are primes?", List.of("2", "3", "4", "5"), List.of("2", "3", "5"))
+                .build();
+        QuizSystem columnar = new QuizSystem(store);
+        QuizGenerator quiz = QuizImpl.createQuiz(store, new int[]{0, 1, 2, 3});
+        assertEquals(0.5, columnar.takeQuiz(student, quiz, List.of("paris", "e, a", "kyoto", "2,3,4,5")), 1e-9);
+
+        Path snapshotFile = Files.createTempFile("columnar", ".snapshot");
+        try {
+            columnar.writeSnapshot(snapshotFile);
+            QuizSystem restored = QuizSystem.fromSnapshot(snapshotFile);
+            assertEquals(columnar.generateStatistics(student), restored.generateStatistics(student));
+            Map<Question, Integer> missedCounts = restored.getIncorrectQuestionCounts(student);
+            assertEquals(2, missedCounts.size());
+            for (Question missed : missedCounts.keySet()) {
+                assertTrue(missed instanceof ColumnarQuestionStore.StoredQuestion);
+                if (((ColumnarQuestionStore.StoredQuestion) missed).isMultipleChoice()) {
+                    assertEquals(List.of("2", "3", "4", "5"), ((ColumnarQuestionStore.StoredQuestion) missed).getOptions());
+                    assertTrue(missed.isAnswerCorrectOrNot("5, 3, 2"));
+                    assertFalse(missed.isAnswerCorrectOrNot("2,3,4,5"));
+                } else {
+                    assertEquals("What is the capital of Japan?", missed.getQuestionText());
+                    assertTrue(missed.isAnswerCorrectOrNot("TOKIO"));
+                }
+            }
+        } finally {
+            Files.delete(snapshotFile);
+        }
+    }
+
+    /**
+     * Tests that a record torn by a crash at the end of the attempt log is dropped, keeping every intact record,
+     * and that new attempts are appended after the last intact record.
+     */
+    @Test
+    public void testAttemptLogDropsTornRecord() throws IOException {
+        Path logFile = Files.createTempFile("attempts", ".log");
+        QuizGenerator quiz = quizSystem.generateQuiz(5);
+        List<String> wrongAnswers = Arrays.asList("x", "y", "z", "w", "v");
+        try (QuizSystem logged = new QuizSystem()) {
+            logged.openAttemptLog(logFile, AttemptLog.Durability.SYNC_EACH);
+            logged.takeQuiz(student, quiz, wrongAnswers);
+            logged.takeQuiz(student, quiz, wrongAnswers);
+        }
+        long intactSize = Files.size(logFile);
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.truncate(intactSize - 3);
+        }
+
+        try (QuizSystem restored = new QuizSystem()) {
+            restored.openAttemptLog(logFile, AttemptLog.Durability.SYNC_EACH);
+            assertEquals(1, restored.getQuizAttempts(student));
+            restored.takeQuiz(student, quiz, wrongAnswers);
+        }
+        try (QuizSystem restored = new QuizSystem()) {
+            restored.openAttemptLog(logFile, AttemptLog.Durability.SYNC_EACH);
+            assertEquals(2, restored.getQuizAttempts(student));
+            assertThrows(IllegalStateException.class,
+                    () -> restored.openAttemptLog(logFile, AttemptLog.Durability.SYNC_EACH));
+        } finally {
+            Files.delete(logFile);
+        }
+    }
+
+    /**
+     * Tests that a snapshot restores the question pool and every student's attempts, statistics and missed
+     * questions, and that attempts logged after the snapshot are replayed on top of it.
+     */
+    @Test
+    public void testSnapshotRestoresStateAndLogTail() throws IOException {
+        Path directory = Files.createTempDirectory("snapshot");
+        Path logFile = directory.resolve("attempts.log");
+        Path snapshotFile = directory.resolve("quiz.snapshot");
+        Student otherStudent = StudentFactory.createStudent("Jane", "Roe", new GregorianCalendar(1996, 2, 3).getTime());
+        QuizGenerator quiz = quizSystem.generateQuiz(5);
+        List<String> wrongAnswers = Arrays.asList("x", "y", "z", "w", "v");
+        String studentStatistics;
+        String otherStatistics;
+        Map<Question, Integer> missCounts;
+        String cohortStatistics;
+        try (QuizSystem logged = new QuizSystem()) {
+            logged.openAttemptLog(logFile, AttemptLog.Durability.GROUP_COMMIT);
+            logged.takeQuiz(student, quiz, wrongAnswers);
+            logged.takeQuiz(student, quiz, Arrays.asList("Paris", "Berlin", "Tokyo", "New Delhi", "Canberra"));
+            logged.takeRevisionQuiz(student, logged.generateRevisionQuiz(student), wrongAnswers);
+            logged.writeSnapshot(snapshotFile);
+            logged.takeQuiz(otherStudent, quiz, wrongAnswers);
+            studentStatistics = logged.generateStatistics(student);
+            otherStatistics = logged.generateStatistics(otherStudent);
+            missCounts = logged.getIncorrectQuestionCounts(student);
+            cohortStatistics = logged.generateCohortStatistics();
+        }
+
+        QuizSystem fromSnapshotOnly = QuizSystem.fromSnapshot(snapshotFile);
+        assertEquals(studentStatistics, fromSnapshotOnly.generateStatistics(student));
+        assertEquals(0, fromSnapshotOnly.getQuizAttempts(otherStudent));
+        assertEquals(10, fromSnapshotOnly.generateQuiz(10).getQuestions().size());
+
+        try (QuizSystem restored = QuizSystem.fromSnapshot(snapshotFile)) {
+            restored.openAttemptLog(logFile, AttemptLog.Durability.GROUP_COMMIT);
+            assertEquals(studentStatistics, restored.generateStatistics(student));
+            assertEquals(otherStatistics, restored.generateStatistics(otherStudent));
+            assertEquals(cohortStatistics, restored.generateCohortStatistics());
+            assertEquals(missCounts.size(), restored.getIncorrectQuestionCounts(student).size());
+            assertEquals(new ArrayList<>(missCounts.values()), new ArrayList<>(restored.getIncorrectQuestionCounts(student).values()));
+            assertThrows(IllegalArgumentException.class, () -> restored.takeQuiz(student, quiz, wrongAnswers));
+        }
+
+        Path otherLog = directory.resolve("other.log");
+        try (QuizSystem unrelated = new QuizSystem()) {
+            unrelated.openAttemptLog(otherLog, AttemptLog.Durability.BUFFERED);
+            unrelated.takeQuiz(student, quiz, wrongAnswers);
+        }
+        assertThrows(IOException.class, () -> QuizSystem.fromSnapshot(snapshotFile).openAttemptLog(otherLog, AttemptLog.Durability.BUFFERED));
+        assertThrows(IOException.class, () -> QuizSystem.fromSnapshot(logFile));
+        for (Path file : List.of(logFile, snapshotFile, otherLog, directory)) {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests that the cohort statistics summarize every graded regular quiz, including those graded concurrently.
+     */
+    @Test
+    public void testCohortStatistics() throws InterruptedException {
+        Question paris = QuestionFactory.createQuestion("free", "What is the capital of France?", List.of("Paris"));
+        Question berlin = QuestionFactory.createQuestion("free", "What is the capital of Germany?", List.of("Berlin"));
+        Question tokyo = QuestionFactory.createQuestion("free", "What is the capital of Japan?", List.of("Tokyo"));
+        Question delhi = QuestionFactory.createQuestion("free", "What is the capital of India?", List.of("New Delhi"));
+        QuizSystem cohortSystem = new QuizSystem(List.of(paris, berlin, tokyo, delhi));
+        QuizGenerator quiz = QuizImpl.createQuiz(List.of(paris, berlin, tokyo, delhi));
+        assertEquals("No statistics available for the cohort.", cohortSystem.generateCohortStatistics());
+        assertTrue(Double.isNaN(cohortSystem.getCohortStatistics().getMedianScore()));
+
+        int threads = 8;
+        int studentsPerThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                for (int i = 0; i < studentsPerThread; i++) {
+                    Student cohortStudent = StudentFactory.createStudent("Student" + i, "Thread" + thread,
+                            new GregorianCalendar(2000, 1, 1).getTime());
+                    // Every student scores 0.25 and then 0.75
+                    cohortSystem.takeQuiz(cohortStudent, quiz, List.of("Paris", "x", "x", "x"));
+                    cohortSystem.takeQuiz(cohortStudent, quiz, List.of("Paris", "Berlin", "Tokyo", "x"));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class,
+                () -> cohortSystem.takeQuiz(StudentFactory.createStudent("Student0", "Thread0",
+                        new GregorianCalendar(2000, 1, 1).getTime()), quiz, List.of("x", "x", "x", "x")));
+
+        CohortStatistics cohort = cohortSystem.getCohortStatistics();
+        assertEquals(threads * studentsPerThread, cohort.getStudentCount());
+        assertEquals(2L * threads * studentsPerThread, cohort.getAttemptCount());
+        assertEquals(0.5, cohort.getMeanScore(), 1e-9);
+        assertEquals(0.25, cohort.getMedianScore(), 1e-9);
+        assertEquals(0.75, cohort.getPercentile(90), 1e-9);
+        assertEquals(0.25, cohort.getPercentile(0), 1e-9);
+        assertEquals(0.5, cohort.getPassRate(), 1e-9);
+        assertEquals(1.0, cohort.getStudentPassRate(), 1e-9);
+        assertEquals(threads * studentsPerThread, cohort.getHistogram()[250]);
+        assertThrows(IllegalArgumentException.class, () -> cohort.getPercentile(101));
+        assertTrue(cohortSystem.generateCohortStatistics().contains("Student Pass Rate: 1.000"));
+    }
+
+    /**
+     * Tests that every graded answer is counted per question and that the hardest questions are ranked by accuracy.
+     */
+    @Test
+    public void testQuestionDifficulty() throws IOException {
+        Question paris = QuestionFactory.createQuestion("free", "What is the capital of France?", List.of("Paris"));
+        Question berlin = QuestionFactory.createQuestion("free", "What is the capital of Germany?", List.of("Berlin"));
+        Question tokyo = QuestionFactory.createQuestion("free", "What is the capital of Japan?", List.of("Tokyo"));
+        QuizSystem difficultySystem = new QuizSystem(List.of(paris, berlin, tokyo));
+        QuizGenerator quiz = QuizImpl.createQuiz(List.of(paris, berlin, tokyo));
+        difficultySystem.takeQuiz(student, quiz, List.of("Paris", "Berlin", "x"));
+        difficultySystem.takeQuiz(student, quiz, List.of("Paris", "x", "x"));
+        Student otherStudent = StudentFactory.createStudent("Jane", "Roe", new GregorianCalendar(1996, 2, 3).getTime());
+        difficultySystem.takeQuiz(otherStudent, quiz, List.of("x", "Berlin", "x"));
+        assertThrows(IllegalArgumentException.class, () -> difficultySystem.takeQuiz(student, quiz, List.of("x", "x", "x")));
+
+        QuestionDifficulty difficulty = difficultySystem.getQuestionDifficulty();
+        assertEquals(2, difficulty.getCorrectCount(paris));
+        assertEquals(1, difficulty.getIncorrectCount(paris));
+        assertEquals(0.0, difficulty.getAccuracy(tokyo), 1e-9);
+        assertTrue(Double.isNaN(difficulty.getAccuracy(QuestionFactory.createQuestion("free", "Unseen?", List.of("x")))));
+        assertEquals(List.of(tokyo), difficulty.getHardestQuestions(1));
+        assertEquals(3, difficulty.getHardestQuestions(10).size());
+        assertEquals(tokyo, difficulty.getHardestQuestions(10).get(0));
+        assertEquals(List.of(), difficulty.getHardestQuestions(10, 4));
+
+        Path snapshotFile = Files.createTempFile("difficulty", ".snapshot");
+        try {
+            difficultySystem.writeSnapshot(snapshotFile);
+            QuizSystem restored = QuizSystem.fromSnapshot(snapshotFile);
+            Question restoredParis = restored.generateQuiz(3).getQuestions().stream()
+                    .filter(question -> question.getQuestionText().equals(paris.getQuestionText())).findFirst().orElseThrow();
+            assertEquals(2, restored.getQuestionDifficulty().getCorrectCount(restoredParis));
+            assertEquals(1, restored.getQuestionDifficulty().getIncorrectCount(restoredParis));
+        } finally {
+            Files.delete(snapshotFile);
+        }
+    }
+
+    /**
+     * Tests that metrics stay at zero by default, and that with the {@code quiz.metrics} property set every
+     * instrumented operation is counted, failures included, and exported as text.
+     */
+    @Test
+    public void testMetrics(){
+        quizSystem.takeQuiz(student, quizSystem.generateQuiz(5), Arrays.asList("Paris", "Berlin", "Tokyo", "New Delhi", "Canberra"));
+        assertEquals(0, quizSystem.getMetrics().getCount(QuizMetrics.Operation.TAKE_QUIZ));
+
+        QuizSystem measuredSystem;
+        System.setProperty("quiz.metrics", "true");
+        try {
+            measuredSystem = new QuizSystem();
+        } finally {
+            System.clearProperty("quiz.metrics");
+        }
+        QuizGenerator quiz = measuredSystem.generateQuiz(5);
+        assertThrows(IllegalArgumentException.class, () -> measuredSystem.generateQuiz(100));
+        measuredSystem.takeQuiz(student, quiz, Arrays.asList("wrong", "wrong", "wrong", "wrong", "wrong"));
+        assertThrows(IllegalArgumentException.class, () -> measuredSystem.takeQuiz(student, quiz, List.of("wrong")));
+        measuredSystem.generateRevisionQuiz(student);
+
+        QuizMetrics metrics = measuredSystem.getMetrics();
+        assertEquals(2, metrics.getCount(QuizMetrics.Operation.GENERATE_QUIZ));
+        assertEquals(1, metrics.getErrorCount(QuizMetrics.Operation.GENERATE_QUIZ));
+        assertEquals(2, metrics.getCount(QuizMetrics.Operation.TAKE_QUIZ));
+        assertEquals(1, metrics.getErrorCount(QuizMetrics.Operation.TAKE_QUIZ));
+        assertEquals(0, metrics.getInFlight(QuizMetrics.Operation.TAKE_QUIZ));
+        assertEquals(1, metrics.getCount(QuizMetrics.Operation.GENERATE_REVISION_QUIZ));
+        assertEquals(5, metrics.getCount(QuizMetrics.Operation.ANSWER_CHECK));
+        assertTrue(metrics.getLatencyPercentileNanos(QuizMetrics.Operation.TAKE_QUIZ, 100) > 0);
+        String exported = metrics.export();
+        assertTrue(exported.contains("quiz_take_quiz_seconds_count 2\n"));
+        assertTrue(exported.contains("quiz_take_quiz_errors_total 1\n"));
+        assertTrue(exported.contains("quiz_answer_check_seconds{quantile=\"0.99\"} "));
+    }
+
+    /**
+     * Tests scoring with per-question weights, partial credit for multiple-choice questions and negative marking,
+     * for regular and revision quizzes, and that partly correct questions are revised.
+     */
+    @Test
+    public void testScoringPolicy() {
+        Question france = QuestionFactory.createQuestion("free", "What is the capital of France?", List.of("Paris"));
+        Question primes = new MultipleChoiceQuestion("Which are primes?", List.of("2", "3", "4", "5", "6"), Set.of("2", "3", "5"));
+        Question germany = QuestionFactory.createQuestion("free", "What is the capital of Germany?", List.of("Berlin"));
+        QuizSystem scoredSystem = new QuizSystem(List.of(france, primes, germany));
+        assertSame(ScoringPolicy.allOrNothing(), scoredSystem.getScoringPolicy());
+        scoredSystem.setScoringPolicy(new ScoringPolicy.Builder()
+                .partialCredit(true)
+                .wrongAnswerPenalty(0.5)
+                .weight(france, 2.0)
+                .build());
+        QuizGenerator quiz = QuizImpl.createQuiz(List.of(france, primes, germany));
+
+        // 2 points for France, two of three primes, half a point lost for Germany, out of 4
+        assertEquals((2.0 + 2.0 / 3 - 0.5) / 4, scoredSystem.takeQuiz(student, quiz, List.of("Paris", "2, 3", "Munich")), 1e-9);
+        QuizGenerator revision = scoredSystem.generateRevisionQuiz(student);
+        assertEquals(Set.of(primes, germany), new HashSet<>(revision.getQuestions()));
+        // Negative marking never takes a score below zero
+        assertEquals(0.0, scoredSystem.takeQuiz(student, quiz, List.of("Rome", "4", "Munich")), 0.0);
+        // All three primes and one of two wrong options, and a blank answer that costs nothing
+        List<String> revisionAnswers = revision.getQuestions().get(0) == primes ? List.of("2,3,5,6", " ") : List.of(" ", "2,3,5,6");
+        assertEquals(0.25, scoredSystem.takeRevisionQuiz(student, revision, revisionAnswers), 1e-9);
+
+        assertThrows(IllegalArgumentException.class, () -> new ScoringPolicy.Builder().wrongAnswerPenalty(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new ScoringPolicy.Builder().weight(france, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> scoredSystem.setScoringPolicy(null));
+    }
+
+    /**
+     * Tests that a {@code ColumnarQuestionStore} keeps the option lists of multiple-choice questions, and that its
+     * questions earn partial credit, and weights set on one view, exactly like the question objects.
+     */
+    @Test
+    public void testScoringPolicyOnColumnarPool() {
+        Question france = QuestionFactory.createQuestion("free", "What is the capital of France?", List.of("Paris"));
+        MultipleChoiceQuestion primes = new MultipleChoiceQuestion("Which are primes?", List.of("2", "3", "4", "5", "6"), Set.of("2", "3", "5"));
+        Question vowels = new MultipleChoiceQuestion("Which are vowels?", Set.of("a", "e", "i"));
+        ColumnarQuestionStore store = new ColumnarQuestionStore.Builder().add(france).add(primes).add(vowels).build();
+        ColumnarQuestionStore.StoredQuestion storedPrimes = (ColumnarQuestionStore.StoredQuestion) store.get(1);
+        assertTrue(storedPrimes.hasOptionList());
+        assertEquals(primes.getOptions(), storedPrimes.getOptions());
+        assertEquals(primes.getCorrectAnswers(), storedPrimes.getCorrectAnswers());
+        assertEquals(primes.getCorrectMask(), storedPrimes.getCorrectMask());
+        assertFalse(((ColumnarQuestionStore.StoredQuestion) store.get(2)).hasOptionList());
+        for (String submission : Arrays.asList(null, "", "2,3,5", "5, 3, 2", "2,3", "2,3,5,6", "7", "2,,3,5")) {
+            assertEquals(primes.isAnswerCorrectOrNot(submission), storedPrimes.isAnswerCorrectOrNot(submission));
+            assertEquals(primes.parseSelection(submission), storedPrimes.parseSelection(submission));
+        }
+
+        QuizSystem objectSystem = new QuizSystem(List.of(france, primes, vowels));
+        objectSystem.setScoringPolicy(new ScoringPolicy.Builder().partialCredit(true).wrongAnswerPenalty(0.5)
+                .weight(france, 2.0).build());
+        QuizSystem columnarSystem = new QuizSystem(store);
+        columnarSystem.setScoringPolicy(new ScoringPolicy.Builder().partialCredit(true).wrongAnswerPenalty(0.5)
+                .weight(store.get(0), 2.0).build());
+        QuizGenerator objectQuiz = QuizImpl.createQuiz(List.of(france, primes, vowels));
+        QuizGenerator columnarQuiz = QuizImpl.createQuiz(store, new int[]{0, 1, 2});
+        for (List<String> answers : List.of(List.of("Paris", "2, 3", "a, e"), List.of("Rome", "2,3,5,6", "a,e,i"))) {
+            Student taker = StudentFactory.createStudent("Columnar", answers.get(0), new GregorianCalendar(2000, 1, 1).getTime());
+            assertEquals(objectSystem.takeQuiz(taker, objectQuiz, answers), columnarSystem.takeQuiz(taker, columnarQuiz, answers), 1e-9);
+        }
+        // 2 points for France, two of three primes and two of three vowels, out of 4
+        assertEquals((2.0 + 2.0 / 3 + 2.0 / 3) / 4, columnarSystem.takeQuiz(student, columnarQuiz, List.of("paris", "2, 3", "a, e")), 1e-9);
+        assertThrows(IllegalStateException.class, () -> ((ColumnarQuestionStore.StoredQuestion) store.get(0)).getOptions());
+    }
+
+    /**
+     * Tests that the statistics export writes a header and one row per student, quoting names that need it and
+     * encoding them as UTF-8.
+     */
+    @Test
+    public void testExportStatistics() throws IOException {
+        Student otherStudent = StudentFactory.createStudent("Zo\u00eb", "Smith, Jr.", new GregorianCalendar(1996, 2, 3).getTime());
+        QuizGenerator quiz = quizSystem.generateQuiz(2);
+        List<String> wrongAnswers = Arrays.asList("wrong", "wrong");
+        quizSystem.takeQuiz(student, quiz, wrongAnswers);
+        quizSystem.takeQuiz(student, quiz, wrongAnswers);
+        quizSystem.takeRevisionQuiz(student, quizSystem.generateRevisionQuiz(student), wrongAnswers);
+        quizSystem.takeQuiz(otherStudent, quiz, wrongAnswers);
+
+        Path file = Files.createTempFile("statistics", ".csv");
+        try {
+            assertEquals(2, quizSystem.exportStatistics(file));
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(Arrays.asList(
+                    "student,quiz_attempts,revision_attempts,average_score,highest_score,last_score,final_verdict,scores",
+                    "John Doe,2,1,0.0000,0.0000,0.0000,FAIL,0.0000;0.0000",
+                    "\"Zo\u00eb Smith, Jr.\",1,0,0.0000,0.0000,0.0000,TBD,0.0000"), lines);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests that events below the logger's threshold are filtered out, that the others are written as structured
+     * lines by the asynchronous appender, and that a closed appender drops events instead of blocking.
+     */
+    @Test
+    public void testEventLogging(){
+        StringWriter output = new StringWriter();
+        AsyncLogAppender appender = new AsyncLogAppender(output, 16);
+        quizSystem.setEventLogger(new EventLogger(EventLogger.Level.INFO, appender));
+        QuizGenerator quiz = quizSystem.generateQuiz(5);
+        List<String> answers = Arrays.asList("wrong", "wrong", "wrong", "wrong", "wrong");
+        quizSystem.takeQuiz(student, quiz, answers);
+        quizSystem.takeQuiz(student, quiz, answers);
+        assertThrows(IllegalArgumentException.class, () -> quizSystem.takeQuiz(student, quiz, answers));
+        assertNotNull(quizSystem.generateRevisionQuiz(student));
+        appender.flush();
+
+        String logged = output.toString();
+        assertTrue(logged, logged.contains("level=INFO event=quiz_attempt_rejected"));
+        assertTrue(logged, logged.contains("student=\"John Doe\""));
+        assertFalse(logged, logged.contains("revision_quiz_generated"));
+
+        appender.close();
+        new EventLogger(EventLogger.Level.DEBUG, appender).log(EventLogger.Level.ERROR, "after_close");
+        assertEquals(1, appender.getDroppedCount());
+    }
+
+    /**
+     * Tests that adaptive quizzes hold distinct pool questions and favour the questions the student has missed,
+     * and that adaptive revision quizzes draw only from missed questions.
+     */
+    @Test
+    public void testAdaptiveQuizzesFavourMissedQuestions(){
+        List<Question> pool = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            pool.add(QuestionFactory.createQuestion("free", "Adaptive question " + i + "?", List.of("answer" + i)));
+        }
+        QuizSystem adaptiveSystem = new QuizSystem(pool);
+        assertThrows(IllegalArgumentException.class, () -> adaptiveSystem.generateAdaptiveQuiz(student, 201));
+        assertThrows(IllegalArgumentException.class, () -> adaptiveSystem.reviseAdaptive(student, 1));
+        assertEquals(200, new HashSet<>(adaptiveSystem.generateAdaptiveQuiz(student, 200).getQuestions()).size());
+
+        List<Question> missed = pool.subList(0, 5);
+        adaptiveSystem.takeQuiz(student, QuizImpl.createQuiz(missed), List.of("x", "x", "x", "x", "x"));
+        adaptiveSystem.takeQuiz(student, QuizImpl.createQuiz(missed), List.of("x", "x", "x", "x", "x"));
+        int missedDrawn = 0;
+        for (int i = 0; i < 200; i++) {
+            for (Question question : adaptiveSystem.generateAdaptiveQuiz(student, 5).getQuestions()) {
+                if (missed.contains(question)) {
+                    missedDrawn++;
+                }
+            }
+        }
+        // Uniform draws would pick about 25 missed questions in total; each now has 5 times the weight of the others
+        assertTrue("missed questions drawn " + missedDrawn + " times", missedDrawn > 60);
+
+        QuizGenerator revision = adaptiveSystem.reviseAdaptive(student, 10);
+        assertEquals(new HashSet<>(missed), new HashSet<>(revision.getQuestions()));
+    }
 }
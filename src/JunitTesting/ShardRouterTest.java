@@ -0,0 +1,178 @@
+package JunitTesting;
+
+import Server.ConsistentHashRing;
+import Server.QuizShard;
+import Server.ShardRouter;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the {@code ConsistentHashRing} and {@code ShardRouter} classes.
+ *
+ * <p>The ring is checked for an even spread of keys and for moving only the keys the new shard takes when a shard
+ * is added. The router is exercised end to end against shards running as separate processes on loopback: students
+ * take quizzes through the router, a shard is added, and the moved students keep their attempts and limits.</p>
+ *
+ * <p>The test methods use JUnit 5 for running the tests, and assertions are used to verify the expected outcomes.</p>
+ *
+ * @author Your Name
+ */
+public class ShardRouterTest {
+
+    private static final int STUDENTS = 40;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * Tests that keys spread evenly over the shards and that adding a shard only moves keys to the new shard.
+     */
+    @Test
+    public void testRingBalanceAndMinimalMovement() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"));
+        ConsistentHashRing grown = ring.withShard("d");
+        Map<String, Integer> counts = new HashMap<>();
+        int moved = 0;
+        for (int i = 0; i < 30_000; i++) {
+            String key = "student-" + i;
+            String before = ring.shardFor(key);
+            String after = grown.shardFor(key);
+            counts.merge(before, 1, Integer::sum);
+            if (!before.equals(after)) {
+                assertEquals("d", after);
+                moved++;
+            }
+        }
+        for (String shard : ring.getShards()) {
+            assertTrue(counts.get(shard) > 8_000 && counts.get(shard) < 12_000);
+        }
+        assertTrue(moved > 5_500 && moved < 9_500);
+        assertEquals(ring.shardFor("student-1"), new ConsistentHashRing(List.of("c", "a", "b")).shardFor("student-1"));
+        assertThrows(IllegalArgumentException.class, () -> ring.withShard("b"));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of()));
+    }
+
+    /**
+     * Tests that students keep their statistics and attempt limits when a shard added to a running router takes
+     * them over, that the cohort is counted once across the shards, and that a shard that cannot be reached is
+     * not added.
+     */
+    @Test
+    public void testAddShardMovesStudents() throws IOException, InterruptedException {
+        List<Process> processes = new ArrayList<>();
+        try {
+            Map<String, URI> shards = new LinkedHashMap<>();
+            shards.put("a", startShard(processes));
+            shards.put("b", startShard(processes));
+            try (ShardRouter router = ShardRouter.start(shards, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+                String base = "http://127.0.0.1:" + router.getPort();
+                assertEquals(400, get(base + "/quiz?questions=1").statusCode());
+                for (int i = 0; i < STUDENTS; i++) {
+                    takeQuiz(base, student(i), 200);
+                    if (i % 2 == 0) {
+                        takeQuiz(base, student(i), 200);
+                    }
+                }
+
+                // A shard that cannot be reached is not added, and every student stays where it was
+                assertThrows(IOException.class, () -> router.addShard("c", URI.create("http://127.0.0.1:1")));
+                assertEquals(List.of("a", "b"), router.getRing().getShards());
+                assertTrue(get(base + "/statistics?" + student(0)).body().contains("Quiz Attempts: 2"));
+
+                int moved = router.addShard("c", startShard(processes));
+                assertEquals(List.of(), router.getPendingReleases());
+                assertTrue(moved > 0 && moved < STUDENTS);
+                assertEquals(List.of("a", "b", "c"), router.getRing().getShards());
+                for (int i = 0; i < STUDENTS; i++) {
+                    String statistics = get(base + "/statistics?" + student(i)).body();
+                    assertTrue(statistics.contains("Quiz Attempts: " + (i % 2 == 0 ? 2 : 1)));
+                    takeQuiz(base, student(i), i % 2 == 0 ? 400 : 200);
+                }
+
+                String cohort = get(base + "/statistics").body();
+                Matcher students = Pattern.compile("Students: (\\d+)").matcher(cohort);
+                int total = 0;
+                int sections = 0;
+                while (students.find()) {
+                    total += Integer.parseInt(students.group(1));
+                    sections++;
+                }
+                assertEquals(3, sections);
+                assertEquals(STUDENTS, total);
+            }
+        } finally {
+            for (Process process : processes) {
+                process.getOutputStream().close();
+                process.destroy();
+            }
+        }
+    }
+
+    private URI startShard(List<Process> processes) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-Dsun.net.httpserver.nodelay=true", "-cp", shardClassPath(),
+                "Server.QuizShard", "0")
+                .redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        processes.add(process);
+        String line = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)).readLine();
+        assertNotNull(line);
+        assertTrue(line.startsWith("port "));
+        return URI.create("http://127.0.0.1:" + line.substring("port ".length()));
+    }
+
+    /**
+     * Returns the class path of the shard processes: the location the shard classes were loaded from, which the
+     * launcher's class path property does not name when the tests run under a launcher with its own class loader.
+     */
+    private static String shardClassPath() {
+        try {
+            String location = Path.of(QuizShard.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+            String inherited = System.getProperty("java.class.path", "");
+            return inherited.isEmpty() ? location : location + File.pathSeparator + inherited;
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void takeQuiz(String base, String student, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<String> quiz = get(base + "/quiz?questions=1&" + student);
+        assertEquals(200, quiz.statusCode());
+        String id = quiz.body().split("\n")[0].substring("quiz ".length());
+        assertEquals(expectedStatus, post(base + "/quiz/" + id, student + "&answer=wrong").statusCode());
+    }
+
+    private static String student(int i) {
+        return "first=Student" + i + "&last=Shard&dob=2000-01-" + (10 + i % 20);
+    }
+
+    private HttpResponse<String> get(String uri) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(uri)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String uri, String form) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -6,8 +6,10 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Unit tests for the {@code StudentStatistics} implementation, specifically testing
@@ -111,4 +113,39 @@ public class StudentStatisticsTest {
         StudentStatistics studentStatistics = new StudentStatisticsImpl();
         assertThrows(IllegalArgumentException.class, () -> studentStatistics.addQuizScore(1.5));
     }
+
+    /**
+     * Tests the running aggregates and primitive accessors: the highest and lowest scores, indexed access
+     * to individual scores and the primitive score array.
+     */
+    @Test
+    public void testRunningAggregatesAndPrimitiveScores(){
+        StudentStatistics studentStatistics = new StudentStatisticsImpl();
+        assertEquals(0.0, studentStatistics.getQuizAverageScore(), 0.0);
+        assertEquals("TBD", studentStatistics.getFinalVerdict());
+        assertTrue(Double.isNaN(studentStatistics.getHighestQuizScore()));
+
+        studentStatistics.addQuizScore(0.4);
+        studentStatistics.addQuizScore(0.2);
+        studentStatistics.addQuizScore(0.9);
+
+        assertEquals(0.9, studentStatistics.getHighestQuizScore(), 0.0);
+        assertEquals(0.2, studentStatistics.getLowestQuizScore(), 0.0);
+        assertEquals(0.5, studentStatistics.getQuizAverageScore(), 0.0001);
+        assertEquals(0.2, studentStatistics.getQuizScore(1), 0.0);
+        assertArrayEquals(new double[]{0.4, 0.2, 0.9}, studentStatistics.getQuizScoreArray(), 0.0);
+        assertThrows(IndexOutOfBoundsException.class, () -> studentStatistics.getQuizScore(3));
+    }
+
+    /**
+     * Tests that a student who scored below 0.5 in two quizzes receives a "FAIL" verdict.
+     */
+    @Test
+    public void testFinalVerdictFail(){
+        StudentStatistics studentStatistics = new StudentStatisticsImpl();
+        studentStatistics.addQuizScore(0.1);
+        assertEquals("TBD", studentStatistics.getFinalVerdict());
+        studentStatistics.addQuizScore(0.4);
+        assertEquals("FAIL", studentStatistics.getFinalVerdict());
+    }
 }
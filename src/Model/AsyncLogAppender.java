@@ -0,0 +1,233 @@
+package Model;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes log events from any number of threads to a {@code Writer} on a single background thread, through a
+ * bounded ring buffer.
+ * <p>
+ * A logging thread only claims a slot with one compare-and-set and stores the unformatted event; formatting and
+ * I/O happen on the appender's thread. When the buffer is full the event is dropped and counted instead of
+ * waiting, so logging never blocks the caller. The background thread sleeps while the buffer is empty and flushes
+ * the writer every time it catches up.
+ * </p>
+ *
+ * <p> Events are written one per line in logfmt: {@code key=value} pairs starting with the time, level, event
+ * name and thread, followed by the event's own fields. Values containing spaces, quotes or {@code =} are quoted.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class AsyncLogAppender implements AutoCloseable {
+    private static final long IDLE_PARK_NANOS = 10_000_000L;
+
+    private final Writer out;
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    private volatile long flushedUpTo;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writerThread;
+    private volatile boolean sleeping;
+    private volatile boolean closed;
+
+    /**
+     * Constructs an {@code AsyncLogAppender} and starts its background thread.
+     *
+     * @param out the writer receiving the formatted events; it is only used by the background thread.
+     * @param capacity the number of events the buffer holds, rounded up to a power of two.
+     * @throws IllegalArgumentException if the writer is {@code null} or the capacity is not positive.
+     */
+    public AsyncLogAppender(Writer out, int capacity) {
+        if (out == null) {
+            throw new IllegalArgumentException("Writer cannot be null");
+        }
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.out = out;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.writerThread = new Thread(this::drainLoop, "quiz-log-appender");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues an event without waiting.
+     *
+     * @param level the level of the event.
+     * @param event the name of the event.
+     * @param fields alternating field names and values.
+     * @return {@code true} if the event was queued, {@code false} if the buffer was full or the appender closed and
+     *         the event was dropped.
+     */
+    boolean append(EventLogger.Level level, String event, Object[] fields) {
+        Entry entry = new Entry(System.currentTimeMillis(), level, event, Thread.currentThread().getName(), fields);
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (closed || sequence - head >= slots.length()) {
+                dropped.increment();
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.set((int) sequence & mask, entry);
+        if (sleeping) {
+            LockSupport.unpark(writerThread);
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the number of events dropped because the buffer was full, the appender was closed or the writer
+     * failed.
+     *
+     * @return the number of dropped events.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Waits until every event queued before this call has been written and the writer flushed.
+     */
+    public void flush() {
+        long target = tail.get();
+        while (flushedUpTo < target && writerThread.isAlive()) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(1_000_000L);
+        }
+    }
+
+    /**
+     * Writes the queued events, stops the background thread and closes the writer. Events appended afterwards
+     * are dropped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        StringBuilder line = new StringBuilder(256);
+        while (true) {
+            long position = head;
+            Entry entry = slots.get((int) position & mask);
+            if (entry != null) {
+                line.setLength(0);
+                entry.formatTo(line);
+                write(line);
+                slots.set((int) position & mask, null);
+                head = position + 1;
+                continue;
+            }
+            if (position < tail.get()) {
+                // A slot was claimed but its event is not stored yet
+                Thread.onSpinWait();
+                continue;
+            }
+            flushWriter();
+            flushedUpTo = position;
+            if (closed) {
+                break;
+            }
+            sleeping = true;
+            if (head == tail.get() && !closed) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            sleeping = false;
+        }
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // Nowhere left to report it
+        }
+    }
+
+    private void write(CharSequence line) {
+        try {
+            out.append(line).append(System.lineSeparator());
+        } catch (IOException e) {
+            dropped.increment();
+        }
+    }
+
+    private void flushWriter() {
+        try {
+            out.flush();
+        } catch (IOException ignored) {
+            // Events already counted as written; the next flush retries
+        }
+    }
+
+    /**
+     * One queued event, formatted only on the appender's thread.
+     */
+    private static final class Entry {
+        private final long timeMillis;
+        private final EventLogger.Level level;
+        private final String event;
+        private final String thread;
+        private final Object[] fields;
+
+        Entry(long timeMillis, EventLogger.Level level, String event, String thread, Object[] fields) {
+            this.timeMillis = timeMillis;
+            this.level = level;
+            this.event = event;
+            this.thread = thread;
+            this.fields = fields;
+        }
+
+        void formatTo(StringBuilder line) {
+            line.append("time=").append(Instant.ofEpochMilli(timeMillis));
+            line.append(" level=").append(level);
+            line.append(" event=");
+            appendValue(line, event);
+            line.append(" thread=");
+            appendValue(line, thread);
+            for (int i = 0; i + 1 < fields.length; i += 2) {
+                line.append(' ').append(fields[i]).append('=');
+                appendValue(line, String.valueOf(fields[i + 1]));
+            }
+        }
+
+        private static void appendValue(StringBuilder line, String value) {
+            boolean quote = value.isEmpty();
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c <= ' ' || c == '"' || c == '=';
+            }
+            if (!quote) {
+                line.append(value);
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    line.append('\\').append(c);
+                } else if (c == '\n') {
+                    line.append("\\n");
+                } else {
+                    line.append(c);
+                }
+            }
+            line.append('"');
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package Model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of binary records stored in a local file, used by {@code QuizSystem} to make graded attempts
+ * survive restarts.
+ * <p>
+ * Each record is framed as its payload length, a CRC-32 of the payload, and the payload itself. When a log is
+ * opened, every intact record is handed to a replay callback in the order it was written; a torn record left
+ * at the end by a crash is detected by its length or checksum and truncated before new records are appended.
+ * Replay can start at a checkpoint offset, so records already covered by a snapshot are skipped.
+ * </p>
+ *
+ * <p> Appending is split in two steps so callers can order records under their own locks and wait for durability
+ * outside them: {@link #append(byte[])} queues a record and returns its sequence number, and
+ * {@link #awaitDurable(long)} blocks until that record is written according to the log's {@link Durability}.
+ * With {@link Durability#GROUP_COMMIT} the first waiting thread writes and syncs everything queued so far while
+ * other threads queue further records, so many concurrent submissions share a single {@code fsync}.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class AttemptLog implements AutoCloseable {
+    private static final int MAGIC = 0x514C4F47; // "QLOG"
+    private static final int VERSION = 3;
+    private static final int HEADER_SIZE = 16;
+    private static final int FRAME_HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * How far a record must get before {@link #awaitDurable(long)} returns.
+     */
+    public enum Durability {
+        /**
+         * Records are written to the file in batches but never synced; they survive a crash of the JVM but not
+         * of the operating system.
+         */
+        BUFFERED,
+        /**
+         * Records are written and synced in batches shared by all concurrent writers (group commit).
+         */
+        GROUP_COMMIT,
+        /**
+         * Every record is written and synced on its own before the next one; the slowest setting.
+         */
+        SYNC_EACH
+    }
+
+    private final FileChannel channel;
+    private final Durability durability;
+    private final long id;
+    private byte[] pending = new byte[64 * 1024];
+    private int pendingSize;
+    private byte[] spare = new byte[64 * 1024];
+    private long appendedSequence;
+    private long durableSequence;
+    private boolean flushing;
+    private IOException failure;
+
+    private AttemptLog(FileChannel channel, Durability durability, long id) {
+        this.channel = channel;
+        this.durability = durability;
+        this.id = id;
+    }
+
+    /**
+     * Opens the log at the given path, creating it if necessary, and replays every intact record.
+     *
+     * @param logFile the path of the log file.
+     * @param durability the durability of records appended from now on.
+     * @param replay receives the payload of each existing record, in order.
+     * @return the opened {@code AttemptLog}, positioned after the last intact record.
+     * @throws IOException if the file cannot be read or written, or is not an attempt log.
+     */
+    public static AttemptLog open(Path logFile, Durability durability, Consumer<ByteBuffer> replay) throws IOException {
+        return open(logFile, durability, 0L, 0L, replay);
+    }
+
+    /**
+     * Opens the log at the given path, creating it if necessary, and replays the records written after a checkpoint.
+     * <p>
+     * A checkpoint is identified by the {@link #getId() id} of the log and the {@link #sync() offset} it covers.
+     * Records before that offset are skipped without being read. If the file does not exist or is empty, a new log
+     * with a new id is created.
+     * </p>
+     *
+     * @param logFile the path of the log file.
+     * @param durability the durability of records appended from now on.
+     * @param checkpointLogId the id of the log the checkpoint was taken from, or {@code 0} for no checkpoint.
+     * @param checkpointOffset the offset covered by the checkpoint, or {@code 0} for no checkpoint.
+     * @param replay receives the payload of each record after the checkpoint, in order.
+     * @return the opened {@code AttemptLog}, positioned after the last intact record.
+     * @throws IOException if the file cannot be read or written, is not an attempt log, or is not the log the
+     *         checkpoint was taken from.
+     */
+    public static AttemptLog open(Path logFile, Durability durability, long checkpointLogId, long checkpointOffset,
+                                  Consumer<ByteBuffer> replay) throws IOException {
+        FileChannel channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long id;
+            long end;
+            if (channel.size() == 0) {
+                id = writeHeader(channel);
+                end = HEADER_SIZE;
+            } else {
+                id = readHeader(channel);
+                if (checkpointLogId != 0 && checkpointLogId != id) {
+                    throw new IOException("Attempt log " + logFile + " is not the log the checkpoint was taken from");
+                }
+                long start = checkpointLogId == 0 ? HEADER_SIZE : checkpointOffset;
+                if (start < HEADER_SIZE || start > channel.size()) {
+                    throw new IOException("Attempt log " + logFile + " is shorter than the checkpoint");
+                }
+                end = replay(channel, start, replay);
+            }
+            channel.truncate(end);
+            channel.position(end);
+            return new AttemptLog(channel, durability, id);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static long writeHeader(FileChannel channel) throws IOException {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putLong(id).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+        return id;
+    }
+
+    private static long readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (readFully(channel, header, 0) < HEADER_SIZE || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Not a version " + VERSION + " attempt log");
+        }
+        return header.getLong(8);
+    }
+
+    /**
+     * Replays all intact records from the given offset and returns the offset just after the last one.
+     */
+    private static long replay(FileChannel channel, long start, Consumer<ByteBuffer> replay) throws IOException {
+        long size = channel.size();
+        long position = start;
+        ByteBuffer frameHeader = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+        ByteBuffer payload = ByteBuffer.allocate(4096);
+        CRC32 crc = new CRC32();
+        while (position + FRAME_HEADER_SIZE <= size) {
+            frameHeader.clear();
+            readFully(channel, frameHeader, position);
+            int length = frameHeader.getInt(0);
+            int checksum = frameHeader.getInt(4);
+            if (length < 0 || length > MAX_RECORD_SIZE || position + FRAME_HEADER_SIZE + length > size) {
+                break;
+            }
+            if (payload.capacity() < length) {
+                payload = ByteBuffer.allocate(Math.max(length, payload.capacity() * 2));
+            }
+            payload.clear().limit(length);
+            readFully(channel, payload, position + FRAME_HEADER_SIZE);
+            payload.flip();
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            replay.accept(payload.asReadOnlyBuffer());
+            position += FRAME_HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * Retrieves the random id written to the log when it was created, which ties checkpoints to their log.
+     *
+     * @return the id of this log, never {@code 0}.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Writes every queued record and returns the offset just after the last one. Callers taking a checkpoint must
+     * make sure no records are appended concurrently.
+     *
+     * @return the offset up to which the log holds all appended records.
+     * @throws UncheckedIOException if the records cannot be written.
+     */
+    public long sync() {
+        long last;
+        synchronized (this) {
+            checkHealthy();
+            last = appendedSequence;
+        }
+        awaitDurable(last);
+        synchronized (this) {
+            try {
+                return channel.position();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the durability of this log.
+     *
+     * @return the {@link Durability} of appended records.
+     */
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Queues a record for writing. With {@link Durability#SYNC_EACH} the record is written and synced immediately.
+     *
+     * @param payload the record to append.
+     * @return the sequence number of the record, to be passed to {@link #awaitDurable(long)}.
+     * @throws UncheckedIOException if an earlier write failed or the record cannot be written.
+     */
+    public synchronized long append(byte[] payload) {
+        checkHealthy();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int frameSize = FRAME_HEADER_SIZE + payload.length;
+        if (durability == Durability.SYNC_EACH) {
+            ByteBuffer frame = ByteBuffer.allocate(frameSize).putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+            try {
+                while (frame.hasRemaining()) {
+                    channel.write(frame);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                failure = e;
+                throw new UncheckedIOException(e);
+            }
+            durableSequence = ++appendedSequence;
+            return appendedSequence;
+        }
+        if (pendingSize + frameSize > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingSize + frameSize));
+        }
+        ByteBuffer.wrap(pending, pendingSize, frameSize).putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        pendingSize += frameSize;
+        return ++appendedSequence;
+    }
+
+    /**
+     * Blocks until the record with the given sequence number is written according to the log's durability.
+     * The first waiting thread writes every queued record as one batch; the others wait for it.
+     *
+     * @param sequence the sequence number returned by {@link #append(byte[])}.
+     * @throws UncheckedIOException if the record could not be written.
+     */
+    public void awaitDurable(long sequence) {
+        while (true) {
+            byte[] batch;
+            int batchSize;
+            long batchEnd;
+            synchronized (this) {
+                while (durableSequence < sequence && flushing) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new UncheckedIOException(new IOException("Interrupted while waiting for the attempt log", e));
+                    }
+                }
+                if (durableSequence >= sequence) {
+                    return;
+                }
+                checkHealthy();
+                flushing = true;
+                batch = pending;
+                batchSize = pendingSize;
+                batchEnd = appendedSequence;
+                pending = spare;
+                pendingSize = 0;
+            }
+            IOException error = null;
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(batch, 0, batchSize);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (durability == Durability.GROUP_COMMIT) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+            synchronized (this) {
+                flushing = false;
+                spare = batch;
+                if (error == null) {
+                    durableSequence = batchEnd;
+                } else {
+                    failure = error;
+                }
+                notifyAll();
+            }
+            if (error != null) {
+                throw new UncheckedIOException(error);
+            }
+        }
+    }
+
+    private void checkHealthy() {
+        if (failure != null) {
+            throw new UncheckedIOException("Attempt log is unusable after a failed write", failure);
+        }
+        if (!channel.isOpen()) {
+            throw new IllegalStateException("Attempt log is closed");
+        }
+    }
+
+    /**
+     * Writes and syncs all queued records, then closes the log file.
+     *
+     * @throws IOException if the remaining records cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        long last;
+        synchronized (this) {
+            if (!channel.isOpen()) {
+                return;
+            }
+            last = appendedSequence;
+        }
+        try {
+            awaitDurable(last);
+            channel.force(true);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            channel.close();
+        }
+    }
+}
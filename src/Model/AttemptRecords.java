@@ -0,0 +1,493 @@
+package Model;
+
+import Factory.QuestionFactory;
+import Factory.StudentFactory;
+import Implementations.ColumnarQuestionStore;
+import Implementations.FreeResponseQuestion;
+import Implementations.IndexedQuiz;
+import Implementations.MultipleChoiceQuestion;
+import Implementations.QuizImpl;
+import Interfaces.Question;
+import Interfaces.QuizGenerator;
+import Interfaces.Student;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Binary encoding of the records written to an {@code AttemptLog} by {@code QuizSystem}, also used for the
+ * students and questions of a {@code QuizSnapshot}.
+ * <p>
+ * A record starts with its type, followed by the student's first name, last name and date of birth.
+ * A regular quiz record then holds the quiz questions, the answers given, which questions were missed and the
+ * score; a revision record holds only the score, since that is all a revision attempt changes. A transfer record
+ * holds the complete state of a student handed over from another shard, in the per-student encoding of
+ * {@code QuizSnapshot}, and a release record marks a student handed over to another shard. Questions from the
+ * system's pool are stored as their index in the pool, other questions are stored in full, multiple-choice
+ * questions with an explicit option list together with their options and free-response questions together with
+ * the number of typos they accept.
+ * Strings are stored as their UTF-8 length followed by their bytes, with a length of {@code -1} for {@code null}.
+ * </p>
+ *
+ * @author Your Name
+ */
+final class AttemptRecords {
+    private static final byte QUIZ = 1;
+    private static final byte REVISION = 2;
+    private static final byte TRANSFER = 3;
+    private static final byte RELEASE = 4;
+    private static final byte POOL_QUESTION = 0;
+    private static final byte FREE_QUESTION = 1;
+    private static final byte MULTIPLE_QUESTION = 2;
+    private static final byte OPTIONS_QUESTION = 3;
+
+    private AttemptRecords() {
+    }
+
+    /**
+     * Encodes a graded regular quiz attempt.
+     *
+     * @param student the student who took the quiz.
+     * @param quiz the quiz that was taken.
+     * @param pool the question pool.
+     * @param poolIndex the index of the pool's questions.
+     * @param answers the answers given, parallel to the quiz questions.
+     * @param missed the positions of the questions answered incorrectly.
+     * @param score the score achieved.
+     * @return the encoded record.
+     * @throws IllegalArgumentException if a question that is not in the pool is of an unknown type.
+     */
+    static byte[] encodeQuiz(Student student, QuizGenerator quiz, List<Question> pool, PoolIndex poolIndex,
+                             List<String> answers, BitSet missed, double score) {
+        Writer writer = new Writer();
+        writer.putByte(QUIZ);
+        writer.putStudent(student);
+        writer.putQuiz(quiz, pool, poolIndex);
+        writer.putStrings(answers);
+        long[] missedWords = missed.toLongArray();
+        writer.putInt(missedWords.length);
+        for (long word : missedWords) {
+            writer.putLong(word);
+        }
+        writer.putDouble(score);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encodes a graded revision quiz attempt.
+     *
+     * @param student the student who took the revision quiz.
+     * @param score the score achieved.
+     * @return the encoded record.
+     */
+    static byte[] encodeRevision(Student student, double score) {
+        Writer writer = new Writer();
+        writer.putByte(REVISION);
+        writer.putStudent(student);
+        writer.putDouble(score);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encodes the complete state of a student handed over from another shard.
+     *
+     * @param student the student.
+     * @param studentRecord the student's record, read under its own lock.
+     * @param pool the question pool.
+     * @param poolIndex the index of the pool's questions.
+     * @return the encoded record.
+     * @throws IllegalArgumentException if a question that is not in the pool is of an unknown type.
+     */
+    static byte[] encodeTransfer(Student student, StudentRecord studentRecord, List<Question> pool,
+                                 PoolIndex poolIndex) {
+        Writer writer = new Writer();
+        writer.putByte(TRANSFER);
+        writer.putStudent(student);
+        QuizSnapshot.writeRecord(writer, studentRecord, pool, poolIndex, null);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encodes the release of a student handed over to another shard.
+     *
+     * @param student the student.
+     * @return the encoded record.
+     */
+    static byte[] encodeRelease(Student student) {
+        Writer writer = new Writer();
+        writer.putByte(RELEASE);
+        writer.putStudent(student);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes a transfer record without applying it, to check it before it is logged.
+     *
+     * @param record the encoded record.
+     * @param pool the question pool the record's pool indices refer to.
+     * @return the student the record transfers.
+     * @throws IllegalArgumentException if the record is not a well-formed transfer record.
+     */
+    static Student checkTransfer(ByteBuffer record, List<Question> pool) {
+        try {
+            if (record.get() != TRANSFER) {
+                throw new IllegalArgumentException("Not a student transfer record");
+            }
+            Student student = readStudent(record);
+            QuizSnapshot.readRecord(record, pool, null);
+            if (record.hasRemaining()) {
+                throw new IllegalArgumentException("Unexpected data after the transferred student");
+            }
+            return student;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Malformed student transfer record", e);
+        }
+    }
+
+    /**
+     * Decodes one record and applies it to the student records, exactly as the original attempt was applied.
+     *
+     * @param record the encoded record.
+     * @param pool the question pool the record's pool indices refer to.
+     * @param students the registry of the students whose records are updated.
+     * @param maxQuizAttempts the maximum number of regular quiz attempts.
+     * @param maxRevisionAttempts the maximum number of revision attempts.
+     * @param cohort the cohort statistics to add regular quiz scores to.
+     * @param questionDifficulty the per-question answer counts to update, or {@code null} if they are not tracked.
+     * @throws IllegalArgumentException if the record is malformed or refers to a question outside the pool.
+     */
+    static void apply(ByteBuffer record, List<Question> pool, StudentRegistry students,
+                      int maxQuizAttempts, int maxRevisionAttempts, CohortStatistics cohort,
+                      QuestionDifficulty questionDifficulty) {
+        try {
+            byte type = record.get();
+            Student student = readStudent(record);
+            StudentRecord studentRecord = students.getOrRegister(student);
+            if (type == REVISION) {
+                studentRecord.tryRecordRevision(maxRevisionAttempts, record.getDouble());
+                return;
+            }
+            if (type == TRANSFER) {
+                studentRecord.adopt(QuizSnapshot.readRecord(record, pool, null), cohort);
+                return;
+            }
+            if (type == RELEASE) {
+                studentRecord.release(cohort);
+                return;
+            }
+            if (type != QUIZ) {
+                throw new IllegalArgumentException("Unknown attempt record type: " + type);
+            }
+            QuizGenerator quiz = readQuiz(record, pool);
+            List<Question> questions = quiz.getQuestions();
+            List<String> answers = readStrings(record);
+            long[] missedWords = new long[record.getInt()];
+            for (int i = 0; i < missedWords.length; i++) {
+                missedWords[i] = record.getLong();
+            }
+            BitSet missed = BitSet.valueOf(missedWords);
+            List<Question> missedQuestions = new ArrayList<>();
+            for (int i = missed.nextSetBit(0); i >= 0; i = missed.nextSetBit(i + 1)) {
+                missedQuestions.add(questions.get(i));
+            }
+            boolean recorded = studentRecord.tryRecordQuiz(maxQuizAttempts, quiz, answers,
+                    missedQuestions, record.getDouble(), cohort);
+            if (recorded && questionDifficulty != null) {
+                for (int i = 0; i < questions.size(); i++) {
+                    questionDifficulty.record(questions.get(i), !missed.get(i));
+                }
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Malformed attempt record", e);
+        }
+    }
+
+    /**
+     * Reads a quiz written by {@link Writer#putQuiz(QuizGenerator, List, PoolIndex)}. A quiz made only of pool questions
+     * is rebuilt as an {@code IndexedQuiz} over the pool, so restored quizzes are as compact as new ones.
+     *
+     * @param record the buffer positioned at the quiz.
+     * @param pool the question pool that pool indices refer to.
+     * @return the quiz.
+     * @throws IllegalArgumentException if the quiz is malformed or refers to a position outside the pool.
+     */
+    static QuizGenerator readQuiz(ByteBuffer record, List<Question> pool) {
+        int questionCount = record.getInt();
+        if (questionCount < 0) {
+            throw new IllegalArgumentException("Negative question count: " + questionCount);
+        }
+        int[] indices = new int[questionCount];
+        List<Question> questions = null;
+        for (int i = 0; i < questionCount; i++) {
+            if (questions == null && record.get(record.position()) == POOL_QUESTION) {
+                record.get();
+                indices[i] = readPoolIndex(record, pool);
+                continue;
+            }
+            if (questions == null) {
+                // A question from outside the pool; the quiz has to hold its questions
+                questions = new ArrayList<>(questionCount);
+                for (int j = 0; j < i; j++) {
+                    questions.add(pool.get(indices[j]));
+                }
+            }
+            questions.add(readQuestion(record, pool));
+        }
+        return questions == null ? QuizImpl.createQuiz(pool, indices) : QuizImpl.createQuiz(questions);
+    }
+
+    /**
+     * Reads a question written by {@link Writer#putQuestion(Question, PoolIndex)}.
+     *
+     * @param record the buffer positioned at the question.
+     * @param pool the question pool that pool indices refer to.
+     * @return the question.
+     * @throws IllegalArgumentException if the question refers to a position outside the pool or is of an
+     *         unknown kind.
+     */
+    static Question readQuestion(ByteBuffer record, List<Question> pool) {
+        byte kind = record.get();
+        if (kind == POOL_QUESTION) {
+            return pool.get(readPoolIndex(record, pool));
+        }
+        if (kind < FREE_QUESTION || kind > OPTIONS_QUESTION) {
+            throw new IllegalArgumentException("Unknown question kind " + kind);
+        }
+        String text = readString(record);
+        if (kind == OPTIONS_QUESTION) {
+            List<String> options = readStrings(record);
+            return new MultipleChoiceQuestion(text, options, new HashSet<>(readStrings(record)));
+        }
+        List<String> correctAnswers = readStrings(record);
+        if (kind == FREE_QUESTION) {
+            return QuestionFactory.createQuestion("free", text, correctAnswers, record.getInt());
+        }
+        return QuestionFactory.createQuestion("multiple", text, correctAnswers);
+    }
+
+    /**
+     * Reads a question written by {@link Writer#putQuestion(Question, PoolIndex)} straight into a columnar store,
+     * without creating a question object.
+     *
+     * @param record the buffer positioned at the question.
+     * @param store the builder to add the question to.
+     * @throws IllegalArgumentException if the question is a pool question or of an unknown kind, or is invalid.
+     */
+    static void readQuestionInto(ByteBuffer record, ColumnarQuestionStore.Builder store) {
+        byte kind = record.get();
+        if (kind < FREE_QUESTION || kind > OPTIONS_QUESTION) {
+            throw new IllegalArgumentException("Unknown question kind " + kind);
+        }
+        String text = readString(record);
+        if (kind == OPTIONS_QUESTION) {
+            List<String> options = readStrings(record);
+            store.addMultipleChoice(text, options, readStrings(record));
+            return;
+        }
+        List<String> correctAnswers = readStrings(record);
+        if (kind == FREE_QUESTION) {
+            store.add("free", text, correctAnswers, record.getInt());
+        } else {
+            store.add("multiple", text, correctAnswers);
+        }
+    }
+
+    private static int readPoolIndex(ByteBuffer record, List<Question> pool) {
+        int index = record.getInt();
+        if (index < 0 || index >= pool.size()) {
+            throw new IllegalArgumentException("Attempt record refers to question " + index
+                    + " but the question pool has " + pool.size() + " questions");
+        }
+        return index;
+    }
+
+    /**
+     * Reads a student written by {@link Writer#putStudent(Student)}.
+     *
+     * @param record the buffer positioned at the student.
+     * @return a student equal to the one written.
+     */
+    static Student readStudent(ByteBuffer record) {
+        String firstName = readString(record);
+        String lastName = readString(record);
+        return StudentFactory.createStudent(firstName, lastName, new Date(record.getLong()));
+    }
+
+    /**
+     * Reads a list of strings written by {@link Writer#putStrings(List)}.
+     *
+     * @param record the buffer positioned at the list.
+     * @return the strings, which may include {@code null}.
+     */
+    static List<String> readStrings(ByteBuffer record) {
+        int count = record.getInt();
+        List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            strings.add(readString(record));
+        }
+        return strings;
+    }
+
+    /**
+     * Reads a string written by {@link Writer#putString(String)}.
+     *
+     * @param record the buffer positioned at the string.
+     * @return the string, or {@code null}.
+     */
+    static String readString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Growable big-endian byte buffer for encoding records.
+     */
+    static final class Writer {
+        private ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        void putByte(byte value) {
+            ensure(1).put(value);
+        }
+
+        void putInt(int value) {
+            ensure(Integer.BYTES).putInt(value);
+        }
+
+        void putLong(long value) {
+            ensure(Long.BYTES).putLong(value);
+        }
+
+        void putDouble(double value) {
+            ensure(Double.BYTES).putDouble(value);
+        }
+
+        void putString(String value) {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(Integer.BYTES + bytes.length).putInt(bytes.length).put(bytes);
+        }
+
+        void putStrings(List<String> values) {
+            putInt(values.size());
+            for (String value : values) {
+                putString(value);
+            }
+        }
+
+        void putStudent(Student student) {
+            putString(student.getFirstName());
+            putString(student.getLastName());
+            putLong(student.getDateOfBirth().getTime());
+        }
+
+        void putQuiz(QuizGenerator quiz, List<Question> pool, PoolIndex poolIndex) {
+            if (quiz instanceof IndexedQuiz && ((IndexedQuiz) quiz).getPool() == pool) {
+                // Already stored as pool positions, so no lookups are needed
+                IndexedQuiz indexed = (IndexedQuiz) quiz;
+                putInt(indexed.size());
+                for (int i = 0; i < indexed.size(); i++) {
+                    putByte(POOL_QUESTION);
+                    putInt(indexed.getQuestionIndex(i));
+                }
+                return;
+            }
+            List<Question> questions = quiz.getQuestions();
+            putInt(questions.size());
+            for (Question question : questions) {
+                putQuestion(question, poolIndex);
+            }
+        }
+
+        void putQuestion(Question question, PoolIndex poolIndex) {
+            int index = poolIndex.indexOf(question);
+            if (index >= 0) {
+                putByte(POOL_QUESTION);
+                putInt(index);
+                return;
+            }
+            if (question instanceof MultipleChoiceQuestion && ((MultipleChoiceQuestion) question).hasOptionList()) {
+                putByte(OPTIONS_QUESTION);
+                putString(question.getQuestionText());
+                putStrings(((MultipleChoiceQuestion) question).getOptions());
+                putStrings(question.getCorrectAnswers());
+                return;
+            }
+            if (question instanceof ColumnarQuestionStore.StoredQuestion && ((ColumnarQuestionStore.StoredQuestion) question).hasOptionList()) {
+                putByte(OPTIONS_QUESTION);
+                putString(question.getQuestionText());
+                putStrings(((ColumnarQuestionStore.StoredQuestion) question).getOptions());
+                putStrings(question.getCorrectAnswers());
+                return;
+            }
+            int maxEdits;
+            if (question instanceof MultipleChoiceQuestion || question instanceof ColumnarQuestionStore.StoredQuestion
+                    && ((ColumnarQuestionStore.StoredQuestion) question).isMultipleChoice()) {
+                maxEdits = -1;
+                putByte(MULTIPLE_QUESTION);
+            } else if (question instanceof FreeResponseQuestion) {
+                maxEdits = ((FreeResponseQuestion) question).getMaxEdits();
+                putByte(FREE_QUESTION);
+            } else if (question instanceof ColumnarQuestionStore.StoredQuestion) {
+                maxEdits = ((ColumnarQuestionStore.StoredQuestion) question).getMaxEdits();
+                putByte(FREE_QUESTION);
+            } else {
+                throw new IllegalArgumentException("Question type cannot be logged: " + question.getClass().getName());
+            }
+            putString(question.getQuestionText());
+            putStrings(question.getCorrectAnswers());
+            if (maxEdits >= 0) {
+                putInt(maxEdits);
+            }
+        }
+
+        int size() {
+            return buffer.position();
+        }
+
+        /**
+         * Writes the encoded bytes to the channel, adds them to the checksum and empties the buffer.
+         */
+        void drainTo(FileChannel channel, CRC32 checksum) throws IOException {
+            buffer.flip();
+            checksum.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private ByteBuffer ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+            return buffer;
+        }
+
+        byte[] toByteArray() {
+            byte[] bytes = new byte[buffer.position()];
+            buffer.flip();
+            buffer.get(bytes);
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package Model;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Score distribution of all regular quiz attempts recorded by a {@code QuizSystem}.
+ * <p>
+ * Scores are counted in a fixed histogram of {@value #BUCKETS} buckets, one per thousandth of the score range, so
+ * the mean, median, percentiles and pass rates of the whole cohort are answered in time proportional to the number
+ * of buckets, however many students and attempts there are. Percentiles are exact to the nearest thousandth.
+ * </p>
+ *
+ * <p> Every counter is a {@code LongAdder} or {@code DoubleAdder}, so concurrent submissions update the histogram
+ * without locking or contending on a single counter. Queries read the counters without stopping updates, so a
+ * query made while attempts are being recorded reflects some, but not necessarily all, of them.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class CohortStatistics {
+    /**
+     * The number of histogram buckets; bucket {@code i} counts the scores closest to {@code i / 1000.0}.
+     */
+    public static final int BUCKETS = 1001;
+    private static final double PASS_MARK = 0.5;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final DoubleAdder scoreSum = new DoubleAdder();
+    private final LongAdder passedAttempts = new LongAdder();
+    private final LongAdder students = new LongAdder();
+    private final LongAdder passedStudents = new LongAdder();
+
+    /**
+     * Constructs an empty {@code CohortStatistics}.
+     */
+    CohortStatistics() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one regular quiz score.
+     *
+     * @param score the score achieved, between 0.0 and 1.0.
+     * @param firstAttempt whether this is the student's first regular quiz.
+     * @param firstPass whether this is the first attempt in which the student reached the pass mark.
+     */
+    void addQuizScore(double score, boolean firstAttempt, boolean firstPass) {
+        buckets[bucketOf(score)].increment();
+        scoreSum.add(score);
+        if (score >= PASS_MARK) {
+            passedAttempts.increment();
+        }
+        if (firstAttempt) {
+            students.increment();
+        }
+        if (firstPass) {
+            passedStudents.increment();
+        }
+    }
+
+    /**
+     * Removes one regular quiz score recorded earlier with the same arguments, when the student who achieved it
+     * is handed over to another shard.
+     *
+     * @param score the score achieved, between 0.0 and 1.0.
+     * @param firstAttempt whether this was the student's first regular quiz.
+     * @param firstPass whether this was the first attempt in which the student reached the pass mark.
+     */
+    void removeQuizScore(double score, boolean firstAttempt, boolean firstPass) {
+        buckets[bucketOf(score)].decrement();
+        scoreSum.add(-score);
+        if (score >= PASS_MARK) {
+            passedAttempts.decrement();
+        }
+        if (firstAttempt) {
+            students.decrement();
+        }
+        if (firstPass) {
+            passedStudents.decrement();
+        }
+    }
+
+    private static int bucketOf(double score) {
+        return (int) Math.round(Math.min(1.0, Math.max(0.0, score)) * (BUCKETS - 1));
+    }
+
+    /**
+     * Retrieves the number of regular quiz attempts recorded.
+     *
+     * @return the number of attempts.
+     */
+    public long getAttemptCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Retrieves the number of students who have taken at least one regular quiz.
+     *
+     * @return the number of students.
+     */
+    public long getStudentCount() {
+        return students.sum();
+    }
+
+    /**
+     * Retrieves the mean score over all attempts.
+     *
+     * @return the mean score, or {@code NaN} if no attempt was recorded.
+     */
+    public double getMeanScore() {
+        long count = getAttemptCount();
+        return count == 0 ? Double.NaN : scoreSum.sum() / count;
+    }
+
+    /**
+     * Retrieves the median score over all attempts.
+     *
+     * @return the median score, to the nearest thousandth, or {@code NaN} if no attempt was recorded.
+     */
+    public double getMedianScore() {
+        return getPercentile(50);
+    }
+
+    /**
+     * Retrieves a percentile of the scores over all attempts, using the nearest-rank method: the smallest score
+     * such that at least {@code percentile} percent of the attempts scored at most that much.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the percentile score, to the nearest thousandth, or {@code NaN} if no attempt was recorded.
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+     */
+    public double getPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return (double) i / (BUCKETS - 1);
+            }
+        }
+        return 1.0;
+    }
+
+    /**
+     * Retrieves the fraction of attempts that reached the pass mark of 0.5.
+     *
+     * @return the attempt pass rate, or {@code NaN} if no attempt was recorded.
+     */
+    public double getPassRate() {
+        long count = getAttemptCount();
+        return count == 0 ? Double.NaN : (double) passedAttempts.sum() / count;
+    }
+
+    /**
+     * Retrieves the fraction of students whose final verdict is a pass, that is, who reached the pass mark in at
+     * least one regular quiz.
+     *
+     * @return the student pass rate, or {@code NaN} if no student has taken a quiz.
+     */
+    public double getStudentPassRate() {
+        long count = students.sum();
+        return count == 0 ? Double.NaN : (double) passedStudents.sum() / count;
+    }
+
+    /**
+     * Retrieves the number of attempts in each histogram bucket.
+     *
+     * @return a new {@code long[]} of {@value #BUCKETS} counts; index {@code i} counts the scores closest to
+     *         {@code i / 1000.0}.
+     */
+    public long[] getHistogram() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+}
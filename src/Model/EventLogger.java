@@ -0,0 +1,155 @@
+package Model;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Structured event logger used by {@code QuizSystem}: every event has a level, a short name and a few named fields,
+ * and is handed to an {@link AsyncLogAppender}, so logging never waits for I/O on the calling thread.
+ * <p>
+ * Events below the logger's threshold are discarded before the event is built; callers computing expensive field
+ * values can check {@link #isEnabled(Level)} first. Fields are passed as alternating names and values, and values are
+ * converted to text on the appender's thread, so they should be immutable.
+ * </p>
+ *
+ * <p> The default logger, shared by all systems unless they are given another one, writes to standard error at
+ * the level named by the {@code quiz.log.level} system property, {@code INFO} unless set to another level name.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class EventLogger {
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    /**
+     * The severity of an event, in increasing order; {@code OFF} as a threshold discards every event.
+     */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF
+    }
+
+    private final Level threshold;
+    private final AsyncLogAppender appender;
+
+    /**
+     * Constructs an {@code EventLogger} passing the events at or above a threshold to an appender.
+     *
+     * @param threshold the lowest level logged.
+     * @param appender the appender receiving the events.
+     * @throws IllegalArgumentException if the threshold or appender is {@code null}.
+     */
+    public EventLogger(Level threshold, AsyncLogAppender appender) {
+        if (threshold == null || appender == null) {
+            throw new IllegalArgumentException("Threshold and appender cannot be null");
+        }
+        this.threshold = threshold;
+        this.appender = appender;
+    }
+
+    /**
+     * Retrieves the logger shared by all systems that were not given another one.
+     *
+     * @return the default {@code EventLogger}.
+     */
+    public static EventLogger getDefault() {
+        return DefaultHolder.LOGGER;
+    }
+
+    /**
+     * Checks whether events of a level are logged.
+     *
+     * @param level the level.
+     * @return {@code true} if events of the level reach the appender.
+     */
+    public boolean isEnabled(Level level) {
+        return level.compareTo(threshold) >= 0 && level != Level.OFF;
+    }
+
+    /**
+     * Logs an event without fields.
+     *
+     * @param level the level of the event.
+     * @param event the name of the event.
+     */
+    public void log(Level level, String event) {
+        if (isEnabled(level)) {
+            appender.append(level, event, new Object[0]);
+        }
+    }
+
+    /**
+     * Logs an event with one field.
+     *
+     * @param level the level of the event.
+     * @param event the name of the event.
+     * @param name the name of the field.
+     * @param value the value of the field.
+     */
+    public void log(Level level, String event, String name, Object value) {
+        if (isEnabled(level)) {
+            appender.append(level, event, new Object[]{name, value});
+        }
+    }
+
+    /**
+     * Logs an event with two fields.
+     *
+     * @param level the level of the event.
+     * @param event the name of the event.
+     * @param name1 the name of the first field.
+     * @param value1 the value of the first field.
+     * @param name2 the name of the second field.
+     * @param value2 the value of the second field.
+     */
+    public void log(Level level, String event, String name1, Object value1, String name2, Object value2) {
+        if (isEnabled(level)) {
+            appender.append(level, event, new Object[]{name1, value1, name2, value2});
+        }
+    }
+
+    /**
+     * Logs an event with three fields.
+     *
+     * @param level the level of the event.
+     * @param event the name of the event.
+     * @param name1 the name of the first field.
+     * @param value1 the value of the first field.
+     * @param name2 the name of the second field.
+     * @param value2 the value of the second field.
+     * @param name3 the name of the third field.
+     * @param value3 the value of the third field.
+     */
+    public void log(Level level, String event, String name1, Object value1, String name2, Object value2,
+                    String name3, Object value3) {
+        if (isEnabled(level)) {
+            appender.append(level, event, new Object[]{name1, value1, name2, value2, name3, value3});
+        }
+    }
+
+    /**
+     * Retrieves the appender the events are passed to.
+     *
+     * @return the {@code AsyncLogAppender}.
+     */
+    public AsyncLogAppender getAppender() {
+        return appender;
+    }
+
+    private static final class DefaultHolder {
+        private static final EventLogger LOGGER = new EventLogger(defaultLevel(),
+                new AsyncLogAppender(new BufferedWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8)),
+                        DEFAULT_CAPACITY));
+
+        private static Level defaultLevel() {
+            String name = System.getProperty("quiz.log.level", "INFO").toUpperCase(Locale.ROOT);
+            for (Level level : Level.values()) {
+                if (level.name().equals(name)) {
+                    return level;
+                }
+            }
+            return Level.INFO;
+        }
+    }
+}
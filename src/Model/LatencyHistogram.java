@@ -0,0 +1,122 @@
+package Model;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations in nanoseconds with log-linear buckets: every power of two is split into
+ * {@value #SUB_BUCKETS} equal buckets, so a recorded duration is known to within about 6%, from one nanosecond up to
+ * several minutes, in a fixed number of counters.
+ * <p>
+ * Each bucket is a {@code LongAdder}, as in {@code CohortStatistics}, because calls of similar duration all
+ * record into the same few buckets.
+ * </p>
+ *
+ * @author Your Name
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Constructs an empty {@code LatencyHistogram}.
+     */
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration in nanoseconds; negative durations count as zero, and durations beyond the largest
+     *              bucket count in the largest bucket.
+     */
+    void record(long nanos) {
+        buckets[bucketOf(Math.max(0, nanos))].increment();
+        totalNanos.add(Math.max(0, nanos));
+    }
+
+    private static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the largest duration that falls in a bucket.
+     */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        long subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Retrieves the number of recorded durations.
+     *
+     * @return the count.
+     */
+    long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Retrieves the sum of all recorded durations.
+     *
+     * @return the total in nanoseconds.
+     */
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Retrieves a percentile of the recorded durations, using the nearest-rank method.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the upper bound of the bucket holding the percentile in nanoseconds, or {@code 0} if nothing was
+     *         recorded.
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+     */
+    long getPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(BUCKETS - 1);
+    }
+}
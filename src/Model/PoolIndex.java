@@ -0,0 +1,60 @@
+package Model;
+
+import Implementations.ColumnarQuestionStore;
+import Interfaces.Question;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the position of a question in the question pool of a {@code QuizSystem}, so that attempts and snapshots can
+ * store pool questions as pool indices.
+ * <p>
+ * The views of a {@code ColumnarQuestionStore} know their position, so a columnar pool is searched without any
+ * index. Any other pool is indexed once, by identity, in a map holding the first position of each question.
+ * </p>
+ *
+ * @author Your Name
+ */
+final class PoolIndex {
+    /**
+     * The index of an empty pool, which finds no question.
+     */
+    static final PoolIndex NONE = new PoolIndex(List.of());
+
+    private final ColumnarQuestionStore store;
+    private final Map<Question, Integer> positions;
+
+    /**
+     * Indexes a question pool.
+     *
+     * @param pool the question pool, which must not change afterwards.
+     */
+    PoolIndex(List<Question> pool) {
+        if (pool instanceof ColumnarQuestionStore) {
+            this.store = (ColumnarQuestionStore) pool;
+            this.positions = null;
+        } else {
+            this.store = null;
+            this.positions = new IdentityHashMap<>();
+            for (int i = 0; i < pool.size(); i++) {
+                positions.putIfAbsent(pool.get(i), i);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the position of a question in the pool.
+     *
+     * @param question the question.
+     * @return the position of the question, or {@code -1} if it is not a pool question.
+     */
+    int indexOf(Question question) {
+        if (store != null) {
+            return store.indexOf(question);
+        }
+        Integer position = positions.get(question);
+        return position == null ? -1 : position;
+    }
+}
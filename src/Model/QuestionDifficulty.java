@@ -0,0 +1,206 @@
+package Model;
+
+import Interfaces.Question;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts, for every question graded by a {@code QuizSystem}, how often it was answered correctly and incorrectly.
+ * <p>
+ * Counters are created the first time a question is graded and live in a {@code ConcurrentHashMap} keyed by the
+ * question itself, so looking one up never locks. Each count is a {@code LongAdder}, as in
+ * {@code CohortStatistics}, because a popular question is graded by many threads at once.
+ * </p>
+ *
+ * <p> Difficulty is measured by accuracy, the fraction of attempts answered correctly; the hardest questions are
+ * those with the lowest accuracy.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class QuestionDifficulty {
+    private final ConcurrentHashMap<Question, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an empty {@code QuestionDifficulty}.
+     */
+    QuestionDifficulty() {
+    }
+
+    /**
+     * Records one graded answer to a question.
+     *
+     * @param question the question that was answered.
+     * @param correct whether the answer was correct.
+     */
+    void record(Question question, boolean correct) {
+        Counters questionCounters = countersOf(question);
+        (correct ? questionCounters.correct : questionCounters.incorrect).increment();
+    }
+
+    /**
+     * Adds previously recorded counts for a question, used when restoring a snapshot.
+     *
+     * @param question the question.
+     * @param correct the number of correct answers to add.
+     * @param incorrect the number of incorrect answers to add.
+     */
+    void add(Question question, long correct, long incorrect) {
+        Counters questionCounters = countersOf(question);
+        questionCounters.correct.add(correct);
+        questionCounters.incorrect.add(incorrect);
+    }
+
+    private Counters countersOf(Question question) {
+        Counters questionCounters = counters.get(question);
+        return questionCounters != null ? questionCounters : counters.computeIfAbsent(question, q -> new Counters());
+    }
+
+    /**
+     * Passes the counts of every graded question to the given consumer.
+     *
+     * @param consumer receives each question with its correct and incorrect counts.
+     */
+    void forEach(CountConsumer consumer) {
+        counters.forEach((question, questionCounters) ->
+                consumer.accept(question, questionCounters.correct.sum(), questionCounters.incorrect.sum()));
+    }
+
+    /**
+     * Retrieves how often a question was answered correctly.
+     *
+     * @param question the question.
+     * @return the number of correct answers, {@code 0} if the question was never graded.
+     */
+    public long getCorrectCount(Question question) {
+        Counters questionCounters = counters.get(question);
+        return questionCounters == null ? 0 : questionCounters.correct.sum();
+    }
+
+    /**
+     * Retrieves how often a question was answered incorrectly.
+     *
+     * @param question the question.
+     * @return the number of incorrect answers, {@code 0} if the question was never graded.
+     */
+    public long getIncorrectCount(Question question) {
+        Counters questionCounters = counters.get(question);
+        return questionCounters == null ? 0 : questionCounters.incorrect.sum();
+    }
+
+    /**
+     * Retrieves the fraction of answers to a question that were correct.
+     *
+     * @param question the question.
+     * @return the accuracy between 0.0 and 1.0, or {@code NaN} if the question was never graded.
+     */
+    public double getAccuracy(Question question) {
+        Counters questionCounters = counters.get(question);
+        return questionCounters == null ? Double.NaN : questionCounters.accuracy();
+    }
+
+    /**
+     * Retrieves the smoothed difficulty of a question, the fraction of incorrect answers after adding one correct and
+     * one incorrect answer. Unlike {@code 1 - accuracy} it is defined for questions never graded, which count as
+     * {@code 0.5}, and it moves away from {@code 0.5} only as answers accumulate.
+     *
+     * @param question the question.
+     * @return the smoothed difficulty, strictly between 0.0 and 1.0.
+     */
+    public double getSmoothedDifficulty(Question question) {
+        Counters questionCounters = counters.get(question);
+        if (questionCounters == null) {
+            return 0.5;
+        }
+        double incorrect = questionCounters.incorrect.sum();
+        return (incorrect + 1) / (questionCounters.correct.sum() + incorrect + 2);
+    }
+
+    /**
+     * Retrieves the graded questions with the lowest accuracy.
+     *
+     * @param count the maximum number of questions to return.
+     * @return a {@code List} of at most {@code count} questions, hardest first; questions with equal accuracy are
+     *         ordered by the number of times they were answered, most first.
+     * @throws IllegalArgumentException if the count is negative.
+     */
+    public List<Question> getHardestQuestions(int count) {
+        return getHardestQuestions(count, 1);
+    }
+
+    /**
+     * Retrieves the questions with the lowest accuracy among those answered at least a given number of times,
+     * so that questions graded only once or twice do not dominate the list.
+     *
+     * @param count the maximum number of questions to return.
+     * @param minimumAnswers the minimum number of graded answers for a question to be considered.
+     * @return a {@code List} of at most {@code count} questions, hardest first; questions with equal accuracy are
+     *         ordered by the number of times they were answered, most first.
+     * @throws IllegalArgumentException if the count is negative.
+     */
+    public List<Question> getHardestQuestions(int count, long minimumAnswers) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative");
+        }
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        // Bounded heap holding the hardest questions seen so far, easiest at the head: O(questions * log(count))
+        Comparator<Ranked> easiestFirst = Comparator.comparingDouble((Ranked ranked) -> ranked.accuracy).reversed()
+                .thenComparingLong(ranked -> ranked.answers);
+        PriorityQueue<Ranked> hardest = new PriorityQueue<>(Math.min(count, 1024) + 1, easiestFirst);
+        counters.forEach((question, questionCounters) -> {
+            long correct = questionCounters.correct.sum();
+            long answers = correct + questionCounters.incorrect.sum();
+            if (answers == 0 || answers < minimumAnswers) {
+                return;
+            }
+            hardest.add(new Ranked(question, (double) correct / answers, answers));
+            if (hardest.size() > count) {
+                hardest.poll();
+            }
+        });
+        List<Question> result = new ArrayList<>(hardest.size());
+        while (!hardest.isEmpty()) {
+            result.add(hardest.poll().question);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Receives the counts of one question.
+     */
+    interface CountConsumer {
+        void accept(Question question, long correct, long incorrect);
+    }
+
+    private static final class Counters {
+        private final LongAdder correct = new LongAdder();
+        private final LongAdder incorrect = new LongAdder();
+
+        double accuracy() {
+            long right = correct.sum();
+            long answers = right + incorrect.sum();
+            return answers == 0 ? Double.NaN : (double) right / answers;
+        }
+    }
+
+    private static final class Ranked {
+        private final Question question;
+        private final double accuracy;
+        private final long answers;
+
+        Ranked(Question question, double accuracy, long answers) {
+            this.question = question;
+            this.accuracy = accuracy;
+            this.answers = answers;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package Model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events emitted by {@code QuizSystem}, shown under the "Quiz" category of a recording.
+ * <p>
+ * Events cost next to nothing while no recording has them enabled, since the JIT removes the unused event objects.
+ * They are recorded without stack traces to keep recordings small.
+ * </p>
+ *
+ * @author Your Name
+ */
+final class QuizEvents {
+    private QuizEvents() {
+    }
+
+    /**
+     * A regular quiz graded by {@code takeQuiz}.
+     */
+    @Name("quiz.TakeQuiz")
+    @Label("Take Quiz")
+    @Category("Quiz")
+    @Description("A regular quiz submission graded and recorded")
+    @StackTrace(false)
+    static final class TakeQuiz extends Event {
+        @Label("Questions")
+        int questions;
+
+        @Label("Score")
+        double score;
+
+        @Label("Failed")
+        @Description("Whether the submission was rejected")
+        boolean failed;
+    }
+
+    /**
+     * A quiz generated by {@code generateQuiz}.
+     */
+    @Name("quiz.GenerateQuiz")
+    @Label("Generate Quiz")
+    @Category("Quiz")
+    @StackTrace(false)
+    static final class GenerateQuiz extends Event {
+        @Label("Questions")
+        int questions;
+
+        @Label("Failed")
+        boolean failed;
+    }
+
+    /**
+     * A revision quiz generated by {@code generateRevisionQuiz}.
+     */
+    @Name("quiz.GenerateRevisionQuiz")
+    @Label("Generate Revision Quiz")
+    @Category("Quiz")
+    @StackTrace(false)
+    static final class GenerateRevisionQuiz extends Event {
+        @Label("Questions")
+        @Description("The number of questions in the revision quiz, 0 if the student had none to revise")
+        int questions;
+    }
+
+    /**
+     * One answer checked while grading a quiz. Disabled by default, and only emitted while metrics are recorded,
+     * since a recording would otherwise hold one event per question graded.
+     */
+    @Name("quiz.AnswerCheck")
+    @Label("Answer Check")
+    @Category("Quiz")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class AnswerCheck extends Event {
+        @Label("Correct")
+        boolean correct;
+    }
+}
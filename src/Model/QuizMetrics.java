@@ -0,0 +1,178 @@
+package Model;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call counts, error counts, in-flight gauges and latency histograms for the hot operations of a
+ * {@code QuizSystem}.
+ * <p>
+ * Metrics are recorded only when the {@code quiz.metrics} system property is {@code true} when the system is
+ * created; otherwise the system never reads the clock or touches these counters, and every value stays zero. All
+ * counters are {@code LongAdder}s, as in {@code CohortStatistics}, since every call of an operation updates them.
+ * </p>
+ *
+ * <p> {@link #export()} renders every metric as text in the Prometheus exposition format, one metric per line.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class QuizMetrics {
+    private static final double[] EXPORTED_PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * The measured operations.
+     */
+    public enum Operation {
+        /**
+         * Grading and recording a regular quiz with {@code takeQuiz}.
+         */
+        TAKE_QUIZ("take_quiz"),
+        /**
+         * Generating a quiz with {@code generateQuiz}.
+         */
+        GENERATE_QUIZ("generate_quiz"),
+        /**
+         * Generating a revision quiz with {@code generateRevisionQuiz}.
+         */
+        GENERATE_REVISION_QUIZ("generate_revision_quiz"),
+        /**
+         * Checking one answer with {@code isAnswerCorrectOrNot} while grading a quiz.
+         */
+        ANSWER_CHECK("answer_check");
+
+        private final String metricName;
+
+        Operation(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private final OperationMetrics[] operations = new OperationMetrics[Operation.values().length];
+
+    /**
+     * Constructs a {@code QuizMetrics} with every value at zero.
+     */
+    QuizMetrics() {
+        for (int i = 0; i < operations.length; i++) {
+            operations[i] = new OperationMetrics();
+        }
+    }
+
+    /**
+     * Marks the start of an operation.
+     *
+     * @param operation the operation.
+     * @return the start time to pass to {@link #end(Operation, long, boolean)}.
+     */
+    long start(Operation operation) {
+        operations[operation.ordinal()].inFlight.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of an operation started with {@link #start(Operation)}.
+     *
+     * @param operation the operation.
+     * @param startNanos the start time returned by {@code start}.
+     * @param failed whether the operation ended with an exception.
+     */
+    void end(Operation operation, long startNanos, boolean failed) {
+        OperationMetrics metrics = operations[operation.ordinal()];
+        metrics.latency.record(System.nanoTime() - startNanos);
+        metrics.inFlight.decrement();
+        if (failed) {
+            metrics.errors.increment();
+        }
+    }
+
+    /**
+     * Records an operation that was timed by the caller and is never in flight for long, such as one answer check.
+     *
+     * @param operation the operation.
+     * @param nanos the duration of the operation.
+     */
+    void record(Operation operation, long nanos) {
+        operations[operation.ordinal()].latency.record(nanos);
+    }
+
+    /**
+     * Retrieves how many times an operation completed, successfully or not.
+     *
+     * @param operation the operation.
+     * @return the number of calls.
+     */
+    public long getCount(Operation operation) {
+        return operations[operation.ordinal()].latency.getCount();
+    }
+
+    /**
+     * Retrieves how many times an operation ended with an exception.
+     *
+     * @param operation the operation.
+     * @return the number of failed calls.
+     */
+    public long getErrorCount(Operation operation) {
+        return operations[operation.ordinal()].errors.sum();
+    }
+
+    /**
+     * Retrieves how many calls of an operation are running right now.
+     *
+     * @param operation the operation.
+     * @return the number of calls in flight.
+     */
+    public long getInFlight(Operation operation) {
+        return operations[operation.ordinal()].inFlight.sum();
+    }
+
+    /**
+     * Retrieves a latency percentile of an operation, accurate to about 6%.
+     *
+     * @param operation the operation.
+     * @param percentile the percentile, between 0 and 100.
+     * @return the latency in nanoseconds, or {@code 0} if the operation was never recorded.
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+     */
+    public long getLatencyPercentileNanos(Operation operation, double percentile) {
+        return operations[operation.ordinal()].latency.getPercentile(percentile);
+    }
+
+    /**
+     * Renders all metrics as text in the Prometheus exposition format: for every operation the call and error
+     * counters, the in-flight gauge, and a latency summary with its 50th, 90th, 99th and 99.9th percentiles in
+     * seconds.
+     *
+     * @return the text snapshot, one metric per line.
+     */
+    public String export() {
+        StringBuilder text = new StringBuilder();
+        for (Operation operation : Operation.values()) {
+            OperationMetrics metrics = operations[operation.ordinal()];
+            String name = "quiz_" + operation.metricName;
+            long count = metrics.latency.getCount();
+            text.append("# TYPE ").append(name).append("_errors_total counter\n");
+            text.append(name).append("_errors_total ").append(metrics.errors.sum()).append('\n');
+            text.append("# TYPE ").append(name).append("_in_flight gauge\n");
+            text.append(name).append("_in_flight ").append(metrics.inFlight.sum()).append('\n');
+            text.append("# TYPE ").append(name).append("_seconds summary\n");
+            for (double percentile : EXPORTED_PERCENTILES) {
+                text.append(name).append("_seconds{quantile=\"").append(format(percentile / 100)).append("\"} ")
+                        .append(format(metrics.latency.getPercentile(percentile) / 1e9)).append('\n');
+            }
+            text.append(name).append("_seconds_sum ").append(format(metrics.latency.getTotalNanos() / 1e9)).append('\n');
+            text.append(name).append("_seconds_count ").append(count).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.9g", value).replaceFirst("\\.?0+(e|$)", "$1");
+    }
+
+    private static final class OperationMetrics {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder inFlight = new LongAdder();
+    }
+}
@@ -0,0 +1,343 @@
+package Model;
+
+import Implementations.ColumnarQuestionStore;
+import Implementations.QuizImpl;
+import Interfaces.Question;
+import Interfaces.QuizGenerator;
+import Interfaces.Student;
+import Interfaces.StudentStatistics;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary checkpoint of the complete state of a {@code QuizSystem}: its question pool and every student's attempts,
+ * answers, missed questions and scores.
+ * <p>
+ * The file starts with a magic number, a format version and the attempt log position the snapshot covers, followed
+ * by the question pool, a table of the distinct answers given, one entry per student and the per-question answer
+ * counts, and ends with a CRC-32 of everything before it. A pool that was a {@code ColumnarQuestionStore} is read
+ * straight back into a new store, without creating an object per question. Students and questions use the encoding of
+ * {@code AttemptRecords}; quiz questions taken from the pool are stored as pool indices and answers as indices into
+ * the answer table, which also makes restored students share one instance of each answer. A snapshot is written to
+ * a temporary file that replaces the previous snapshot only once it is complete, and is read back through a memory
+ * mapping, so loading costs one pass over the file however many attempts led to it.
+ * </p>
+ *
+ * @author Your Name
+ */
+final class QuizSnapshot {
+    private static final int MAGIC = 0x51534E50; // "QSNP"
+    private static final int VERSION = 4;
+    private static final byte OBJECT_POOL = 0;
+    private static final byte COLUMNAR_POOL = 1;
+    private static final int FLUSH_SIZE = 1 << 20;
+
+    private final List<Question> questionPool;
+    private final StudentRegistry students;
+    private final long logId;
+    private final long logOffset;
+    private final QuestionDifficulty questionDifficulty;
+
+    private QuizSnapshot(List<Question> questionPool, StudentRegistry students, long logId, long logOffset,
+                         QuestionDifficulty questionDifficulty) {
+        this.questionPool = questionPool;
+        this.students = students;
+        this.logId = logId;
+        this.logOffset = logOffset;
+        this.questionDifficulty = questionDifficulty;
+    }
+
+    /**
+     * Writes a snapshot, atomically replacing any existing file. Callers must make sure no attempts are recorded
+     * while the snapshot is written.
+     *
+     * @param snapshotFile the path of the snapshot.
+     * @param questionPool the question pool.
+     * @param students the registry of all students and their records.
+     * @param logId the id of the attempt log, or {@code 0} if there is none.
+     * @param logOffset the attempt log offset up to which all attempts are included.
+     * @param questionDifficulty the per-question answer counts.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    static void write(Path snapshotFile, List<Question> questionPool, StudentRegistry students,
+                      long logId, long logOffset, QuestionDifficulty questionDifficulty) throws IOException {
+        Path temporary = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        CRC32 checksum = new CRC32();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            AttemptRecords.Writer writer = new AttemptRecords.Writer();
+            writer.putInt(MAGIC);
+            writer.putInt(VERSION);
+            writer.putLong(logId);
+            writer.putLong(logOffset);
+            writer.putInt(questionPool.size());
+            writer.putByte(questionPool instanceof ColumnarQuestionStore ? COLUMNAR_POOL : OBJECT_POOL);
+            for (Question question : questionPool) {
+                writer.putQuestion(question, PoolIndex.NONE);
+            }
+            PoolIndex poolIndex = new PoolIndex(questionPool);
+            // Students give the same few answers over and over, so each distinct answer is stored once
+            Map<String, Integer> answerIndex = new HashMap<>();
+            int studentCount = students.size();
+            for (int id = 0; id < studentCount; id++) {
+                for (List<String> answers : students.recordOf(id).getAnswers()) {
+                    for (String answer : answers) {
+                        if (answer != null) {
+                            answerIndex.putIfAbsent(answer, answerIndex.size());
+                        }
+                    }
+                }
+            }
+            String[] answerTable = new String[answerIndex.size()];
+            answerIndex.forEach((answer, index) -> answerTable[index] = answer);
+            writer.putStrings(Arrays.asList(answerTable));
+            writer.putInt(studentCount);
+            for (int id = 0; id < studentCount; id++) {
+                writer.putStudent(students.studentOf(id));
+                writeRecord(writer, students.recordOf(id), questionPool, poolIndex, answerIndex);
+                if (writer.size() >= FLUSH_SIZE) {
+                    writer.drainTo(channel, checksum);
+                }
+            }
+            List<Question> gradedQuestions = new ArrayList<>();
+            List<long[]> gradedCounts = new ArrayList<>();
+            questionDifficulty.forEach((question, correct, incorrect) -> {
+                gradedQuestions.add(question);
+                gradedCounts.add(new long[]{correct, incorrect});
+            });
+            writer.putInt(gradedQuestions.size());
+            for (int i = 0; i < gradedQuestions.size(); i++) {
+                writer.putQuestion(gradedQuestions.get(i), poolIndex);
+                writer.putLong(gradedCounts.get(i)[0]);
+                writer.putLong(gradedCounts.get(i)[1]);
+            }
+            writer.drainTo(channel, checksum);
+            ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES).putInt((int) checksum.getValue()).flip();
+            while (trailer.hasRemaining()) {
+                channel.write(trailer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes the state of one student record: the quizzes taken with their answers and scores, the revision
+     * scores and the missed questions.
+     *
+     * @param writer the writer to append to.
+     * @param record the record, read under its own lock.
+     * @param questionPool the question pool.
+     * @param poolIndex the index of the pool's questions.
+     * @param answerIndex the position of each answer in the snapshot's answer table, or {@code null} to write the
+     *        answers themselves.
+     */
+    static void writeRecord(AttemptRecords.Writer writer, StudentRecord record, List<Question> questionPool,
+                            PoolIndex poolIndex, Map<String, Integer> answerIndex) {
+        synchronized (record) {
+            List<QuizGenerator> quizzes = record.getQuizzes();
+            List<List<String>> answers = record.getAnswers();
+            StudentStatistics scores = record.getStatistics();
+            writer.putInt(quizzes.size());
+            for (int i = 0; i < quizzes.size(); i++) {
+                writer.putQuiz(quizzes.get(i), questionPool, poolIndex);
+                List<String> given = answers.get(i);
+                if (answerIndex == null) {
+                    writer.putStrings(given);
+                } else {
+                    writer.putInt(given.size());
+                    for (String answer : given) {
+                        writer.putInt(answer == null ? -1 : answerIndex.get(answer));
+                    }
+                }
+                writer.putDouble(scores.getQuizScore(i));
+            }
+            double[] revisionScores = record.getRevisionScores();
+            writer.putInt(revisionScores.length);
+            for (double score : revisionScores) {
+                writer.putDouble(score);
+            }
+            Map<Question, Integer> missCounts = record.getMissCounts();
+            writer.putInt(missCounts.size());
+            for (Map.Entry<Question, Integer> miss : missCounts.entrySet()) {
+                writer.putQuestion(miss.getKey(), poolIndex);
+                writer.putInt(miss.getValue());
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot through a memory mapping.
+     *
+     * @param snapshotFile the path of the snapshot.
+     * @return the loaded snapshot.
+     * @throws IOException if the file cannot be read, is not a snapshot, or is corrupt.
+     */
+    static QuizSnapshot read(Path snapshotFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + snapshotFile + " is larger than 2 GB");
+            }
+            if (size < 3 * Integer.BYTES) {
+                throw new IOException("Not a version " + VERSION + " quiz snapshot: " + snapshotFile);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int contentSize = (int) size - Integer.BYTES;
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("Not a version " + VERSION + " quiz snapshot: " + snapshotFile);
+            }
+            CRC32 checksum = new CRC32();
+            checksum.update(buffer.duplicate().limit(contentSize));
+            if ((int) checksum.getValue() != buffer.getInt(contentSize)) {
+                throw new IOException("Quiz snapshot " + snapshotFile + " is corrupt");
+            }
+            buffer.limit(contentSize).position(2 * Integer.BYTES);
+            try {
+                return read(buffer);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+                throw new IOException("Quiz snapshot " + snapshotFile + " is malformed", e);
+            }
+        }
+    }
+
+    private static QuizSnapshot read(ByteBuffer buffer) {
+        long logId = buffer.getLong();
+        long logOffset = buffer.getLong();
+        int poolSize = buffer.getInt();
+        byte poolKind = buffer.get();
+        List<Question> questionPool;
+        if (poolKind == COLUMNAR_POOL) {
+            ColumnarQuestionStore.Builder store = new ColumnarQuestionStore.Builder();
+            for (int i = 0; i < poolSize; i++) {
+                AttemptRecords.readQuestionInto(buffer, store);
+            }
+            questionPool = store.build();
+        } else if (poolKind == OBJECT_POOL) {
+            questionPool = new ArrayList<>(poolSize);
+            for (int i = 0; i < poolSize; i++) {
+                questionPool.add(AttemptRecords.readQuestion(buffer, Collections.emptyList()));
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown question pool kind " + poolKind);
+        }
+        String[] answerTable = AttemptRecords.readStrings(buffer).toArray(new String[0]);
+        int studentCount = buffer.getInt();
+        StudentRegistry students = new StudentRegistry();
+        for (int s = 0; s < studentCount; s++) {
+            Student student = AttemptRecords.readStudent(buffer);
+            students.register(student, readRecord(buffer, questionPool, answerTable));
+        }
+        QuestionDifficulty questionDifficulty = new QuestionDifficulty();
+        int gradedCount = buffer.getInt();
+        for (int i = 0; i < gradedCount; i++) {
+            Question question = AttemptRecords.readQuestion(buffer, questionPool);
+            questionDifficulty.add(question, buffer.getLong(), buffer.getLong());
+        }
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Unexpected data after the last student");
+        }
+        return new QuizSnapshot(questionPool, students, logId, logOffset, questionDifficulty);
+    }
+
+    /**
+     * Reads the state of one student record written by {@link #writeRecord}.
+     *
+     * @param buffer the buffer positioned at the record.
+     * @param questionPool the question pool that pool indices refer to.
+     * @param answerTable the snapshot's answer table, or {@code null} if the answers were written themselves.
+     * @return the restored {@code StudentRecord}.
+     * @throws IllegalArgumentException if the record refers to a question outside the pool.
+     */
+    static StudentRecord readRecord(ByteBuffer buffer, List<Question> questionPool, String[] answerTable) {
+        int quizCount = buffer.getInt();
+        List<QuizGenerator> quizzes = new ArrayList<>(quizCount);
+        List<List<String>> answers = new ArrayList<>(quizCount);
+        double[] quizScores = new double[quizCount];
+        for (int i = 0; i < quizCount; i++) {
+            quizzes.add(AttemptRecords.readQuiz(buffer, questionPool));
+            if (answerTable == null) {
+                answers.add(AttemptRecords.readStrings(buffer));
+            } else {
+                String[] given = new String[buffer.getInt()];
+                for (int a = 0; a < given.length; a++) {
+                    int answer = buffer.getInt();
+                    given[a] = answer < 0 ? null : answerTable[answer];
+                }
+                answers.add(Arrays.asList(given));
+            }
+            quizScores[i] = buffer.getDouble();
+        }
+        double[] revisionScores = new double[buffer.getInt()];
+        for (int i = 0; i < revisionScores.length; i++) {
+            revisionScores[i] = buffer.getDouble();
+        }
+        int missedCount = buffer.getInt();
+        Map<Question, Integer> missCounts = new LinkedHashMap<>();
+        for (int i = 0; i < missedCount; i++) {
+            missCounts.put(AttemptRecords.readQuestion(buffer, questionPool), buffer.getInt());
+        }
+        return StudentRecord.restore(quizzes, answers, quizScores, revisionScores, missCounts);
+    }
+
+    /**
+     * Retrieves the question pool saved in the snapshot.
+     *
+     * @return the {@code List} of pool questions, in their original order, which the restored quizzes refer to.
+     */
+    List<Question> getQuestionPool() {
+        return questionPool;
+    }
+
+    /**
+     * Retrieves the students and records rebuilt from the snapshot.
+     *
+     * @return a {@code StudentRegistry} holding the students in the order they were saved.
+     */
+    StudentRegistry getStudents() {
+        return students;
+    }
+
+    /**
+     * Retrieves the per-question answer counts saved in the snapshot.
+     *
+     * @return the {@code QuestionDifficulty} counts.
+     */
+    QuestionDifficulty getQuestionDifficulty() {
+        return questionDifficulty;
+    }
+
+    /**
+     * Retrieves the id of the attempt log the snapshot was taken from.
+     *
+     * @return the attempt log id, or {@code 0} if no log was open.
+     */
+    long getLogId() {
+        return logId;
+    }
+
+    /**
+     * Retrieves the attempt log offset up to which all attempts are included in the snapshot.
+     *
+     * @return the attempt log offset, or {@code 0} if no log was open.
+     */
+    long getLogOffset() {
+        return logOffset;
+    }
+}
@@ -1,10 +1,27 @@
 package Model;
 
+import Factory.QuestionBankLoader;
 import Factory.QuestionFactory;
+import Implementations.ColumnarQuestionStore;
 import Implementations.QuizImpl;
+import Implementations.ScoringPolicy;
+import Implementations.WeightedSampler;
 import Interfaces.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 
 /**
  * Represents a system for managing quizzes, quiz attempts, and revision attempts for students.
@@ -22,30 +39,72 @@ import java.util.*;
  * <p> This class ensures that students are limited to a certain number of quiz and revision attempts.
  * </p>
  *
+ * <p> The system is safe for concurrent use. All per-student state lives in a {@code StudentRecord} held in a
+ * {@code StudentRegistry}, which gives every student a dense id and is read without locking. The attempt limit is
+ * checked and incremented atomically, and submissions from different students never contend with each other.
+ * </p>
+ *
+ * <p> Attempts can be made durable with {@link #openAttemptLog(Path, AttemptLog.Durability)}: every graded quiz and
+ * revision quiz is then appended to a local log, and the attempts, answers and statistics recorded in an existing
+ * log are restored when it is opened. {@link #writeSnapshot(Path)} checkpoints the whole state into a compact binary
+ * file that {@link #fromSnapshot(Path)} loads in one pass, so a restart only replays the attempts logged after the
+ * last snapshot.
+ * </p>
+ *
+ * <p> A system can serve one shard of a larger student population. Students are handed over between shards with
+ * {@link #exportStudents(Predicate)}, {@link #importStudents(byte[])} and {@link #releaseStudents(Predicate)}; a
+ * shard rejects attempts from students it has released.
+ * </p>
+ *
+ * <p> Quizzes and revision quizzes are scored by a {@link ScoringPolicy}, all-or-nothing with equal weights unless
+ * another policy is set with {@link #setScoringPolicy(ScoringPolicy)}. A question that does not earn its full
+ * weight counts as missed.
+ * </p>
+ *
+ * <p> Noteworthy events, such as opened attempt logs, written snapshots and rejected attempts, are reported as
+ * structured events to an {@link EventLogger}, which writes them on a background thread.
+ * </p>
+ *
  * <p> The class provides multiple overloaded constructors and various methods for interacting with quizzes and students.
  * </p>
  *
  * @author Your Name
  */
-public class QuizSystem {
-    private final List<Question> questionPool = new ArrayList<>();
-    private Map<Student, List<QuizGenerator>> studentQuizzes;
-    private Map<Student, List<List<String>>> studentAnswers;
-    private final Map<Student, StudentStatistics> studentStatisticsMap = new HashMap<>();
-    private final Map<Student, Integer> quizAttempts = new HashMap<>();
-    private final Map<Student, Integer> revisionAttempts = new HashMap<>();
+public class QuizSystem implements AutoCloseable {
+    private static final int MAX_QUIZ_ATTEMPTS = 2;
+    private static final int MAX_REVISION_ATTEMPTS = 2;
+    private static final double MISSED_QUESTION_WEIGHT = 2.0;
+    private static final long ADAPTIVE_REFRESH_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("quiz.adaptive.refreshMillis", 1000));
+
+    private final List<Question> questionPool;
+    private final StudentRegistry students = new StudentRegistry();
     private final Map<Student, List<QuizAttempt>> studentQuizHistory;
     private QuizImpl quizFactory;
+    private volatile AttemptLog attemptLog;
+    private volatile PoolIndex poolIndex;
+    private final CohortStatistics cohortStatistics = new CohortStatistics();
+    private final QuestionDifficulty questionDifficulty = new QuestionDifficulty();
+    private final boolean trackDifficulty = Boolean.parseBoolean(System.getProperty("quiz.difficulty", "true"));
+    private final QuizMetrics metrics = new QuizMetrics();
+    private final boolean recordMetrics = Boolean.parseBoolean(System.getProperty("quiz.metrics", "false"));
+    private volatile EventLogger eventLogger = EventLogger.getDefault();
+    private volatile ScoringPolicy scoringPolicy = ScoringPolicy.allOrNothing();
+    private volatile WeightedSampler adaptiveSampler;
+    private volatile long adaptiveSamplerBuiltAt;
+    private final AtomicBoolean adaptiveSamplerRefreshing = new AtomicBoolean();
+    private final ReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    private int restoredStudents;
+    private long snapshotLogId;
+    private long snapshotLogOffset;
 
     /**
      * Constructs a {@code QuizSystem} and initializes the question pool and maps to store student quiz data.
      */
     public QuizSystem(){
+        this.questionPool = new ArrayList<>();
         initializeQuestionPool();
-        this.studentQuizzes = new HashMap<>();
-        this.studentAnswers = new HashMap<>();
-        this.studentQuizHistory = new HashMap<>();
-
+        this.studentQuizHistory = new ConcurrentHashMap<>();
     }
 
     /**
@@ -55,9 +114,87 @@ public class QuizSystem {
      */
     public QuizSystem(QuizImpl quizFactory){
         this.quizFactory = quizFactory;
-        this.studentAnswers = new HashMap<>();
-        this.studentQuizzes = new HashMap<>();
-        this.studentQuizHistory = new HashMap<>();
+        this.questionPool = new ArrayList<>();
+        this.studentQuizHistory = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Constructs a {@code QuizSystem} that draws quizzes from the given question pool instead of the
+     * pre-defined questions. The pool is copied, unless it is a {@code ColumnarQuestionStore}, which cannot change
+     * and is used as it is.
+     *
+     * @param questionPool the {@code List} of questions to draw quizzes from.
+     */
+    public QuizSystem(List<Question> questionPool){
+        this.questionPool = questionPool instanceof ColumnarQuestionStore ? questionPool : new ArrayList<>(questionPool);
+        this.studentQuizHistory = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Constructs a {@code QuizSystem} whose question pool is loaded from a CSV question bank file into a
+     * {@code ColumnarQuestionStore}, so that banks of millions of questions take a few large arrays.
+     *
+     * @param questionBank the path of the question bank, in the format read by {@code QuestionBankLoader}.
+     * @throws IOException if the question bank cannot be read.
+     * @throws IllegalArgumentException if the question bank contains a malformed record.
+     */
+    public QuizSystem(Path questionBank) throws IOException {
+        this(QuestionBankLoader.loadColumnar(questionBank));
+    }
+
+    private QuizSystem(QuizSnapshot snapshot){
+        // Shared with the restored quizzes, which refer to their questions by position in this pool
+        this.questionPool = snapshot.getQuestionPool();
+        StudentRegistry restored = snapshot.getStudents();
+        for (int id = 0; id < restored.size(); id++) {
+            students.register(restored.studentOf(id), restored.recordOf(id)).addScoresTo(cohortStatistics);
+        }
+        this.studentQuizHistory = new ConcurrentHashMap<>();
+        this.restoredStudents = students.size();
+        if(trackDifficulty){
+            snapshot.getQuestionDifficulty().forEach(questionDifficulty::add);
+        }
+        this.snapshotLogId = snapshot.getLogId();
+        this.snapshotLogOffset = snapshot.getLogOffset();
+    }
+
+    /**
+     * Restores a {@code QuizSystem} from a snapshot written by {@link #writeSnapshot(Path)}, including its question
+     * pool. To also restore the attempts recorded after the snapshot, open the same attempt log with
+     * {@link #openAttemptLog(Path, AttemptLog.Durability)} before accepting new attempts.
+     *
+     * @param snapshotFile the path of the snapshot.
+     * @return the restored {@code QuizSystem}.
+     * @throws IOException if the snapshot cannot be read or is corrupt.
+     */
+    public static QuizSystem fromSnapshot(Path snapshotFile) throws IOException {
+        QuizSystem quizSystem = new QuizSystem(QuizSnapshot.read(snapshotFile));
+        quizSystem.eventLogger.log(EventLogger.Level.INFO, "snapshot_loaded", "path", snapshotFile,
+                "students", quizSystem.students.size());
+        return quizSystem;
+    }
+
+    /**
+     * Writes a snapshot of the question pool and of every student's attempts, answers, missed questions and
+     * scores, atomically replacing the file if it exists. If an attempt log is open, the snapshot records how far
+     * the log is covered, so restoring replays only the attempts logged afterwards.
+     * <p>
+     * New attempts wait while the snapshot is written, so every snapshot is consistent with the log.
+     * </p>
+     *
+     * @param snapshotFile the path of the snapshot.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    public void writeSnapshot(Path snapshotFile) throws IOException {
+        checkpointLock.writeLock().lock();
+        try {
+            AttemptLog log = attemptLog;
+            QuizSnapshot.write(snapshotFile, questionPool, students,
+                    log == null ? 0L : log.getId(), log == null ? 0L : log.sync(), questionDifficulty);
+            eventLogger.log(EventLogger.Level.INFO, "snapshot_written", "path", snapshotFile, "students", students.size());
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
     }
 
     /**
@@ -77,6 +214,52 @@ public class QuizSystem {
         questionPool.add(QuestionFactory.createQuestion("multiple", "Which are continents?", List.of("Asia", "Europe", "Africa")));
     }
 
+    /**
+     * Opens an attempt log, restores the attempts it holds and records every later attempt in it.
+     * <p>
+     * The log must have been written by a system with the same question pool, since pool questions are logged
+     * by their position. A system restored from a snapshot replays only the attempts logged after the snapshot,
+     * and must be given the log the snapshot was taken from. Once the log is open, {@code takeQuiz} and
+     * {@code takeRevisionQuiz} return only after the attempt has reached the log with the requested durability; if
+     * the log cannot be written they throw an {@code UncheckedIOException} and later submissions are rejected.
+     * </p>
+     *
+     * @param logFile the path of the attempt log, created if it does not exist.
+     * @param durability how far each attempt must be written before it is acknowledged.
+     * @throws IOException if the log cannot be opened, is not an attempt log, or does not match the snapshot.
+     * @throws IllegalArgumentException if the log holds a record that cannot be restored.
+     * @throws IllegalStateException if a log is already open or attempts have already been recorded.
+     */
+    public synchronized void openAttemptLog(Path logFile, AttemptLog.Durability durability) throws IOException {
+        if(attemptLog != null){
+            throw new IllegalStateException("An attempt log is already open.");
+        }
+        if(students.size() > restoredStudents){
+            throw new IllegalStateException("The attempt log must be opened before any attempts are recorded.");
+        }
+        AttemptLog log = AttemptLog.open(logFile, durability, snapshotLogId, snapshotLogOffset, record ->
+                AttemptRecords.apply(record, questionPool, students, MAX_QUIZ_ATTEMPTS, MAX_REVISION_ATTEMPTS, cohortStatistics,
+                        trackDifficulty ? questionDifficulty : null));
+        this.attemptLog = log;
+        eventLogger.log(EventLogger.Level.INFO, "attempt_log_opened", "path", logFile, "durability", durability,
+                "students", students.size());
+    }
+
+    /**
+     * Writes any pending attempts and closes the attempt log, if one is open.
+     *
+     * @throws IOException if the pending attempts cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        AttemptLog log = attemptLog;
+        if(log != null){
+            attemptLog = null;
+            log.close();
+            eventLogger.log(EventLogger.Level.INFO, "attempt_log_closed");
+        }
+    }
+
     /**
      * Generates a quiz with a specified number of random questions from the question pool.
      *
@@ -85,19 +268,25 @@ public class QuizSystem {
      * @throws IllegalArgumentException if the requested number of questions exceeds the size of the question pool.
      */
     public QuizGenerator generateQuiz(int numberOfQuestions){
-        if(numberOfQuestions > questionPool.size()){
-            throw new IllegalArgumentException("Not enough questions in the pool.");
-        }
-
-        Set<Question> selectedQuestions = new HashSet<>();
-        Random random = new Random();
-
-        while (selectedQuestions.size() < numberOfQuestions) {
-            Question randomQuestion = questionPool.get(random.nextInt(questionPool.size()));
-            selectedQuestions.add(randomQuestion);
+        QuizEvents.GenerateQuiz event = new QuizEvents.GenerateQuiz();
+        event.begin();
+        long start = recordMetrics ? metrics.start(QuizMetrics.Operation.GENERATE_QUIZ) : 0;
+        boolean failed = true;
+        try {
+            if(numberOfQuestions > questionPool.size()){
+                throw new IllegalArgumentException("Not enough questions in the pool.");
+            }
+            QuizGenerator quiz = QuizImpl.createQuiz(questionPool, numberOfQuestions);
+            failed = false;
+            return quiz;
+        } finally {
+            if(recordMetrics){
+                metrics.end(QuizMetrics.Operation.GENERATE_QUIZ, start, failed);
+            }
+            event.questions = numberOfQuestions;
+            event.failed = failed;
+            event.commit();
         }
-
-        return QuizImpl.createQuiz(new ArrayList<>(selectedQuestions), 5);
     }
 
     /**
@@ -109,21 +298,132 @@ public class QuizSystem {
      * @throws IllegalArgumentException if the student has no incorrect questions to revise.
      */
     public QuizGenerator revise(Student student, int numberOfQuestions){
-        StudentStatistics studentStatistics = studentStatisticsMap.get(student);
-        List<Question> incorrectQuestions = studentStatistics.getIncorrectQuestion();
-
+        StudentRecord record = students.get(student);
+        if(record == null){
+            throw new IllegalArgumentException("No incorrect questions to revise.");
+        }
+        List<Question> incorrectQuestions = record.getMissedQuestions();
         if(incorrectQuestions.isEmpty()){
             throw new IllegalArgumentException("No incorrect questions to revise.");
         }
+        return QuizImpl.createQuiz(incorrectQuestions, Math.min(numberOfQuestions, incorrectQuestions.size()));
+    }
 
-        Set<Question> selectedQuestions = new HashSet<>();
-        Random random = new Random();
+    /**
+     * Generates a quiz adapted to a student: questions are drawn from the pool without repetition, each with a
+     * probability proportional to its difficulty across all students, and questions the student has missed before
+     * are drawn more often, in proportion to how often they were missed.
+     * <p>
+     * Draws use a weighted sampler over the whole pool that is rebuilt in the background from the per-question
+     * counts at most once every {@code quiz.adaptive.refreshMillis} milliseconds (1000 by default), so each quiz
+     * costs {@code O(numberOfQuestions * log(poolSize))} plus the size of the student's miss history, however large
+     * the pool is.
+     * </p>
+     *
+     * @param student the student for whom the quiz is generated.
+     * @param numberOfQuestions the number of questions to include in the quiz.
+     * @return a {@code Quiz} object containing the selected questions.
+     * @throws IllegalArgumentException if the requested number of questions exceeds the size of the question pool.
+     */
+    public QuizGenerator generateAdaptiveQuiz(Student student, int numberOfQuestions){
+        if(numberOfQuestions > questionPool.size()){
+            throw new IllegalArgumentException("Not enough questions in the pool.");
+        }
+        WeightedSampler sampler = adaptiveSampler();
+        StudentRecord record = students.get(student);
+        Map<Question, Integer> missCounts = record == null ? Collections.emptyMap() : record.getMissCounts();
+        PoolIndex index = poolIndex();
+        int[] boostedIndices = new int[missCounts.size()];
+        double[] boosts = new double[missCounts.size()];
+        int boosted = 0;
+        for (Map.Entry<Question, Integer> miss : missCounts.entrySet()) {
+            int position = index.indexOf(miss.getKey());
+            if(position >= 0){
+                boostedIndices[boosted] = position;
+                boosts[boosted++] = sampler.getWeight(position) * miss.getValue() * MISSED_QUESTION_WEIGHT;
+            }
+        }
+        int[] selected = sampler.sample(numberOfQuestions, Arrays.copyOf(boostedIndices, boosted), Arrays.copyOf(boosts, boosted));
+        return QuizImpl.createQuiz(questionPool, selected);
+    }
 
-        while (selectedQuestions.size() < numberOfQuestions && !incorrectQuestions.isEmpty()){
-            Question randomQuestion = incorrectQuestions.get(random.nextInt(incorrectQuestions.size()));
-            selectedQuestions.add(randomQuestion);
+    /**
+     * Generates a revision quiz adapted to a student: questions are drawn from the student's missed questions
+     * without repetition, each with a probability proportional to how often the student missed it and to its
+     * difficulty across all students.
+     *
+     * @param student the student for whom the revision quiz is generated.
+     * @param numberOfQuestions the maximum number of questions to include in the revision quiz.
+     * @return a {@code Quiz} object containing the selected revision questions.
+     * @throws IllegalArgumentException if the student has no incorrect questions to revise.
+     */
+    public QuizGenerator reviseAdaptive(Student student, int numberOfQuestions){
+        StudentRecord record = students.get(student);
+        Map<Question, Integer> missCounts = record == null ? Collections.emptyMap() : record.getMissCounts();
+        if(missCounts.isEmpty()){
+            throw new IllegalArgumentException("No incorrect questions to revise.");
         }
-        return QuizImpl.createQuiz(new ArrayList<>(selectedQuestions),5);
+        List<Question> missedQuestions = new ArrayList<>(missCounts.keySet());
+        double[] weights = new double[missedQuestions.size()];
+        for (int i = 0; i < weights.length; i++) {
+            Question question = missedQuestions.get(i);
+            weights[i] = missCounts.get(question) * questionDifficulty.getSmoothedDifficulty(question);
+        }
+        int[] selected = new WeightedSampler(weights).sample(Math.min(numberOfQuestions, weights.length));
+        List<Question> questions = new ArrayList<>(selected.length);
+        for (int position : selected) {
+            questions.add(missedQuestions.get(position));
+        }
+        return QuizImpl.createQuiz(questions);
+    }
+
+    /**
+     * Returns the weighted sampler over the question pool, starting a background rebuild when it is older than the
+     * refresh interval. Only the very first call waits for a build.
+     */
+    private WeightedSampler adaptiveSampler(){
+        WeightedSampler sampler = adaptiveSampler;
+        if(sampler == null){
+            sampler = buildAdaptiveSampler();
+            adaptiveSamplerBuiltAt = System.nanoTime();
+            adaptiveSampler = sampler;
+        } else if(System.nanoTime() - adaptiveSamplerBuiltAt > ADAPTIVE_REFRESH_NANOS
+                && adaptiveSamplerRefreshing.compareAndSet(false, true)){
+            ForkJoinPool.commonPool().execute(() -> {
+                try {
+                    WeightedSampler rebuilt = buildAdaptiveSampler();
+                    adaptiveSamplerBuiltAt = System.nanoTime();
+                    adaptiveSampler = rebuilt;
+                } finally {
+                    adaptiveSamplerRefreshing.set(false);
+                }
+            });
+        }
+        return sampler;
+    }
+
+    private WeightedSampler buildAdaptiveSampler(){
+        long start = System.nanoTime();
+        double[] weights = new double[questionPool.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = questionDifficulty.getSmoothedDifficulty(questionPool.get(i));
+        }
+        WeightedSampler sampler = new WeightedSampler(weights);
+        eventLogger.log(EventLogger.Level.DEBUG, "adaptive_sampler_built", "questions", weights.length,
+                "millis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return sampler;
+    }
+
+    /**
+     * Returns the index of the pool's questions, building it on first use.
+     */
+    private PoolIndex poolIndex(){
+        PoolIndex index = poolIndex;
+        if(index == null){
+            index = new PoolIndex(questionPool);
+            poolIndex = index;
+        }
+        return index;
     }
 
     /**
@@ -132,17 +432,41 @@ public class QuizSystem {
      * @param student the student taking the quiz.
      * @param quiz the {@code Quiz} object being taken.
      * @param answers a {@code List} of answers provided by the student.
-     * @return a {@code double} representing the score as a percentage of correct answers.
+     * @return a {@code double} representing the score as the fraction of the available points earned under the
+     *         scoring policy.
      * @throws IllegalArgumentException if the student has exceeded the allowed number of quiz attempts or the answers are invalid.
+     * @throws IllegalStateException if the student has been handed over to another shard.
+     * @throws UncheckedIOException if an attempt log is open and the attempt cannot be written to it.
      */
     public double takeQuiz(Student student, QuizGenerator quiz, List<String> answers){
+        QuizEvents.TakeQuiz event = new QuizEvents.TakeQuiz();
+        event.begin();
+        long start = recordMetrics ? metrics.start(QuizMetrics.Operation.TAKE_QUIZ) : 0;
+        boolean failed = true;
+        try {
+            double score = gradeQuiz(student, quiz, answers);
+            failed = false;
+            event.score = score;
+            return score;
+        } finally {
+            if(recordMetrics){
+                metrics.end(QuizMetrics.Operation.TAKE_QUIZ, start, failed);
+            }
+            event.questions = answers == null ? 0 : answers.size();
+            event.failed = failed;
+            event.commit();
+        }
+    }
 
-        if(quizAttempts.getOrDefault(student, 0) >= 2){
-            throw new IllegalArgumentException("Student has failed two regular quizzes. No more attempts allowed.");
+    private double gradeQuiz(Student student, QuizGenerator quiz, List<String> answers){
+        StudentRecord existingRecord = students.get(student);
+        if(existingRecord != null && existingRecord.getQuizAttempts() >= MAX_QUIZ_ATTEMPTS){
+            throw attemptRejected("quiz_attempt_rejected", student, "Student has failed two regular quizzes. No more attempts allowed.");
         }
 
         List<Question> quizQuestions = quiz.getQuestions();
-        int correctAnswerCount = 0;
+        List<Question> missedQuestions = new ArrayList<>();
+        BitSet missed = new BitSet(quizQuestions.size());
         if(answers == null || answers.isEmpty()){
             throw new IllegalArgumentException("Answer should not be empty");
         }
@@ -150,59 +474,195 @@ public class QuizSystem {
             throw new IllegalArgumentException("Number of answers provided does not match the number of quiz questions.");
         }
 
+        ScoringPolicy scoring = scoringPolicy;
+        double points = 0.0;
+        double available = 0.0;
         for (int i = 0; i < quizQuestions.size(); i++) {
-            if(quizQuestions.get(i).isAnswerCorrectOrNot(answers.get(i))){
-                correctAnswerCount++;
+            Question question = quizQuestions.get(i);
+            ScoringPolicy.Rule rule = scoring.ruleFor(question);
+            double earned = recordMetrics ? scoreAnswerTimed(rule, question, answers.get(i))
+                    : rule.points(question, answers.get(i));
+            points += earned;
+            available += rule.getWeight();
+            if(earned < rule.getWeight()){
+                missedQuestions.add(question);
+                missed.set(i);
+            }
+        }
+
+        double score = ScoringPolicy.toScore(points, available);
+        AttemptLog log = attemptLog;
+        byte[] logRecord = log == null ? null : AttemptRecords.encodeQuiz(student, quiz, questionPool, poolIndex(), answers, missed, score);
+        // Re-checked under the record's lock, so concurrent submissions can never exceed the limit
+        long logSequence = 0;
+        checkpointLock.readLock().lock();
+        try {
+            StudentRecord record = students.getOrRegister(student);
+            synchronized (record){
+                if(record.isReleased()){
+                    throw new IllegalStateException("Student is served by another shard.");
+                }
+                if(record.getQuizAttempts() >= MAX_QUIZ_ATTEMPTS){
+                    throw attemptRejected("quiz_attempt_rejected", student, "Student has failed two regular quizzes. No more attempts allowed.");
+                }
+                if(log != null){
+                    logSequence = log.append(logRecord);
+                }
+                record.tryRecordQuiz(MAX_QUIZ_ATTEMPTS, quiz, answers, missedQuestions, score, cohortStatistics);
             }
+            // Recorded before the read lock is released, so a checkpoint holds the counts of every attempt it holds
+            if(trackDifficulty){
+                for (int i = 0; i < quizQuestions.size(); i++) {
+                    questionDifficulty.record(quizQuestions.get(i), !missed.get(i));
+                }
+            }
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        if(log != null){
+            // Waited for outside the record's lock, so concurrent submissions share one sync of the log
+            log.awaitDurable(logSequence);
         }
+        return score;
+    }
+
+    /**
+     * Logs a submission rejected by the attempt limit and returns the exception to throw.
+     */
+    private IllegalArgumentException attemptRejected(String event, Student student, String message){
+        EventLogger logger = eventLogger;
+        if(logger.isEnabled(EventLogger.Level.INFO)){
+            logger.log(EventLogger.Level.INFO, event, "student", student.getFullNameOfStudent());
+        }
+        return new IllegalArgumentException(message);
+    }
 
-        double score = (double) correctAnswerCount / quizQuestions.size();
-        quizAttempts.put(student, quizAttempts.getOrDefault(student, 0) + 1);
+    /**
+     * Scores one answer while recording its latency and an answer-check event.
+     */
+    private double scoreAnswerTimed(ScoringPolicy.Rule rule, Question question, String answer){
+        QuizEvents.AnswerCheck event = new QuizEvents.AnswerCheck();
+        event.begin();
+        long start = System.nanoTime();
+        double points = rule.points(question, answer);
+        metrics.record(QuizMetrics.Operation.ANSWER_CHECK, System.nanoTime() - start);
+        event.correct = points >= rule.getWeight();
+        event.commit();
+        return points;
+    }
 
-        studentQuizzes.computeIfAbsent(student, k -> new ArrayList<>()).add(quiz);
-        studentAnswers.computeIfAbsent(student, k -> new ArrayList<>()).add(answers);
+    /**
+     * Grades a batch of submissions in parallel on the common fork-join pool.
+     *
+     * @param submissions the submissions to grade.
+     * @return a {@code List} of results, one per submission in iteration order.
+     * @see #takeQuizBatch(Collection, ForkJoinPool)
+     */
+    public List<QuizSubmissionResult> takeQuizBatch(Collection<QuizSubmission> submissions){
+        return takeQuizBatch(submissions, ForkJoinPool.commonPool());
+    }
 
-        StudentStatistics studentStatistics = studentStatisticsMap.computeIfAbsent(student, s-> new StudentStatisticsImpl());
-        studentStatistics.addQuizScore(score);
+    /**
+     * Grades a batch of submissions in parallel on the given fork-join pool.
+     * <p>
+     * Every submission is graded exactly as by {@link #takeQuiz(Student, QuizGenerator, List)}. Submissions of the
+     * same student are graded one after another in batch order, so attempt limits and statistics end up as if the
+     * batch had been graded by a sequential loop, while different students are graded concurrently.
+     * </p>
+     *
+     * @param submissions the submissions to grade.
+     * @param pool the {@code ForkJoinPool} to grade on.
+     * @return a {@code List} of results, one per submission in iteration order, holding either the score or the
+     *         exception that rejected the submission.
+     */
+    public List<QuizSubmissionResult> takeQuizBatch(Collection<QuizSubmission> submissions, ForkJoinPool pool){
+        QuizSubmission[] batch = submissions.toArray(new QuizSubmission[0]);
+        QuizSubmissionResult[] results = new QuizSubmissionResult[batch.length];
+        Map<Student, List<Integer>> submissionsByStudent = new LinkedHashMap<>();
+        for (int i = 0; i < batch.length; i++) {
+            submissionsByStudent.computeIfAbsent(batch[i].getStudent(), s -> new ArrayList<>()).add(i);
+        }
+        List<List<Integer>> studentGroups = new ArrayList<>(submissionsByStudent.values());
+        pool.invoke(new BatchGradingTask(studentGroups, 0, studentGroups.size(), batch, results));
+        return List.of(results);
+    }
 
-        if(score < 0.5){
-            studentStatistics.getIncorrectQuestion();
+    /**
+     * Fork-join task grading a range of per-student submission groups.
+     */
+    private final class BatchGradingTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int GROUPS_PER_TASK = 64;
+        private final List<List<Integer>> studentGroups;
+        private final int from;
+        private final int to;
+        private final QuizSubmission[] batch;
+        private final QuizSubmissionResult[] results;
+
+        BatchGradingTask(List<List<Integer>> studentGroups, int from, int to,
+                         QuizSubmission[] batch, QuizSubmissionResult[] results){
+            this.studentGroups = studentGroups;
+            this.from = from;
+            this.to = to;
+            this.batch = batch;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute(){
+            if(to - from > GROUPS_PER_TASK){
+                int middle = (from + to) >>> 1;
+                invokeAll(new BatchGradingTask(studentGroups, from, middle, batch, results),
+                        new BatchGradingTask(studentGroups, middle, to, batch, results));
+                return;
+            }
+            for (int g = from; g < to; g++) {
+                for (int index : studentGroups.get(g)) {
+                    QuizSubmission submission = batch[index];
+                    try {
+                        double score = takeQuiz(submission.getStudent(), submission.getQuiz(), submission.getAnswers());
+                        results[index] = QuizSubmissionResult.graded(submission, score);
+                    } catch (RuntimeException e) {
+                        results[index] = QuizSubmissionResult.failed(submission, e);
+                    }
+                }
+            }
         }
-        return score;
     }
 
     /**
      * Generates a revision quiz based on a student's incorrect answers from previous quizzes.
+     * The incorrect answers are indexed as quizzes are graded, so the cost depends only on the number of
+     * questions to revise, not on the length of the student's history.
      *
      * @param student the student for whom the revision quiz is generated.
      * @return a {@code Quiz} object containing the revision questions or {@code null} if no incorrect questions are found.
      */
     public QuizGenerator generateRevisionQuiz(Student student){
-        List<QuizGenerator> quizzesTaken = studentQuizzes.getOrDefault(student, Collections.emptyList());
-        List<List<String>> answerGiven = studentAnswers.getOrDefault(student, Collections.emptyList());
-        Set<Question> incorrectQuestions = new HashSet<>();
-
-        for (int i = 0; i < quizzesTaken.size(); i++) {
-            QuizGenerator quiz = quizzesTaken.get(i);
-            List<Question> quizQuestions =quiz.getQuestions();
-            List<String> answers = answerGiven.get(i);
-
-            for (int j = 0; j < quizQuestions.size(); j++) {
-                Question question = quizQuestions.get(j);
-                String answer = answers.get(j);
-
-                if (!question.isAnswerCorrectOrNot(answer)){
-                    incorrectQuestions.add(question);
-                }
+        QuizEvents.GenerateRevisionQuiz event = new QuizEvents.GenerateRevisionQuiz();
+        event.begin();
+        long start = recordMetrics ? metrics.start(QuizMetrics.Operation.GENERATE_REVISION_QUIZ) : 0;
+        boolean failed = true;
+        try {
+            StudentRecord record = students.get(student);
+            List<Question> incorrectQuestions = record == null ? Collections.emptyList() : record.getMissedQuestions();
+            EventLogger logger = eventLogger;
+            if(logger.isEnabled(EventLogger.Level.DEBUG)){
+                logger.log(EventLogger.Level.DEBUG, "revision_quiz_generated", "student", student.getFullNameOfStudent(),
+                        "questions", incorrectQuestions.size());
             }
+            event.questions = incorrectQuestions.size();
+            failed = false;
+            if(incorrectQuestions.isEmpty()){
+                return null;
+            }
+            return QuizImpl.createQuiz(incorrectQuestions, incorrectQuestions.size());
+        } finally {
+            if(recordMetrics){
+                metrics.end(QuizMetrics.Operation.GENERATE_REVISION_QUIZ, start, failed);
+            }
+            event.commit();
         }
-        System.out.println("Incorrect questions found: "+incorrectQuestions.size());
-        if(incorrectQuestions.isEmpty()){
-            System.out.println("No incorrect answers found, returning null for revision quiz.");
-            return null;
-        }
-        List<Question> questionList = new ArrayList<>(incorrectQuestions);
-        return quizFactory.createQuiz(questionList,questionList.size());
     }
 
 /**
@@ -212,20 +672,174 @@ public class QuizSystem {
  * @param quiz the {@code Quiz} object being taken.
  * @param answers a {@code List} of answers provided by the student.
  * @return a {@code double} representing the score of the revision quiz.
- * @throws IllegalArgumentException if the student has exceeded the allowed number of revision attempts.
+ * @throws IllegalArgumentException if the student has exceeded the allowed number of revision attempts or the answers are invalid.
+ * @throws IllegalStateException if the student has been handed over to another shard.
+ * @throws UncheckedIOException if an attempt log is open and the attempt cannot be written to it.
  */
     public double takeRevisionQuiz(Student student, QuizGenerator quiz, List<String> answers){
-        if(revisionAttempts.getOrDefault(student, 0) >=2) {
-            throw new IllegalArgumentException("Student has used all revision attempts.");
+        StudentRecord existingRecord = students.get(student);
+        if(existingRecord != null && existingRecord.getRevisionAttempts() >= MAX_REVISION_ATTEMPTS) {
+            throw attemptRejected("revision_attempt_rejected", student, "Student has used all revision attempts.");
+        }
+        double score = scoringPolicy.score(quiz.getQuestions(), answers);
+        AttemptLog log = attemptLog;
+        long logSequence = 0;
+        // Registered only once the answers have been scored, so a rejected submission leaves no student behind
+        checkpointLock.readLock().lock();
+        try {
+            StudentRecord record = students.getOrRegister(student);
+            synchronized (record){
+                if(record.isReleased()){
+                    throw new IllegalStateException("Student is served by another shard.");
+                }
+                if(record.getRevisionAttempts() >= MAX_REVISION_ATTEMPTS){
+                    throw attemptRejected("revision_attempt_rejected", student, "Student has used all revision attempts.");
+                }
+                if(log != null){
+                    logSequence = log.append(AttemptRecords.encodeRevision(student, score));
+                }
+                record.tryRecordRevision(MAX_REVISION_ATTEMPTS, score);
+            }
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        if(log != null){
+            log.awaitDurable(logSequence);
         }
-        double score = quiz.takeQuiz(answers);
-        revisionAttempts.put(student, revisionAttempts.getOrDefault(student, 0) + 1);
-
-        StudentStatistics studentStatistics = studentStatisticsMap.get(student);
-        studentStatistics.addRevisionScore(score);
         return score;
     }
 
+    /**
+     * Exports the complete state of the selected students, to hand them over to another shard with
+     * {@link #importStudents(byte[])}. Students without any attempt have no state and are not exported. Attempts
+     * recorded for the selected students after the export are not included, so callers must stop sending them
+     * to this system until they have been released with {@link #releaseStudents(Predicate)}.
+     *
+     * @param selected selects the students to export.
+     * @return the encoded students, in the format read by {@link #importStudents(byte[])}.
+     */
+    public byte[] exportStudents(Predicate<Student> selected){
+        List<byte[]> records = new ArrayList<>();
+        int size = Integer.BYTES;
+        for (int id = 0; id < students.size(); id++) {
+            Student student = students.studentOf(id);
+            StudentRecord record = students.recordOf(id);
+            if(record.isReleased() || record.getQuizAttempts() == 0 && record.getRevisionAttempts() == 0
+                    || !selected.test(student)){
+                continue;
+            }
+            byte[] encoded = AttemptRecords.encodeTransfer(student, record, questionPool, poolIndex());
+            records.add(encoded);
+            size += Integer.BYTES + encoded.length;
+        }
+        ByteBuffer transfer = ByteBuffer.allocate(size).putInt(records.size());
+        for (byte[] record : records) {
+            transfer.putInt(record.length).put(record);
+        }
+        eventLogger.log(EventLogger.Level.INFO, "students_exported", "students", records.size(), "bytes", size);
+        return transfer.array();
+    }
+
+    /**
+     * Imports students exported by another shard with {@link #exportStudents(Predicate)}. Each imported student
+     * replaces any state this system holds for the same student, and is recorded in the attempt log if one is
+     * open. The question pool must be the one of the exporting shard, since pool questions are transferred by
+     * their position.
+     *
+     * @param transfer the encoded students.
+     * @return the number of students imported.
+     * @throws IllegalArgumentException if the transfer is malformed or refers to a question outside the pool.
+     * @throws UncheckedIOException if an attempt log is open and the students cannot be written to it.
+     */
+    public int importStudents(byte[] transfer){
+        if(transfer == null){
+            throw new IllegalArgumentException("Student transfer cannot be null");
+        }
+        List<byte[]> records = new ArrayList<>();
+        List<Student> imported = new ArrayList<>();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(transfer);
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                byte[] record = new byte[buffer.getInt()];
+                buffer.get(record);
+                // Checked before anything is logged, so a malformed transfer leaves no trace
+                imported.add(AttemptRecords.checkTransfer(ByteBuffer.wrap(record), questionPool));
+                records.add(record);
+            }
+            if(buffer.hasRemaining()){
+                throw new IllegalArgumentException("Unexpected data after the last transferred student");
+            }
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Malformed student transfer", e);
+        }
+        AttemptLog log = attemptLog;
+        long logSequence = 0;
+        checkpointLock.readLock().lock();
+        try {
+            for (int i = 0; i < records.size(); i++) {
+                StudentRecord record = students.getOrRegister(imported.get(i));
+                synchronized (record){
+                    if(log != null){
+                        logSequence = log.append(records.get(i));
+                    }
+                    AttemptRecords.apply(ByteBuffer.wrap(records.get(i)), questionPool, students,
+                            MAX_QUIZ_ATTEMPTS, MAX_REVISION_ATTEMPTS, cohortStatistics, null);
+                }
+            }
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        if(log != null){
+            log.awaitDurable(logSequence);
+        }
+        eventLogger.log(EventLogger.Level.INFO, "students_imported", "students", records.size());
+        return records.size();
+    }
+
+    /**
+     * Releases the selected students after they have been handed over to another shard: their state is dropped,
+     * their scores leave the cohort statistics, and their later attempts are rejected with an
+     * {@code IllegalStateException}. The release is recorded in the attempt log if one is open.
+     *
+     * @param selected selects the students to release.
+     * @return the number of students released.
+     * @throws UncheckedIOException if an attempt log is open and the release cannot be written to it.
+     */
+    public int releaseStudents(Predicate<Student> selected){
+        AttemptLog log = attemptLog;
+        long logSequence = 0;
+        int released = 0;
+        checkpointLock.readLock().lock();
+        try {
+            for (int id = 0; id < students.size(); id++) {
+                Student student = students.studentOf(id);
+                StudentRecord record = students.recordOf(id);
+                if(record.isReleased() || !selected.test(student)){
+                    continue;
+                }
+                synchronized (record){
+                    // Re-checked under the record's lock, so concurrent releases log and count a student only once
+                    if(record.isReleased()){
+                        continue;
+                    }
+                    if(log != null){
+                        logSequence = log.append(AttemptRecords.encodeRelease(student));
+                    }
+                    record.release(cohortStatistics);
+                    released++;
+                }
+            }
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        if(log != null){
+            log.awaitDurable(logSequence);
+        }
+        eventLogger.log(EventLogger.Level.INFO, "students_released", "students", released);
+        return released;
+    }
+
     /**
      * Generates and returns a statistics report for a student, including the number of quiz and revision attempts,
      * quiz scores, and the final verdict.
@@ -234,16 +848,145 @@ public class QuizSystem {
      * @return a {@code String} containing the student's performance statistics.
      */
     public String generateStatistics(Student student){
-        StudentStatistics studentStatistics = studentStatisticsMap.get(student);
-        if(studentStatistics == null){
+        StudentRecord record = students.get(student);
+        if(record == null || record.isReleased()){
             return "No statistics available for this student.";
         }
-        return String.format("Student: %s%nQuiz Attempts: %d%nRevision Attempts: %d%nScores: %s%nFinal Verdict: %s",
-                student.getFullNameOfStudent(),
-                studentStatistics.getNumberOfAttempts(),
-                studentStatistics.getNumberOfRevisions(),
-                studentStatistics.getQuizScores(),
-                studentStatistics.getFinalVerdict());
+        synchronized (record){
+            StudentStatistics studentStatistics = record.getStatistics();
+            return String.format("Student: %s%nQuiz Attempts: %d%nRevision Attempts: %d%nScores: %s%nFinal Verdict: %s",
+                    student.getFullNameOfStudent(),
+                    studentStatistics.getNumberOfAttempts(),
+                    studentStatistics.getNumberOfRevisions(),
+                    studentStatistics.getQuizScores(),
+                    studentStatistics.getFinalVerdict());
+        }
+    }
+
+    /**
+     * Exports the statistics of every student to a CSV file, one row per student with the attempt counts, the
+     * average, highest and last quiz scores, the final verdict and all quiz scores. The file is atomically
+     * replaced once it is complete.
+     * <p>
+     * Rows are streamed to disk through one reusable buffer instead of being formatted as strings, so the export
+     * needs the same small amount of memory for any number of students. Attempts may still be submitted while
+     * the export runs; each row reflects its student at one point in time.
+     * </p>
+     *
+     * @param file the path of the CSV file.
+     * @return the number of student rows written.
+     * @throws IOException if the file cannot be written.
+     */
+    public int exportStatistics(Path file) throws IOException {
+        long start = System.nanoTime();
+        int rows = StatisticsExport.write(file, students);
+        eventLogger.log(EventLogger.Level.INFO, "statistics_exported", "path", file, "students", rows,
+                "millis", (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    /**
+     * Generates and returns a statistics report for the whole cohort: the number of students and regular quiz
+     * attempts, the mean, median, 90th and 99th percentile scores, and the pass rates. The report is computed from
+     * a fixed-size histogram, so its cost does not depend on the number of students.
+     *
+     * @return a {@code String} containing the cohort's performance statistics.
+     */
+    public String generateCohortStatistics(){
+        CohortStatistics cohort = cohortStatistics;
+        if(cohort.getAttemptCount() == 0){
+            return "No statistics available for the cohort.";
+        }
+        return String.format("Students: %d%nQuiz Attempts: %d%nMean Score: %.3f%nMedian Score: %.3f%n"
+                        + "90th Percentile: %.3f%n99th Percentile: %.3f%nAttempt Pass Rate: %.3f%nStudent Pass Rate: %.3f",
+                cohort.getStudentCount(),
+                cohort.getAttemptCount(),
+                cohort.getMeanScore(),
+                cohort.getMedianScore(),
+                cohort.getPercentile(90),
+                cohort.getPercentile(99),
+                cohort.getPassRate(),
+                cohort.getStudentPassRate());
+    }
+
+    /**
+     * Retrieves the live score distribution of all regular quiz attempts, updated as every quiz is graded.
+     *
+     * @return the {@code CohortStatistics} of this system.
+     */
+    public CohortStatistics getCohortStatistics(){
+        return cohortStatistics;
+    }
+
+    /**
+     * Retrieves the live per-question answer counts of all regular quizzes, used to find the hardest questions.
+     * Counting can be switched off by setting the {@code quiz.difficulty} system property to {@code false} before
+     * the system is created.
+     *
+     * @return the {@code QuestionDifficulty} of this system.
+     */
+    public QuestionDifficulty getQuestionDifficulty(){
+        return questionDifficulty;
+    }
+
+    /**
+     * Retrieves the counters, in-flight gauges and latency histograms of {@code takeQuiz}, {@code generateQuiz},
+     * {@code generateRevisionQuiz} and of the answer checks made while grading. They are recorded only if the
+     * {@code quiz.metrics} system property is set to {@code true} before the system is created; otherwise they stay
+     * at zero and cost nothing.
+     *
+     * @return the {@code QuizMetrics} of this system.
+     */
+    public QuizMetrics getMetrics(){
+        return metrics;
+    }
+
+    /**
+     * Sets the logger receiving this system's events, such as opened attempt logs, written snapshots and rejected
+     * attempts. Until it is set, events go to {@link EventLogger#getDefault()}.
+     *
+     * @param eventLogger the logger to use.
+     * @throws IllegalArgumentException if the logger is {@code null}.
+     */
+    public void setEventLogger(EventLogger eventLogger){
+        if(eventLogger == null){
+            throw new IllegalArgumentException("Event logger cannot be null");
+        }
+        this.eventLogger = eventLogger;
+    }
+
+    /**
+     * Sets the policy scoring the quizzes and revision quizzes graded from now on. Scores already recorded are
+     * kept as they are.
+     *
+     * @param scoringPolicy the policy to use.
+     * @throws IllegalArgumentException if the policy is {@code null}.
+     */
+    public void setScoringPolicy(ScoringPolicy scoringPolicy){
+        if(scoringPolicy == null){
+            throw new IllegalArgumentException("Scoring policy cannot be null");
+        }
+        this.scoringPolicy = scoringPolicy;
+    }
+
+    /**
+     * Retrieves the policy scoring quizzes and revision quizzes.
+     *
+     * @return the current {@code ScoringPolicy}, all-or-nothing unless another one was set.
+     */
+    public ScoringPolicy getScoringPolicy(){
+        return scoringPolicy;
+    }
+
+    /**
+     * Retrieves how often a student has answered each question incorrectly in regular quizzes.
+     *
+     * @param student the student whose incorrect answers are being retrieved.
+     * @return an unmodifiable {@code Map} from each missed question to the number of times it was missed.
+     */
+    public Map<Question, Integer> getIncorrectQuestionCounts(Student student){
+        StudentRecord record = students.get(student);
+        return record == null ? Collections.emptyMap() : record.getMissCounts();
     }
 
     /**
@@ -262,6 +1005,7 @@ public class QuizSystem {
      * @return an {@code int} representing the number of quiz attempts by the student.
      */
     public int getQuizAttempts(Student student) {
-        return quizAttempts.getOrDefault(student, 0);
+        StudentRecord record = students.get(student);
+        return record == null ? 0 : record.getQuizAttempts();
     }
 }
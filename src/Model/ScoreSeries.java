@@ -0,0 +1,134 @@
+package Model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable, primitive-backed sequence of scores with running aggregates.
+ * <p>
+ * Scores are kept in a {@code double[]} that grows on demand, so no score is ever boxed. The sum, minimum and
+ * maximum are updated as each score is added, making averages and best-score checks constant-time.
+ * </p>
+ *
+ * @author Your Name
+ */
+final class ScoreSeries {
+    private static final double[] EMPTY = new double[0];
+
+    private double[] scores = EMPTY;
+    private int size;
+    private double sum;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    /**
+     * Appends a score to the series.
+     *
+     * @param score the score to append.
+     */
+    void add(double score) {
+        if (size == scores.length) {
+            // Students rarely have more than a couple of scores, so start small
+            scores = Arrays.copyOf(scores, Math.max(2, size * 2));
+        }
+        scores[size++] = score;
+        sum += score;
+        if (size == 1) {
+            min = score;
+            max = score;
+        } else {
+            min = Math.min(min, score);
+            max = Math.max(max, score);
+        }
+    }
+
+    /**
+     * Retrieves the score at the given position.
+     *
+     * @param index the zero-based position of the score.
+     * @return the score.
+     * @throws IndexOutOfBoundsException if the index is outside the series.
+     */
+    double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Score index " + index + " out of bounds for " + size + " scores");
+        }
+        return scores[index];
+    }
+
+    /**
+     * Retrieves the number of scores in the series.
+     *
+     * @return the number of scores.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the series holds no scores.
+     *
+     * @return {@code true} if no score has been added, {@code false} otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retrieves the sum of all scores.
+     *
+     * @return the running sum.
+     */
+    double sum() {
+        return sum;
+    }
+
+    /**
+     * Retrieves the lowest score.
+     *
+     * @return the lowest score, or {@code NaN} if the series is empty.
+     */
+    double min() {
+        return min;
+    }
+
+    /**
+     * Retrieves the highest score.
+     *
+     * @return the highest score, or {@code NaN} if the series is empty.
+     */
+    double max() {
+        return max;
+    }
+
+    /**
+     * Retrieves the mean of all scores.
+     *
+     * @return the mean score, or {@code 0.0} if the series is empty.
+     */
+    double average() {
+        return size == 0 ? 0.0 : sum / size;
+    }
+
+    /**
+     * Copies the scores into a primitive array.
+     *
+     * @return a new {@code double[]} holding the scores in order.
+     */
+    double[] toArray() {
+        return Arrays.copyOf(scores, size);
+    }
+
+    /**
+     * Copies the scores into a list of boxed values.
+     *
+     * @return an unmodifiable {@code List} holding the scores in order.
+     */
+    List<Double> toList() {
+        Double[] boxed = new Double[size];
+        for (int i = 0; i < size; i++) {
+            boxed[i] = scores[i];
+        }
+        return List.of(boxed);
+    }
+}
@@ -0,0 +1,210 @@
+package Model;
+
+import Interfaces.Student;
+import Interfaces.StudentStatistics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams the statistics of every student of a {@code QuizSystem} to a CSV file.
+ * <p>
+ * Rows are encoded straight into one reusable direct buffer that is written to a {@code FileChannel} whenever it
+ * fills, so the export holds at most one buffer of output in memory however many students there are. Numbers are
+ * written digit by digit and names are encoded to UTF-8 character by character, so a row costs no
+ * {@code String.format} call and, apart from the names themselves, allocates nothing.
+ * </p>
+ *
+ * <p> The file has a header line followed by one row per student in registration order, with the columns
+ * {@code student}, {@code quiz_attempts}, {@code revision_attempts}, {@code average_score}, {@code highest_score},
+ * {@code last_score}, {@code final_verdict} and {@code scores}. Scores are written with four decimals; the highest
+ * and last score are empty for a student without quiz attempts, and {@code scores} lists the quiz scores separated
+ * by semicolons. Names are quoted when they contain a comma, quote or line break. Lines end with {@code \n}.
+ * </p>
+ *
+ * @author Your Name
+ */
+final class StatisticsExport {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte[] HEADER = ("student,quiz_attempts,revision_attempts,average_score,highest_score,"
+            + "last_score,final_verdict,scores\n").getBytes(StandardCharsets.US_ASCII);
+    private static final long SCORE_SCALE = 10_000L;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private StatisticsExport(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Writes the statistics of every registered student, atomically replacing any existing file. Each row is
+     * read under the student's own lock, so it is consistent, but attempts recorded during the export may or may
+     * not be included.
+     *
+     * @param file the path of the CSV file.
+     * @param students the registry of all students and their records.
+     * @return the number of student rows written.
+     * @throws IOException if the file cannot be written.
+     */
+    static int write(Path file, StudentRegistry students) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        int studentCount = students.size();
+        int rows = 0;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            StatisticsExport export = new StatisticsExport(channel);
+            export.putBytes(HEADER);
+            for (int id = 0; id < studentCount; id++) {
+                StudentRecord record = students.recordOf(id);
+                // Students handed over to another shard are exported by that shard
+                if (record.isReleased()) {
+                    continue;
+                }
+                export.putRow(students.studentOf(id), record);
+                rows++;
+            }
+            export.drain();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rows;
+    }
+
+    private void putRow(Student student, StudentRecord record) throws IOException {
+        putName(student.getFullNameOfStudent());
+        synchronized (record) {
+            StudentStatistics statistics = record.getStatistics();
+            int attempts = statistics.getNumberOfAttempts();
+            put(',');
+            putLong(attempts);
+            put(',');
+            putLong(statistics.getNumberOfRevisions());
+            put(',');
+            putScore(statistics.getQuizAverageScore());
+            put(',');
+            if (attempts > 0) {
+                putScore(statistics.getHighestQuizScore());
+                put(',');
+                putScore(statistics.getLastQuizScore());
+            } else {
+                put(',');
+            }
+            put(',');
+            putAscii(statistics.getFinalVerdict());
+            put(',');
+            for (int i = 0; i < attempts; i++) {
+                if (i > 0) {
+                    put(';');
+                }
+                putScore(statistics.getQuizScore(i));
+            }
+        }
+        put('\n');
+    }
+
+    private void putName(String name) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < name.length() && !quote; i++) {
+            char c = name.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (quote) {
+            put('"');
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < 0x80) {
+                if (c == '"') {
+                    put('"');
+                }
+                put(c);
+            } else if (c < 0x800) {
+                put(0xC0 | c >> 6);
+                put(0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < name.length()
+                    && Character.isLowSurrogate(name.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, name.charAt(++i));
+                put(0xF0 | codePoint >> 18);
+                put(0x80 | codePoint >> 12 & 0x3F);
+                put(0x80 | codePoint >> 6 & 0x3F);
+                put(0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                put('?');
+            } else {
+                put(0xE0 | c >> 12);
+                put(0x80 | c >> 6 & 0x3F);
+                put(0x80 | c & 0x3F);
+            }
+        }
+        if (quote) {
+            put('"');
+        }
+    }
+
+    private void putScore(double score) throws IOException {
+        long scaled = Math.round(score * SCORE_SCALE);
+        if (scaled < 0) {
+            put('-');
+            scaled = -scaled;
+        }
+        putLong(scaled / SCORE_SCALE);
+        put('.');
+        long fraction = scaled % SCORE_SCALE;
+        for (long divisor = SCORE_SCALE / 10; divisor > 0; divisor /= 10) {
+            put((int) ('0' + fraction / divisor % 10));
+        }
+    }
+
+    private void putLong(long value) throws IOException {
+        if (buffer.remaining() < 20) {
+            drain();
+        }
+        if (value < 10) {
+            buffer.put((byte) ('0' + value));
+            return;
+        }
+        int digits = 0;
+        for (long rest = value; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int end = buffer.position() + digits;
+        for (int position = end - 1; position >= buffer.position(); position--) {
+            buffer.put(position, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(end);
+    }
+
+    private void putAscii(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            put(text.charAt(i));
+        }
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        for (byte b : bytes) {
+            put(b);
+        }
+    }
+
+    private void put(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) b);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
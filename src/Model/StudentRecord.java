@@ -0,0 +1,266 @@
+package Model;
+
+import Interfaces.Question;
+import Interfaces.QuizGenerator;
+import Interfaces.StudentStatistics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds all per-student state of a {@code QuizSystem}: attempt counters, the quizzes taken with the
+ * answers given, the questions the student has missed, and the student's statistics.
+ * <p>
+ * Every mutation happens under the record's own monitor, so the attempt limit check and the increment
+ * are a single atomic step and the quiz history always agrees with the counters. Students never share
+ * a record, so concurrent submissions only contend when they come from the same student.
+ * </p>
+ *
+ * <p> The missed questions are indexed as each quiz is graded, together with how often each one was missed,
+ * so revision quizzes never need to re-grade the history.
+ * </p>
+ *
+ * <p> When the student is handed over to another shard, the record is released: its state is dropped and it
+ * accepts no further attempts until the student is handed back and the record adopts the transferred state.
+ * </p>
+ *
+ * @author Your Name
+ */
+final class StudentRecord {
+    private volatile int quizAttempts;
+    private volatile int revisionAttempts;
+    private volatile boolean released;
+    private final List<QuizGenerator> quizzes = new ArrayList<>();
+    private final List<List<String>> answers = new ArrayList<>();
+    private final Map<Question, Integer> missCounts = new LinkedHashMap<>();
+    private StudentStatisticsImpl statistics = new StudentStatisticsImpl();
+
+    /**
+     * Rebuilds a record from the state saved in a snapshot.
+     *
+     * @param quizzes the quizzes taken, in order.
+     * @param answers the answers given, parallel to {@code quizzes}.
+     * @param quizScores the quiz scores, parallel to {@code quizzes}.
+     * @param revisionScores the revision quiz scores, in order.
+     * @param missCounts how often each missed question was missed, in the order they were first missed.
+     * @return the rebuilt {@code StudentRecord}.
+     */
+    static StudentRecord restore(List<QuizGenerator> quizzes, List<List<String>> answers, double[] quizScores,
+                                 double[] revisionScores, Map<Question, Integer> missCounts) {
+        StudentRecord record = new StudentRecord();
+        synchronized (record) {
+            record.quizzes.addAll(quizzes);
+            record.answers.addAll(answers);
+            record.missCounts.putAll(missCounts);
+            for (double score : quizScores) {
+                record.statistics.addQuizScore(score);
+            }
+            for (double score : revisionScores) {
+                record.statistics.addRevisionScore(score);
+            }
+            record.quizAttempts = quizScores.length;
+            record.revisionAttempts = revisionScores.length;
+        }
+        return record;
+    }
+
+    /**
+     * Records a graded regular quiz if the student still has an attempt left.
+     *
+     * @param maxAttempts the maximum number of regular quiz attempts allowed.
+     * @param quiz the quiz that was taken.
+     * @param givenAnswers the answers given by the student.
+     * @param missedQuestions the questions of the quiz that were answered incorrectly.
+     * @param score the score achieved.
+     * @param cohort the cohort statistics to add the score to.
+     * @return {@code true} if the attempt was recorded, {@code false} if the limit was already reached.
+     */
+    synchronized boolean tryRecordQuiz(int maxAttempts, QuizGenerator quiz, List<String> givenAnswers,
+                                       List<Question> missedQuestions, double score, CohortStatistics cohort) {
+        if (quizAttempts >= maxAttempts) {
+            return false;
+        }
+        boolean passedBefore = statistics.getHighestQuizScore() >= 0.5;
+        statistics.addQuizScore(score);
+        cohort.addQuizScore(score, quizAttempts == 0, !passedBefore && score >= 0.5);
+        quizzes.add(quiz);
+        answers.add(givenAnswers);
+        for (Question question : missedQuestions) {
+            missCounts.merge(question, 1, Integer::sum);
+        }
+        quizAttempts++;
+        return true;
+    }
+
+    /**
+     * Adds every regular quiz score of this record to the cohort statistics, as if the quizzes were taken now.
+     *
+     * @param cohort the cohort statistics to add the scores to.
+     */
+    synchronized void addScoresTo(CohortStatistics cohort) {
+        boolean passed = false;
+        for (int i = 0; i < statistics.getNumberOfAttempts(); i++) {
+            double score = statistics.getQuizScore(i);
+            cohort.addQuizScore(score, i == 0, !passed && score >= 0.5);
+            passed |= score >= 0.5;
+        }
+    }
+
+    /**
+     * Removes every regular quiz score of this record from the cohort statistics, undoing {@link #addScoresTo}.
+     *
+     * @param cohort the cohort statistics to remove the scores from.
+     */
+    synchronized void removeScoresFrom(CohortStatistics cohort) {
+        boolean passed = false;
+        for (int i = 0; i < statistics.getNumberOfAttempts(); i++) {
+            double score = statistics.getQuizScore(i);
+            cohort.removeQuizScore(score, i == 0, !passed && score >= 0.5);
+            passed |= score >= 0.5;
+        }
+    }
+
+    /**
+     * Releases the record because its student is now served by another shard: the scores are removed from the
+     * cohort statistics and the state is dropped.
+     *
+     * @param cohort the cohort statistics holding the record's scores.
+     */
+    synchronized void release(CohortStatistics cohort) {
+        removeScoresFrom(cohort);
+        clear();
+        released = true;
+    }
+
+    /**
+     * Replaces the state of this record with the state of a record transferred from another shard, whose scores
+     * are added to the cohort statistics in place of this record's.
+     *
+     * @param transferred the transferred record, which is not used afterwards.
+     * @param cohort the cohort statistics.
+     */
+    synchronized void adopt(StudentRecord transferred, CohortStatistics cohort) {
+        removeScoresFrom(cohort);
+        clear();
+        synchronized (transferred) {
+            quizzes.addAll(transferred.quizzes);
+            answers.addAll(transferred.answers);
+            missCounts.putAll(transferred.missCounts);
+            statistics = transferred.statistics;
+            quizAttempts = transferred.quizAttempts;
+            revisionAttempts = transferred.revisionAttempts;
+        }
+        addScoresTo(cohort);
+        released = false;
+    }
+
+    private void clear() {
+        quizzes.clear();
+        answers.clear();
+        missCounts.clear();
+        statistics = new StudentStatisticsImpl();
+        quizAttempts = 0;
+        revisionAttempts = 0;
+    }
+
+    /**
+     * Checks whether the record has been released to another shard.
+     *
+     * @return {@code true} if the student is served elsewhere.
+     */
+    boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Records a revision quiz score if the student still has a revision attempt left.
+     *
+     * @param maxAttempts the maximum number of revision attempts allowed.
+     * @param score the score achieved.
+     * @return {@code true} if the attempt was recorded, {@code false} if the limit was already reached.
+     */
+    synchronized boolean tryRecordRevision(int maxAttempts, double score) {
+        if (revisionAttempts >= maxAttempts) {
+            return false;
+        }
+        statistics.addRevisionScore(score);
+        revisionAttempts++;
+        return true;
+    }
+
+    /**
+     * Retrieves the number of regular quiz attempts recorded so far.
+     *
+     * @return the number of quiz attempts.
+     */
+    int getQuizAttempts() {
+        return quizAttempts;
+    }
+
+    /**
+     * Retrieves the number of revision attempts recorded so far.
+     *
+     * @return the number of revision attempts.
+     */
+    int getRevisionAttempts() {
+        return revisionAttempts;
+    }
+
+    /**
+     * Returns a consistent copy of the quizzes taken by the student.
+     *
+     * @return a {@code List} of the quizzes taken, in order.
+     */
+    synchronized List<QuizGenerator> getQuizzes() {
+        return List.copyOf(quizzes);
+    }
+
+    /**
+     * Returns a consistent copy of the answers given by the student, parallel to {@link #getQuizzes()}.
+     *
+     * @return a {@code List} of answer lists, in order.
+     */
+    synchronized List<List<String>> getAnswers() {
+        return List.copyOf(answers);
+    }
+
+    /**
+     * Returns the distinct questions the student has answered incorrectly, in the order they were first missed.
+     *
+     * @return a {@code List} of the missed questions.
+     */
+    synchronized List<Question> getMissedQuestions() {
+        return List.copyOf(missCounts.keySet());
+    }
+
+    /**
+     * Returns how often each missed question was answered incorrectly.
+     *
+     * @return an unmodifiable {@code Map} from each missed question to its miss count, in the order the
+     *         questions were first missed.
+     */
+    synchronized Map<Question, Integer> getMissCounts() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(missCounts));
+    }
+
+    /**
+     * Returns the revision quiz scores recorded so far.
+     *
+     * @return a new {@code double[]} of the revision scores, in order.
+     */
+    synchronized double[] getRevisionScores() {
+        return statistics.getRevisionScoreArray();
+    }
+
+    /**
+     * Retrieves the student's statistics. Callers must hold the record's monitor while reading them.
+     *
+     * @return the {@code StudentStatistics} of the student.
+     */
+    StudentStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,177 @@
+package Model;
+
+import Interfaces.Student;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Assigns every student of a {@code QuizSystem} a dense {@code int} id, in order of registration, and holds each
+ * student's {@code StudentRecord} in an array indexed by that id.
+ * <p>
+ * Students are found through an open-addressing hash table of ids: a flat {@code int[]} probed linearly, with the
+ * students, their hash codes and their records in parallel arrays. Unlike a map keyed by {@code Student} there is no
+ * entry object per student, and a lookup compares cached hash codes before calling {@code equals}.
+ * </p>
+ *
+ * <p> Lookups never lock. Registration is serialized on the registry's monitor; a new id is published with a release
+ * write only after the student and record it refers to are in place, and a full table is replaced by a larger copy,
+ * so readers always see either a complete entry or none.
+ * </p>
+ *
+ * @author Your Name
+ */
+final class StudentRegistry {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private volatile int size;
+
+    /**
+     * Retrieves the number of registered students.
+     *
+     * @return the number of students; their ids are {@code 0} to {@code size() - 1}.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the id of a student.
+     *
+     * @param student the student.
+     * @return the student's id, or {@code -1} if the student is not registered.
+     */
+    int idOf(Student student) {
+        return table.find(student, hash(student));
+    }
+
+    /**
+     * Retrieves the record of a student.
+     *
+     * @param student the student.
+     * @return the student's record, or {@code null} if the student is not registered.
+     */
+    StudentRecord get(Student student) {
+        Table current = table;
+        int id = current.find(student, hash(student));
+        return id < 0 ? null : current.records[id];
+    }
+
+    /**
+     * Retrieves the record of a student, registering the student with an empty record if needed.
+     *
+     * @param student the student.
+     * @return the student's record.
+     */
+    StudentRecord getOrRegister(Student student) {
+        StudentRecord record = get(student);
+        return record != null ? record : register(student, null);
+    }
+
+    /**
+     * Registers a student with the given record, unless the student is already registered.
+     *
+     * @param student the student.
+     * @param record the record to store, or {@code null} for a new empty record.
+     * @return the record of the student, which is not the given one if the student was already registered.
+     */
+    synchronized StudentRecord register(Student student, StudentRecord record) {
+        int hash = hash(student);
+        Table current = table;
+        int id = current.find(student, hash);
+        if (id >= 0) {
+            return current.records[id];
+        }
+        id = size;
+        if (id == current.students.length) {
+            current = current.grow();
+            table = current;
+        }
+        StudentRecord stored = record != null ? record : new StudentRecord();
+        current.students[id] = student;
+        current.hashes[id] = hash;
+        current.records[id] = stored;
+        current.insert(id, hash);
+        size = id + 1;
+        return stored;
+    }
+
+    /**
+     * Retrieves a student by id.
+     *
+     * @param id the id, between {@code 0} and {@code size() - 1}.
+     * @return the student.
+     */
+    Student studentOf(int id) {
+        return table.students[id];
+    }
+
+    /**
+     * Retrieves a student's record by id.
+     *
+     * @param id the id, between {@code 0} and {@code size() - 1}.
+     * @return the student's record.
+     */
+    StudentRecord recordOf(int id) {
+        return table.records[id];
+    }
+
+    private static int hash(Student student) {
+        int hash = student.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * One generation of the registry's arrays. Slots hold {@code id + 1}, so {@code 0} marks an empty slot, and
+     * there are always at least twice as many slots as ids.
+     */
+    private static final class Table {
+        private final int[] slots;
+        private final Student[] students;
+        private final int[] hashes;
+        private final StudentRecord[] records;
+
+        Table(int capacity) {
+            slots = new int[capacity * 2];
+            students = new Student[capacity];
+            hashes = new int[capacity];
+            records = new StudentRecord[capacity];
+        }
+
+        int find(Student student, int hash) {
+            int mask = slots.length - 1;
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                int entry = (int) SLOTS.getAcquire(slots, slot);
+                if (entry == 0) {
+                    return -1;
+                }
+                int id = entry - 1;
+                if (hashes[id] == hash && students[id].equals(student)) {
+                    return id;
+                }
+            }
+        }
+
+        void insert(int id, int hash) {
+            int mask = slots.length - 1;
+            int slot = hash & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            SLOTS.setRelease(slots, slot, id + 1);
+        }
+
+        Table grow() {
+            Table larger = new Table(students.length * 2);
+            System.arraycopy(students, 0, larger.students, 0, students.length);
+            System.arraycopy(hashes, 0, larger.hashes, 0, hashes.length);
+            System.arraycopy(records, 0, larger.records, 0, records.length);
+            for (int id = 0; id < students.length; id++) {
+                larger.insert(id, hashes[id]);
+            }
+            return larger;
+        }
+    }
+}
@@ -18,26 +18,22 @@ import java.util.*;
  *
  * <p>It also manages quiz history and stores details about incorrect questions for students who need to revise their performance.</p>
  *
+ * <p>Scores are held in primitive {@code ScoreSeries} with running sum, minimum and maximum, so averages and the final
+ * verdict are computed in constant time and no score is boxed unless {@link #getQuizScores()} is called.</p>
+ *
  * @author Your Name
  */
 public class StudentStatisticsImpl implements StudentStatistics {
 
-    private List<Double> quizScores = new ArrayList<>();
-    private Map<Integer, Double> quizHistory;
-    private int quizAttemptCounter;
-    private final List<Double> revisionScores = new ArrayList<>();
+    private final ScoreSeries quizScores = new ScoreSeries();
+    private final ScoreSeries revisionScores = new ScoreSeries();
     private final List<Question> incorrectQuestion = new ArrayList<Question>();
-    private int numberOfQuizAttempts;
-    private int numberOfRevisionAttempts;
 
     /**
      * Constructs a {@code StudentStatisticsImp} object and initializes the internal tracking structures
-     * for quiz scores, revision scores, incorrect questions, and quiz history.
+     * for quiz scores, revision scores and incorrect questions.
      */
     public StudentStatisticsImpl(){
-        this.quizScores = new ArrayList<>();
-        this.quizHistory = new LinkedHashMap<>();
-        this.quizAttemptCounter = 0;
     }
 
     /**
@@ -52,7 +48,6 @@ public class StudentStatisticsImpl implements StudentStatistics {
             throw new IllegalArgumentException("Score must be between 0.0 and 1.0");
         }
         quizScores.add(scores);
-        numberOfQuizAttempts++;
     }
 
     /**
@@ -63,7 +58,6 @@ public class StudentStatisticsImpl implements StudentStatistics {
     @Override
     public void addRevisionScore(double score) {
         revisionScores.add(score);
-        numberOfRevisionAttempts++;
     }
 
     /**
@@ -89,9 +83,9 @@ public class StudentStatisticsImpl implements StudentStatistics {
      */
     @Override
     public String getFinalVerdict() {
-        if(quizScores.stream().anyMatch(score -> score >= 0.5)){
+        if(!quizScores.isEmpty() && quizScores.max() >= 0.5){
             return "PASS";
-        } else if (numberOfQuizAttempts >= 2) {
+        } else if (quizScores.size() >= 2) {
             return "FAIL";
         }
         return "TBD";
@@ -103,14 +97,7 @@ public class StudentStatisticsImpl implements StudentStatistics {
      * @return the average quiz score as a {@code double}. If no scores are available, returns 0.0.
      */
     public double getQuizAverageScore(){
-        if(quizScores.isEmpty()){
-            return 0.0;
-        }
-        double totalScore = 0.0;
-        for (double score: quizScores){
-            totalScore += score;
-        }
-        return totalScore / quizScores.size();
+        return quizScores.average();
     }
 
     /**
@@ -120,16 +107,71 @@ public class StudentStatisticsImpl implements StudentStatistics {
      */
     @Override
     public List<Double> getQuizScores() {
-        return List.copyOf(quizScores);
+        return quizScores.toList();
+    }
+
+    /**
+     * Retrieves a single quiz score without boxing.
+     *
+     * @param attempt the zero-based index of the quiz attempt.
+     * @return the score of that attempt as a {@code double}.
+     * @throws IndexOutOfBoundsException if no quiz with that index was recorded.
+     */
+    @Override
+    public double getQuizScore(int attempt) {
+        return quizScores.get(attempt);
+    }
+
+    /**
+     * Retrieves all quiz scores as a primitive array.
+     *
+     * @return a new {@code double[]} of the quiz scores in the order they were recorded.
+     */
+    @Override
+    public double[] getQuizScoreArray() {
+        return quizScores.toArray();
+    }
+
+    /**
+     * Retrieves all revision scores as a primitive array.
+     *
+     * @return a new {@code double[]} of the revision scores in the order they were recorded.
+     */
+    public double[] getRevisionScoreArray() {
+        return revisionScores.toArray();
+    }
+
+    /**
+     * Retrieves the highest quiz score, tracked as scores are added.
+     *
+     * @return the best quiz score as a {@code double}, or {@code NaN} if no quiz was taken.
+     */
+    @Override
+    public double getHighestQuizScore() {
+        return quizScores.max();
+    }
+
+    /**
+     * Retrieves the lowest quiz score, tracked as scores are added.
+     *
+     * @return the lowest quiz score as a {@code double}, or {@code NaN} if no quiz was taken.
+     */
+    @Override
+    public double getLowestQuizScore() {
+        return quizScores.min();
     }
 
     /**
      * Retrieves the quiz history of the student, mapping quiz attempts to their scores.
      *
-     * @return a {@code Map} where the key is the quiz attempt number, and the value is the score.
+     * @return a {@code Map} where the key is the quiz attempt number, starting at 1, and the value is the score.
      */
     public Map<Integer, Double> studentQuizHistory(){
-        return new LinkedHashMap<>(quizHistory);
+        Map<Integer, Double> quizHistory = new LinkedHashMap<>();
+        for (int i = 0; i < quizScores.size(); i++) {
+            quizHistory.put(i + 1, quizScores.get(i));
+        }
+        return quizHistory;
     }
 
     /**
@@ -153,7 +195,7 @@ public class StudentStatisticsImpl implements StudentStatistics {
      */
     @Override
     public int getNumberOfAttempts() {
-        return numberOfQuizAttempts;
+        return quizScores.size();
     }
 
     /**
@@ -163,7 +205,7 @@ public class StudentStatisticsImpl implements StudentStatistics {
      */
     @Override
     public int getNumberOfRevisions() {
-        return numberOfRevisionAttempts;
+        return revisionScores.size();
     }
 
     /**
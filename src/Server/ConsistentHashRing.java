@@ -0,0 +1,135 @@
+package Server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Consistent-hash ring assigning keys, such as students, to named shards.
+ * <p>
+ * Every shard is placed on a ring of 64-bit hash values at {@value #VIRTUAL_NODES} points derived from its name,
+ * and a key belongs to the shard owning the first point at or after the key's hash, wrapping around. Adding a
+ * shard therefore only moves the keys that now fall just before one of the new shard's points, about
+ * {@code 1 / (n + 1)} of them for {@code n} existing shards, and every moved key moves to the new shard. The many
+ * points per shard keep the shards' shares within a few percent of each other.
+ * </p>
+ *
+ * <p> Rings are immutable: {@link #withShard(String)} returns a new ring. The points live in one sorted
+ * {@code long[]} with the owning shard of each point in a parallel array, so a lookup is one hash and one binary
+ * search. Placement depends only on the shard names, so every process builds the same ring from the same names.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class ConsistentHashRing {
+    /**
+     * The number of points each shard takes on the ring.
+     */
+    public static final int VIRTUAL_NODES = 160;
+
+    private final List<String> shards;
+    private final long[] points;
+    private final int[] owners;
+
+    /**
+     * Constructs a ring of the given shards.
+     *
+     * @param shards the shard names, at least one, distinct and not blank.
+     * @throws IllegalArgumentException if the names are missing, blank or repeated.
+     */
+    public ConsistentHashRing(Collection<String> shards) {
+        if (shards == null || shards.isEmpty()) {
+            throw new IllegalArgumentException("A ring needs at least one shard");
+        }
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String shard : shards) {
+            if (shard == null || shard.trim().isEmpty()) {
+                throw new IllegalArgumentException("Shard names cannot be null or blank");
+            }
+            if (!distinct.add(shard)) {
+                throw new IllegalArgumentException("Shard names must be distinct: " + shard);
+            }
+        }
+        this.shards = List.copyOf(distinct);
+        int count = this.shards.size() * VIRTUAL_NODES;
+        long[] placed = new long[count];
+        for (int shard = 0; shard < this.shards.size(); shard++) {
+            for (int node = 0; node < VIRTUAL_NODES; node++) {
+                placed[shard * VIRTUAL_NODES + node] = hash(this.shards.get(shard) + '#' + node);
+            }
+        }
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        // Equal points are ordered by shard name, so the ring does not depend on the order shards were added
+        Arrays.sort(order, (a, b) -> placed[a] != placed[b] ? Long.compare(placed[a], placed[b])
+                : this.shards.get(a / VIRTUAL_NODES).compareTo(this.shards.get(b / VIRTUAL_NODES)));
+        this.points = new long[count];
+        this.owners = new int[count];
+        for (int i = 0; i < count; i++) {
+            points[i] = placed[order[i]];
+            owners[i] = order[i] / VIRTUAL_NODES;
+        }
+    }
+
+    /**
+     * Creates a ring with one more shard.
+     *
+     * @param shard the name of the new shard.
+     * @return the new ring.
+     * @throws IllegalArgumentException if the name is blank or already on the ring.
+     */
+    public ConsistentHashRing withShard(String shard) {
+        List<String> grown = new ArrayList<>(shards);
+        grown.add(shard);
+        return new ConsistentHashRing(grown);
+    }
+
+    /**
+     * Finds the shard a key belongs to.
+     *
+     * @param key the key.
+     * @return the name of the owning shard.
+     */
+    public String shardFor(String key) {
+        long hash = hash(key);
+        int low = 0;
+        int high = points.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (points[middle] < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return shards.get(owners[low == points.length ? 0 : low]);
+    }
+
+    /**
+     * Retrieves the names of the shards on the ring.
+     *
+     * @return an unmodifiable {@code List} of the shard names, in the order they were added.
+     */
+    public List<String> getShards() {
+        return shards;
+    }
+
+    /**
+     * Hashes a string with 64-bit FNV-1a over its characters, followed by the MurmurHash3 finalizer so that
+     * similar names and keys land far apart on the ring.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
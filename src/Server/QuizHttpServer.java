@@ -0,0 +1,506 @@
+package Server;
+
+import Factory.StudentFactory;
+import Interfaces.Question;
+import Interfaces.QuizGenerator;
+import Interfaces.Student;
+import Model.QuizSystem;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Lightweight HTTP front end for a {@code QuizSystem}, built on the JDK's {@code com.sun.net.httpserver}.
+ * <p>
+ * Requests and responses are plain UTF-8 text. Students are identified by the parameters {@code first},
+ * {@code last} and {@code dob} (an ISO date such as {@code 2000-02-01}), passed in the query string or, for
+ * {@code POST}, in a form-encoded body. The endpoints are:
+ * </p>
+ * <ul>
+ *     <li>{@code GET /quiz?questions=N} issues a quiz of {@code N} random questions.</li>
+ *     <li>{@code GET /revision?first=..&last=..&dob=..&questions=N} issues a revision quiz of at most {@code N}
+ *     of the student's missed questions.</li>
+ *     <li>{@code POST /quiz/<id>} and {@code POST /revision/<id>} submit the student's answers to an issued quiz, one
+ *     {@code answer} parameter per question in order, and return the score.</li>
+ *     <li>{@code GET /statistics?first=..&last=..&dob=..} returns the student's statistics report, and
+ *     {@code GET /statistics} without a student the cohort report.</li>
+ * </ul>
+ *
+ * <p> A server started with {@link #startShard(QuizSystem, InetSocketAddress)} acts as one shard behind a
+ * {@code ShardRouter}, which uses three more endpoints to hand students over when a shard is added. Each takes the
+ * shards of the new ring as repeated {@code shard} parameters and the shard receiving students as {@code target}.
+ * They read, overwrite and drop student state without any authentication, so they are only mounted on shards, and a
+ * shard must only be reachable by its router, never by students.
+ * </p>
+ * <ul>
+ *     <li>{@code POST /shard/export} returns the state of the students the new ring assigns to the target, as
+ *     {@code application/octet-stream}.</li>
+ *     <li>{@code POST /shard/import} imports students exported by another shard, sent as the request body.</li>
+ *     <li>{@code POST /shard/release} releases the students the new ring assigns to the target.</li>
+ * </ul>
+ *
+ * <p> An issued quiz is answered with its id on the first line and one question per following line. Each quiz can be
+ * submitted once, and expires if it has not been submitted within the time to live given when the server starts
+ * ({@link #DEFAULT_QUIZ_TIME_TO_LIVE} unless set). Expired quizzes are swept out as new ones are issued, so at most
+ * {@value #MAX_OPEN_QUIZZES} live quizzes can be waiting for answers at a time. Invalid requests are answered with
+ * status 400 and the reason, unknown and expired quizzes with 404.
+ * </p>
+ *
+ * <p> Each request is handled on its own virtual thread when the JVM provides them (Java 21 or later), so requests
+ * waiting for the attempt log to sync do not hold platform threads; older JVMs use a fixed pool of platform threads.
+ * </p>
+ *
+ * <p> Start the JVM with {@code -Dsun.net.httpserver.nodelay=true}. The JDK server writes response headers and body
+ * separately, and with Nagle's algorithm on, the body waits for the client's delayed acknowledgement of the headers,
+ * adding about 40 ms to every response. The flag is read once per JVM, so it cannot be set reliably from code.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class QuizHttpServer implements AutoCloseable {
+    /**
+     * The maximum number of issued quizzes that have not been submitted yet.
+     */
+    public static final int MAX_OPEN_QUIZZES = 1_000_000;
+    /**
+     * How long an issued quiz stays open for answers unless another time to live is given.
+     */
+    public static final Duration DEFAULT_QUIZ_TIME_TO_LIVE = Duration.ofHours(2);
+    private static final long MIN_SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final int BACKLOG = 16_384;
+    private static final int MAX_BODY_SIZE = 1024 * 1024;
+    private static final int MAX_TRANSFER_SIZE = 512 * 1024 * 1024;
+
+    private final QuizSystem quizSystem;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<Long, IssuedQuiz> openQuizzes = new ConcurrentHashMap<>();
+    private final AtomicInteger openQuizCount = new AtomicInteger();
+    private final AtomicLong nextQuizId = new AtomicLong(1);
+    private final long quizTimeToLive;
+    private final long sweepInterval;
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    private QuizHttpServer(QuizSystem quizSystem, HttpServer server, ExecutorService executor, long quizTimeToLive) {
+        this.quizSystem = quizSystem;
+        this.server = server;
+        this.executor = executor;
+        this.quizTimeToLive = quizTimeToLive;
+        this.sweepInterval = Math.max(MIN_SWEEP_INTERVAL, quizTimeToLive / 8);
+    }
+
+    /**
+     * Starts serving a {@code QuizSystem} on the given address.
+     *
+     * @param quizSystem the system to serve.
+     * @param address the address to listen on; port {@code 0} picks a free port.
+     * @return the running server.
+     * @throws IOException if the server cannot listen on the address.
+     */
+    public static QuizHttpServer start(QuizSystem quizSystem, InetSocketAddress address) throws IOException {
+        return start(quizSystem, address, DEFAULT_QUIZ_TIME_TO_LIVE);
+    }
+
+    /**
+     * Starts serving a {@code QuizSystem} on the given address, with issued quizzes expiring after the given time.
+     *
+     * @param quizSystem the system to serve.
+     * @param address the address to listen on; port {@code 0} picks a free port.
+     * @param quizTimeToLive how long an issued quiz stays open for answers.
+     * @return the running server.
+     * @throws IOException if the server cannot listen on the address.
+     * @throws IllegalArgumentException if the system is {@code null} or the time to live is not positive.
+     */
+    public static QuizHttpServer start(QuizSystem quizSystem, InetSocketAddress address, Duration quizTimeToLive)
+            throws IOException {
+        return start(quizSystem, address, quizTimeToLive, false);
+    }
+
+    /**
+     * Starts serving a {@code QuizSystem} as one shard behind a {@code ShardRouter}, with the {@code /shard}
+     * endpoints the router uses to hand students over. Those endpoints are not authenticated, so the address must
+     * only be reachable by the router, such as the loopback interface of the router's host.
+     *
+     * @param quizSystem the system to serve.
+     * @param address the address to listen on; port {@code 0} picks a free port.
+     * @return the running server.
+     * @throws IOException if the server cannot listen on the address.
+     * @throws IllegalArgumentException if the system is {@code null}.
+     */
+    public static QuizHttpServer startShard(QuizSystem quizSystem, InetSocketAddress address) throws IOException {
+        return start(quizSystem, address, DEFAULT_QUIZ_TIME_TO_LIVE, true);
+    }
+
+    private static QuizHttpServer start(QuizSystem quizSystem, InetSocketAddress address, Duration quizTimeToLive,
+                                        boolean shard) throws IOException {
+        if (quizSystem == null) {
+            throw new IllegalArgumentException("Quiz system cannot be null");
+        }
+        if (quizTimeToLive == null || quizTimeToLive.isNegative() || quizTimeToLive.isZero()) {
+            throw new IllegalArgumentException("Quiz time to live must be positive");
+        }
+        HttpServer server = HttpServer.create(address, BACKLOG);
+        ExecutorService executor = newRequestExecutor();
+        // Capped at a year, which keeps deadlines far from overflowing
+        long timeToLive = quizTimeToLive.compareTo(Duration.ofDays(365)) > 0 ? Duration.ofDays(365).toNanos() : quizTimeToLive.toNanos();
+        QuizHttpServer quizServer = new QuizHttpServer(quizSystem, server, executor, timeToLive);
+        server.createContext("/quiz", exchange -> quizServer.handle(exchange, false));
+        server.createContext("/revision", exchange -> quizServer.handle(exchange, true));
+        server.createContext("/statistics", quizServer::handleStatistics);
+        if (shard) {
+            server.createContext("/shard", quizServer::handleShard);
+        }
+        server.setExecutor(executor);
+        server.start();
+        return quizServer;
+    }
+
+    /**
+     * Creates an executor running every task on a new virtual thread if the JVM supports them, looked up
+     * reflectively so the server still runs on JVMs without them.
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) factory.invokeExact();
+        } catch (NoSuchMethodException | IllegalAccessException | UnsupportedOperationException e) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newFixedThreadPool(Math.max(32, Runtime.getRuntime().availableProcessors() * 8), task -> {
+                Thread thread = new Thread(task, "quiz-http-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create the request executor", e);
+        }
+    }
+
+    /**
+     * Retrieves the port the server listens on.
+     *
+     * @return the local port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, waits up to a second for requests in progress and stops the request threads.
+     * The {@code QuizSystem} is not closed.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange exchange, boolean revision) throws IOException {
+        try {
+            String base = revision ? "/revision" : "/quiz";
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals(base)) {
+                requireMethod(exchange, "GET");
+                Map<String, List<String>> parameters = parameters(exchange);
+                int questions = intParameter(parameters, "questions");
+                QuizGenerator quiz = revision
+                        ? quizSystem.revise(student(parameters), questions)
+                        : quizSystem.generateQuiz(questions);
+                respond(exchange, 200, issue(quiz, revision));
+            } else if (path.startsWith(base + "/")) {
+                requireMethod(exchange, "POST");
+                Map<String, List<String>> parameters = parameters(exchange);
+                long id = parseQuizId(path.substring(base.length() + 1));
+                // Removed before grading so that concurrent submissions of one quiz cannot both be graded
+                IssuedQuiz issued = openQuizzes.remove(id);
+                if (issued == null) {
+                    throw new NotFoundException("Unknown quiz: " + id);
+                }
+                if (System.nanoTime() - issued.expiresAt >= 0) {
+                    openQuizCount.decrementAndGet();
+                    throw new NotFoundException("Quiz expired: " + id);
+                }
+                double score;
+                try {
+                    if (issued.revision != revision) {
+                        throw new NotFoundException("Unknown quiz: " + id);
+                    }
+                    Student student = student(parameters);
+                    List<String> answers = parameters.getOrDefault("answer", List.of());
+                    score = revision
+                            ? quizSystem.takeRevisionQuiz(student, issued.quiz, answers)
+                            : quizSystem.takeQuiz(student, issued.quiz, answers);
+                } catch (RuntimeException e) {
+                    // A rejected submission leaves the quiz open, so it can be submitted again
+                    openQuizzes.put(id, issued);
+                    throw e;
+                }
+                openQuizCount.decrementAndGet();
+                respond(exchange, 200, "score " + score);
+            } else {
+                throw new NotFoundException("Unknown path: " + path);
+            }
+        } catch (RuntimeException e) {
+            respondError(exchange, e);
+        }
+    }
+
+    private void handleStatistics(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestURI().getPath().equals("/statistics")) {
+                throw new NotFoundException("Unknown path: " + exchange.getRequestURI().getPath());
+            }
+            requireMethod(exchange, "GET");
+            Map<String, List<String>> parameters = parameters(exchange);
+            respond(exchange, 200, parameters.isEmpty()
+                    ? quizSystem.generateCohortStatistics()
+                    : quizSystem.generateStatistics(student(parameters)));
+        } catch (RuntimeException e) {
+            respondError(exchange, e);
+        }
+    }
+
+    private void handleShard(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            requireMethod(exchange, "POST");
+            if (path.equals("/shard/import")) {
+                byte[] transfer;
+                try (InputStream body = exchange.getRequestBody()) {
+                    transfer = body.readNBytes(MAX_TRANSFER_SIZE + 1);
+                }
+                if (transfer.length > MAX_TRANSFER_SIZE) {
+                    throw new IllegalArgumentException("Student transfer too large");
+                }
+                respond(exchange, 200, "imported " + quizSystem.importStudents(transfer));
+                return;
+            }
+            Map<String, List<String>> parameters = parameters(exchange);
+            List<String> shards = parameters.getOrDefault("shard", List.of());
+            ConsistentHashRing ring = new ConsistentHashRing(shards);
+            String target = parameter(parameters, "target");
+            if (!shards.contains(target)) {
+                throw new IllegalArgumentException("Target shard is not on the ring: " + target);
+            }
+            Predicate<Student> moving = student -> ring.shardFor(ShardRouter.routingKey(student)).equals(target);
+            if (path.equals("/shard/export")) {
+                byte[] transfer = quizSystem.exportStudents(moving);
+                exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+                exchange.sendResponseHeaders(200, transfer.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(transfer);
+                }
+            } else if (path.equals("/shard/release")) {
+                respond(exchange, 200, "released " + quizSystem.releaseStudents(moving));
+            } else {
+                throw new NotFoundException("Unknown path: " + path);
+            }
+        } catch (RuntimeException e) {
+            respondError(exchange, e);
+        }
+    }
+
+    private String issue(QuizGenerator quiz, boolean revision) {
+        long now = System.nanoTime();
+        sweepExpired(now, sweepInterval);
+        // When full, expired quizzes are swept at once, but at most once per MIN_SWEEP_INTERVAL
+        if (!reserveOpenQuiz() && !(sweepExpired(now, MIN_SWEEP_INTERVAL) && reserveOpenQuiz())) {
+            throw new IllegalStateException("Too many quizzes waiting for answers.");
+        }
+        long id = nextQuizId.getAndIncrement();
+        openQuizzes.put(id, new IssuedQuiz(quiz, revision, now + quizTimeToLive));
+        StringBuilder body = new StringBuilder(revision ? "revision " : "quiz ").append(id);
+        for (Question question : quiz.getQuestions()) {
+            body.append('\n').append(question.getQuestionText());
+        }
+        return body.toString();
+    }
+
+    private boolean reserveOpenQuiz() {
+        if (openQuizCount.incrementAndGet() > MAX_OPEN_QUIZZES) {
+            openQuizCount.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes every expired quiz if no sweep has run for {@code minimumGap} nanoseconds. Only one thread sweeps
+     * at a time; the others return at once.
+     *
+     * @return {@code true} if this call swept.
+     */
+    private boolean sweepExpired(long now, long minimumGap) {
+        long last = lastSweep.get();
+        if (now - last < minimumGap || !lastSweep.compareAndSet(last, now)) {
+            return false;
+        }
+        for (Map.Entry<Long, IssuedQuiz> entry : openQuizzes.entrySet()) {
+            if (now - entry.getValue().expiresAt >= 0 && openQuizzes.remove(entry.getKey(), entry.getValue())) {
+                openQuizCount.decrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) {
+        if (!exchange.getRequestMethod().equals(method)) {
+            throw new MethodNotAllowedException(method + " required");
+        }
+    }
+
+    static Student student(Map<String, List<String>> parameters) {
+        LocalDate dateOfBirth;
+        try {
+            dateOfBirth = LocalDate.parse(parameter(parameters, "dob"));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Date of birth must be an ISO date such as 2000-02-01");
+        }
+        return StudentFactory.createStudent(parameter(parameters, "first"), parameter(parameters, "last"),
+                Date.from(dateOfBirth.atStartOfDay(ZoneOffset.UTC).toInstant()));
+    }
+
+    private static String parameter(Map<String, List<String>> parameters, String name) {
+        List<String> values = parameters.get(name);
+        if (values == null || values.size() != 1) {
+            throw new IllegalArgumentException("Exactly one '" + name + "' parameter is required");
+        }
+        return values.get(0);
+    }
+
+    private static int intParameter(Map<String, List<String>> parameters, String name) {
+        try {
+            return Integer.parseInt(parameter(parameters, name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter '" + name + "' must be a number");
+        }
+    }
+
+    private static long parseQuizId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new NotFoundException("Unknown quiz: " + id);
+        }
+    }
+
+    /**
+     * Reads the query string parameters and, for {@code POST}, the form-encoded body, keeping repeated parameters
+     * in order.
+     */
+    private static Map<String, List<String>> parameters(HttpExchange exchange) throws IOException {
+        Map<String, List<String>> parameters = new LinkedHashMap<>();
+        addParameters(exchange.getRequestURI().getRawQuery(), parameters);
+        if (exchange.getRequestMethod().equals("POST")) {
+            try (InputStream body = exchange.getRequestBody()) {
+                byte[] bytes = body.readNBytes(MAX_BODY_SIZE + 1);
+                if (bytes.length > MAX_BODY_SIZE) {
+                    throw new IllegalArgumentException("Request body too large");
+                }
+                addParameters(new String(bytes, StandardCharsets.UTF_8), parameters);
+            }
+        }
+        return parameters;
+    }
+
+    static void addParameters(String encoded, Map<String, List<String>> parameters) {
+        if (encoded == null || encoded.isEmpty()) {
+            return;
+        }
+        for (String pair : encoded.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            parameters.computeIfAbsent(name, n -> new ArrayList<>()).add(value);
+        }
+    }
+
+    static void respondError(HttpExchange exchange, RuntimeException e) throws IOException {
+        int status;
+        if (e instanceof NotFoundException) {
+            status = 404;
+        } else if (e instanceof MethodNotAllowedException) {
+            status = 405;
+        } else if (e instanceof IllegalArgumentException) {
+            status = 400;
+        } else if (e instanceof IllegalStateException) {
+            status = 503;
+        } else if (e instanceof UncheckedIOException) {
+            status = 500;
+        } else {
+            throw e;
+        }
+        respond(exchange, status, e.getMessage() == null ? "" : e.getMessage());
+    }
+
+    static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static final class IssuedQuiz {
+        private final QuizGenerator quiz;
+        private final boolean revision;
+        private final long expiresAt;
+
+        IssuedQuiz(QuizGenerator quiz, boolean revision, long expiresAt) {
+            this.quiz = quiz;
+            this.revision = revision;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    static final class NotFoundException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        NotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class MethodNotAllowedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        MethodNotAllowedException(String message) {
+            super(message);
+        }
+    }
+}
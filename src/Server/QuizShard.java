@@ -0,0 +1,39 @@
+package Server;
+
+import Model.QuizSystem;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+
+/**
+ * Runs one shard of a sharded deployment as its own process: a {@code QuizSystem} served by a
+ * {@code QuizHttpServer} on the loopback interface, to be placed behind a {@code ShardRouter}.
+ * <p>
+ * The arguments are the port to listen on, {@code 0} (the default) for a free port, and optionally the path of a
+ * question bank; without one the shard serves the pre-defined questions. Every shard of a deployment must serve
+ * the same questions. Once listening, the shard prints {@code port <n>} on a line of standard output, and it runs
+ * until its standard input is closed, so the process that started it controls its lifetime. Start the JVM with
+ * {@code -Dsun.net.httpserver.nodelay=true}, as {@code QuizHttpServer} requires. The shard serves the unauthenticated
+ * endpoints its router hands students over with, which is why it only listens on the loopback interface.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class QuizShard {
+    private QuizShard() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        try (QuizSystem quizSystem = args.length > 1 ? new QuizSystem(Path.of(args[1])) : new QuizSystem();
+             QuizHttpServer server = QuizHttpServer.startShard(quizSystem, new InetSocketAddress(InetAddress.getLoopbackAddress(), port))) {
+            System.out.println("port " + server.getPort());
+            System.out.flush();
+            while (System.in.read() >= 0) {
+                // Discards input until the parent closes the stream
+            }
+        }
+    }
+}
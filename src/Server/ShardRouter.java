@@ -0,0 +1,366 @@
+package Server;
+
+import Interfaces.Student;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * HTTP front end that partitions students across several {@code QuizHttpServer} shards, each serving its own
+ * {@code QuizSystem}, by consistent hashing.
+ * <p>
+ * The router offers the endpoints of {@code QuizHttpServer} and forwards every request to the shard that owns the
+ * request's student on a {@link ConsistentHashRing}, so all of a student's quizzes, attempts and statistics live on
+ * one shard. Since quizzes are issued and graded by the student's shard, requests for a quiz must name the student
+ * too: {@code GET /quiz?questions=N&first=..&last=..&dob=..}. {@code GET /statistics} without a student collects
+ * the cohort report of every shard. A shard that cannot be reached is answered with status 502.
+ * </p>
+ *
+ * <p> {@link #addShard(String, URI)} adds a shard while the router runs. Only the students the grown ring assigns to
+ * the new shard move: each existing shard exports them, the new shard imports them, the ring is switched, and the
+ * old shards release them. If the copy fails, the new shard drops what it imported and the ring stays as it was.
+ * A release that fails after the switch is retried in the background every {@value #RELEASE_RETRY_SECONDS}
+ * seconds; until it succeeds, the old shard's cohort report still counts the moved students, and
+ * {@link #getPendingReleases()} names the shard. Requests wait while a shard is added. All shards must serve the
+ * same question pool, since questions are transferred by their position in the pool.
+ * </p>
+ *
+ * <p> Quizzes are not handed over. A quiz issued to a student who then moves can no longer be submitted: the
+ * router sends the submission to the new shard, which does not know the quiz and answers 404, and the student
+ * fetches a new quiz. The old shard drops the abandoned quiz once it expires, after the time to live its
+ * {@code QuizHttpServer} was started with.
+ * </p>
+ *
+ * @author Your Name
+ */
+public final class ShardRouter implements AutoCloseable {
+    private static final int MAX_BODY_SIZE = 1024 * 1024;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final long RELEASE_RETRY_SECONDS = 5;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private final ReadWriteLock topologyLock = new ReentrantReadWriteLock();
+    private volatile ConsistentHashRing ring;
+    private volatile Map<String, URI> shards;
+    private final List<PendingRelease> pendingReleases = new ArrayList<>();
+    private final ScheduledExecutorService releaseRetries;
+
+    private ShardRouter(Map<String, URI> shards, HttpServer server, ExecutorService executor) {
+        this.shards = Collections.unmodifiableMap(new LinkedHashMap<>(shards));
+        this.ring = new ConsistentHashRing(shards.keySet());
+        this.server = server;
+        this.executor = executor;
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(TIMEOUT).build();
+        this.releaseRetries = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "shard-release-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts routing requests to the given shards on the given address.
+     *
+     * @param shards the base URI of each shard, such as {@code http://127.0.0.1:8081}, by shard name.
+     * @param address the address to listen on; port {@code 0} picks a free port.
+     * @return the running router.
+     * @throws IOException if the router cannot listen on the address.
+     * @throws IllegalArgumentException if there are no shards or a shard name or URI is invalid.
+     */
+    public static ShardRouter start(Map<String, URI> shards, InetSocketAddress address) throws IOException {
+        if (shards == null || shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if (shards.containsValue(null)) {
+            throw new IllegalArgumentException("Shard addresses cannot be null");
+        }
+        HttpServer server = HttpServer.create(address, 0);
+        ExecutorService executor = QuizHttpServer.newRequestExecutor();
+        ShardRouter router = new ShardRouter(shards, server, executor);
+        router.releaseRetries.scheduleWithFixedDelay(router::retryPendingReleases, RELEASE_RETRY_SECONDS,
+                RELEASE_RETRY_SECONDS, TimeUnit.SECONDS);
+        server.createContext("/quiz", router::route);
+        server.createContext("/revision", router::route);
+        server.createContext("/statistics", router::route);
+        server.setExecutor(executor);
+        server.start();
+        return router;
+    }
+
+    /**
+     * Derives the key a student is placed on the ring with, from the fields that identify the student.
+     *
+     * @param student the student.
+     * @return the routing key.
+     */
+    public static String routingKey(Student student) {
+        return student.getFirstName() + '\n' + student.getLastName() + '\n' + student.getDateOfBirth().getTime();
+    }
+
+    /**
+     * Adds a shard and hands over to it the students the grown ring assigns to it. The new shard must already be
+     * running and serve the same question pool as the others.
+     *
+     * @param name the name of the new shard.
+     * @param address the base URI of the new shard.
+     * @return the number of students moved to the new shard.
+     * @throws IOException if a shard cannot be reached or rejects the copy of the students, in which case the ring
+     *         is left unchanged, or if an earlier hand-over still has releases pending.
+     * @throws IllegalArgumentException if the name is blank or already taken, or the address is {@code null}.
+     */
+    public int addShard(String name, URI address) throws IOException {
+        if (address == null) {
+            throw new IllegalArgumentException("Shard address cannot be null");
+        }
+        topologyLock.writeLock().lock();
+        try {
+            // A shard still holding moved students would export stale copies of them to the new shard
+            if (!retryPendingReleases()) {
+                throw new IOException("Shards " + getPendingReleases() + " still hold students handed over earlier");
+            }
+            ConsistentHashRing grown = ring.withShard(name);
+            StringBuilder query = new StringBuilder();
+            for (String shard : grown.getShards()) {
+                query.append("shard=").append(URLEncoder.encode(shard, StandardCharsets.UTF_8)).append('&');
+            }
+            query.append("target=").append(URLEncoder.encode(name, StandardCharsets.UTF_8));
+
+            int moved = 0;
+            try {
+                for (String shard : ring.getShards()) {
+                    byte[] transfer = send(HttpRequest.newBuilder(shards.get(shard).resolve("/shard/export?" + query))
+                            .POST(HttpRequest.BodyPublishers.noBody()), HttpResponse.BodyHandlers.ofByteArray());
+                    String imported = send(HttpRequest.newBuilder(address.resolve("/shard/import"))
+                            .header("Content-Type", "application/octet-stream")
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(transfer)), HttpResponse.BodyHandlers.ofString());
+                    moved += Integer.parseInt(imported.substring("imported ".length()));
+                }
+            } catch (IOException | RuntimeException e) {
+                // The old shards still serve every student; the copies on the new shard are dropped
+                try {
+                    send(HttpRequest.newBuilder(address.resolve("/shard/release?" + query))
+                            .POST(HttpRequest.BodyPublishers.noBody()), HttpResponse.BodyHandlers.ofString());
+                } catch (IOException rollback) {
+                    e.addSuppressed(rollback);
+                }
+                throw e;
+            }
+            Map<String, URI> grownShards = new LinkedHashMap<>(shards);
+            grownShards.put(name, address);
+            List<String> previous = ring.getShards();
+            shards = Collections.unmodifiableMap(grownShards);
+            ring = grown;
+            synchronized (pendingReleases) {
+                for (String shard : previous) {
+                    pendingReleases.add(new PendingRelease(shard, grownShards.get(shard).resolve("/shard/release?" + query)));
+                }
+            }
+            retryPendingReleases();
+            return moved;
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the shards that still hold students handed over to another shard because releasing them failed.
+     * Releases are retried every {@value #RELEASE_RETRY_SECONDS} seconds.
+     *
+     * @return the names of the shards with releases pending, empty if there are none.
+     */
+    public List<String> getPendingReleases() {
+        List<String> names = new ArrayList<>();
+        synchronized (pendingReleases) {
+            for (PendingRelease release : pendingReleases) {
+                names.add(release.shard);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Retrieves the ring students are currently routed with.
+     *
+     * @return the current {@code ConsistentHashRing}.
+     */
+    public ConsistentHashRing getRing() {
+        return ring;
+    }
+
+    /**
+     * Retrieves the port the router listens on.
+     *
+     * @return the local port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, waits up to a second for requests in progress and stops the request threads.
+     * The shards keep running.
+     */
+    @Override
+    public void close() {
+        releaseRetries.shutdownNow();
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        try {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readNBytes(MAX_BODY_SIZE + 1);
+            }
+            if (body.length > MAX_BODY_SIZE) {
+                throw new IllegalArgumentException("Request body too large");
+            }
+            Map<String, List<String>> parameters = new LinkedHashMap<>();
+            QuizHttpServer.addParameters(exchange.getRequestURI().getRawQuery(), parameters);
+            if (exchange.getRequestMethod().equals("POST")) {
+                QuizHttpServer.addParameters(new String(body, StandardCharsets.UTF_8), parameters);
+            }
+            topologyLock.readLock().lock();
+            try {
+                String path = exchange.getRequestURI().getPath();
+                if (path.equals("/statistics") && parameters.isEmpty()) {
+                    QuizHttpServer.respond(exchange, 200, cohortReports());
+                    return;
+                }
+                if (!parameters.containsKey("first") && !parameters.containsKey("last") && !parameters.containsKey("dob")) {
+                    throw new IllegalArgumentException("Requests to a sharded system must name the student");
+                }
+                String shard = ring.shardFor(routingKey(QuizHttpServer.student(parameters)));
+                HttpResponse<String> response = forward(shard, exchange, body);
+                QuizHttpServer.respond(exchange, response.statusCode(), response.body());
+            } finally {
+                topologyLock.readLock().unlock();
+            }
+        } catch (UncheckedIOException e) {
+            QuizHttpServer.respond(exchange, 502, e.getMessage());
+        } catch (RuntimeException e) {
+            QuizHttpServer.respondError(exchange, e);
+        }
+    }
+
+    private HttpResponse<String> forward(String shard, HttpExchange exchange, byte[] body) {
+        URI requestUri = exchange.getRequestURI();
+        String target = requestUri.getRawPath() + (requestUri.getRawQuery() == null ? "" : "?" + requestUri.getRawQuery());
+        HttpRequest.Builder request = HttpRequest.newBuilder(shards.get(shard).resolve(target)).timeout(TIMEOUT)
+                .method(exchange.getRequestMethod(), body.length == 0 ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+        try {
+            return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Shard " + shard + " is unavailable", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException("Interrupted while forwarding to shard " + shard, new IOException(e));
+        }
+    }
+
+    private String cohortReports() {
+        List<String> reports = new ArrayList<>();
+        for (String shard : ring.getShards()) {
+            URI uri = shards.get(shard).resolve("/statistics");
+            try {
+                String report = send(HttpRequest.newBuilder(uri).GET(), HttpResponse.BodyHandlers.ofString());
+                reports.add("Shard: " + shard + "\n" + report);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Shard " + shard + " is unavailable", e);
+            }
+        }
+        return String.join("\n\n", reports);
+    }
+
+    /**
+     * Sends every pending release once more, keeping those that fail for the next retry.
+     *
+     * @return {@code true} if no release is left pending.
+     */
+    private boolean retryPendingReleases() {
+        List<PendingRelease> pending;
+        synchronized (pendingReleases) {
+            pending = new ArrayList<>(pendingReleases);
+        }
+        for (PendingRelease release : pending) {
+            try {
+                send(HttpRequest.newBuilder(release.uri).POST(HttpRequest.BodyPublishers.noBody()),
+                        HttpResponse.BodyHandlers.ofString());
+                synchronized (pendingReleases) {
+                    pendingReleases.remove(release);
+                }
+            } catch (IOException e) {
+                // Kept pending; releasing is idempotent, so the request is simply sent again
+            }
+        }
+        synchronized (pendingReleases) {
+            return pendingReleases.isEmpty();
+        }
+    }
+
+    /**
+     * Sends a request to a shard and returns the body of its successful response.
+     */
+    private <T> T send(HttpRequest.Builder request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        HttpResponse<T> response;
+        try {
+            response = client.send(request.timeout(TIMEOUT).build(), handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while calling a shard", e);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Shard request " + response.request().uri() + " failed with status "
+                    + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * A release of moved students that an old shard has not confirmed yet.
+     */
+    private static final class PendingRelease {
+        private final String shard;
+        private final URI uri;
+
+        PendingRelease(String shard, URI uri) {
+            this.shard = shard;
+            this.uri = uri;
+        }
+    }
+}